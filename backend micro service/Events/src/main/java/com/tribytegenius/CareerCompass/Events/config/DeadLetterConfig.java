@@ -0,0 +1,18 @@
+package com.tribytegenius.CareerCompass.Events.config;
+
+import com.tribytegenius.CareerCompass.Events.endpoint.DeadLetterEndpoint;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterReplayer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Retry tiers and the dead-letter queue (events.retry.*) for services that consume events. The
+ * service names its own queue and exchange with rabbitmq.queues.dead-letter and
+ * rabbitmq.exchanges.retry, and declares them. Parked messages are replayed through the
+ * deadletters actuator endpoint.
+ */
+@Configuration
+@Import({DeadLetterPublisher.class, DeadLetterReplayer.class, DeadLetterEndpoint.class})
+public class DeadLetterConfig {
+}
@@ -0,0 +1,13 @@
+package com.tribytegenius.CareerCompass.Events.config;
+
+import com.tribytegenius.CareerCompass.Events.service.EventOutbox;
+import com.tribytegenius.CareerCompass.Events.service.OutboxRelay;
+import com.tribytegenius.CareerCompass.Events.service.RetentionOutboxCleanup;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// Transactional outbox (events.outbox.*) for services whose database has the event_outbox table
+@Configuration
+@Import({EventOutbox.class, OutboxRelay.class, RetentionOutboxCleanup.class})
+public class EventOutboxConfig {
+}
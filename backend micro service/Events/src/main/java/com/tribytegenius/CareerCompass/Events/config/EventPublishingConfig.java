@@ -0,0 +1,12 @@
+package com.tribytegenius.CareerCompass.Events.config;
+
+import com.tribytegenius.CareerCompass.Events.event.EventDecoder;
+import com.tribytegenius.CareerCompass.Events.service.EventPublishBuffer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// Buffered, confirmed publishing (events.publish.*) and the event decoder; every service imports it
+@Configuration
+@Import({EventPublishBuffer.class, EventDecoder.class})
+public class EventPublishingConfig {
+}
@@ -0,0 +1,14 @@
+package com.tribytegenius.CareerCompass.Events.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of a dead-letter replay: replayed messages by the queue they were sent back to, and the
+ * messages still parked.
+ */
+public record DeadLetterReplay(
+        int replayed,
+        Map<String, Integer> queues,
+        long remaining
+) {
+}
@@ -0,0 +1,34 @@
+package com.tribytegenius.CareerCompass.Events.endpoint;
+
+import com.tribytegenius.CareerCompass.Events.dto.DeadLetterReplay;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterReplayer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * POST /actuator/deadletters sends up to limit parked messages back to their queues, optionally only
+ * those from one queue. An operator action rather than an API: it lives on the actuator, which the
+ * gateway does not route, and only when management.endpoints.web.exposure.include lists deadletters.
+ */
+@Endpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+
+    @Autowired
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @Value("${events.retry.replay-max:10000}")
+    private int replayMax;
+
+    @WriteOperation
+    public DeadLetterReplay replay(@Nullable String queue, @Nullable Integer limit) {
+        int count = limit == null ? 100 : limit;
+        if (count < 1 || count > replayMax) {
+            throw new InvalidEndpointRequestException("limit must be between 1 and " + replayMax, "Invalid limit");
+        }
+        return deadLetterReplayer.replay(queue, count);
+    }
+}
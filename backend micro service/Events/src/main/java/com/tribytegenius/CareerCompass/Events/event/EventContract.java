@@ -0,0 +1,57 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+
+/**
+ * Wire contract of the RabbitMQ events exchanged by the CareerCompass services.
+ *
+ * Every message carries the version of its JSON schema in the x-schema-version header; messages
+ * without it predate the header and are read as version 1. A consumer dead-letters versions newer
+ * than it understands instead of guessing. JobService, UserService and UserJobService all take it
+ * from this module; the Python crawler sets the header on job.created.
+ */
+public final class EventContract {
+
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+    public static final int SCHEMA_VERSION = 1;
+
+    // Added to a message when it is retried or dead-lettered
+    public static final String REJECTED_REASON_HEADER = "x-rejected-reason";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+    public static final String ORIGINAL_EXCHANGE_HEADER = "x-original-exchange";
+    public static final String ORIGINAL_ROUTING_KEY_HEADER = "x-original-routing-key";
+
+    // Retry attempts so far, and the delay tier a retried message is waiting in
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String RETRY_DELAY_HEADER = "x-retry-delay";
+
+    // Ticket id of the POST /api/jobs/search crawl a Python job.created event was found by
+    public static final String SEARCH_ID_HEADER = "x-search-id";
+
+    private EventContract() {
+    }
+
+    // Stamps outgoing messages with the current version; dead-lettered messages keep their own
+    public static MessagePostProcessor schemaVersionStamp() {
+        return message -> {
+            message.getMessageProperties().getHeaders().putIfAbsent(SCHEMA_VERSION_HEADER, SCHEMA_VERSION);
+            return message;
+        };
+    }
+
+    static int schemaVersion(MessageProperties properties) {
+        Object version = properties.getHeader(SCHEMA_VERSION_HEADER);
+        if (version == null) {
+            return 1;
+        }
+        if (version instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(version.toString());
+        } catch (NumberFormatException e) {
+            throw new MalformedEventException("Invalid " + SCHEMA_VERSION_HEADER + " header: " + version);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.amqp.core.Message;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes event messages straight from the body bytes with Jackson's streaming parser, without
+ * building an intermediate Map. Unknown fields are skipped. Anything that does not fit the contract
+ * (not a JSON object, a field of the wrong type, an unparseable date, a missing required field or a
+ * schema version newer than EventContract.SCHEMA_VERSION) throws MalformedEventException.
+ */
+@Component
+public class EventDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // "2024-05-01T09:30:00[.ffffff]" from isoformat(), "2024-05-01 09:30:00" from the crawler's strftime.
+    // Used for layouts parseFixedLayout does not cover, such as a time without seconds
+    private static final DateTimeFormatter ISO_SEPARATED = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final DateTimeFormatter SPACE_SEPARATED = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .appendLiteral(' ')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .toFormatter();
+
+    public PythonJobEvent decodePythonJob(Message message) {
+        checkSchemaVersion(message);
+        String eventType = null;
+        Long jobId = null;
+        String name = null;
+        String company = null;
+        String type = null;
+        String location = null;
+        String website = null;
+        String url = null;
+        String status = null;
+        LocalDateTime time = null;
+        LocalDateTime timestamp = null;
+
+        try (JsonParser parser = openObject(message)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "eventType" -> eventType = text(parser, field);
+                    case "jobId" -> jobId = number(parser, field);
+                    case "name" -> name = text(parser, field);
+                    case "company" -> company = text(parser, field);
+                    case "type" -> type = text(parser, field);
+                    case "location" -> location = text(parser, field);
+                    case "website" -> website = text(parser, field);
+                    case "url" -> url = text(parser, field);
+                    case "status" -> status = text(parser, field);
+                    case "time" -> time = dateTime(parser, field);
+                    case "timestamp" -> timestamp = dateTime(parser, field);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new MalformedEventException("Invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new MalformedEventException("Unreadable body: " + e.getMessage());
+        }
+
+        require(eventType, "eventType");
+        require(url, "url");
+        if (jobId == null) {
+            // Columns jobs requires; time defaults to the ingestion time
+            require(name, "name");
+            require(company, "company");
+            require(type, "type");
+            require(location, "location");
+            require(website, "website");
+            require(status, "status");
+        }
+        return new PythonJobEvent(eventType, jobId, name, company, type, location, website, url, status, time, timestamp);
+    }
+
+    public JobEvent decodeJobEvent(Message message) {
+        checkSchemaVersion(message);
+        String eventType = null;
+        Long jobId = null;
+        String name = null;
+        String company = null;
+        String type = null;
+        String location = null;
+        String website = null;
+        String url = null;
+        LocalDateTime timestamp = null;
+
+        try (JsonParser parser = openObject(message)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "eventType" -> eventType = text(parser, field);
+                    case "jobId" -> jobId = number(parser, field);
+                    case "name" -> name = text(parser, field);
+                    case "company" -> company = text(parser, field);
+                    case "type" -> type = text(parser, field);
+                    case "location" -> location = text(parser, field);
+                    case "website" -> website = text(parser, field);
+                    case "url" -> url = text(parser, field);
+                    case "timestamp" -> timestamp = dateTime(parser, field);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new MalformedEventException("Invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new MalformedEventException("Unreadable body: " + e.getMessage());
+        }
+
+        require(eventType, "eventType");
+        return new JobEvent(eventType, jobId, name, company, type, location, website, url, timestamp);
+    }
+
+    public UserEvent decodeUserEvent(Message message) {
+        checkSchemaVersion(message);
+        String eventType = null;
+        Long userId = null;
+        String username = null;
+        String email = null;
+        List<String> roles = null;
+        LocalDateTime timestamp = null;
+
+        try (JsonParser parser = openObject(message)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "eventType" -> eventType = text(parser, field);
+                    case "userId" -> userId = number(parser, field);
+                    case "username" -> username = text(parser, field);
+                    case "email" -> email = text(parser, field);
+                    case "roles" -> roles = textList(parser, field);
+                    case "timestamp" -> timestamp = dateTime(parser, field);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new MalformedEventException("Invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new MalformedEventException("Unreadable body: " + e.getMessage());
+        }
+
+        require(eventType, "eventType");
+        require(userId, "userId");
+        return new UserEvent(eventType, userId, username, email, roles, timestamp);
+    }
+
+    private static void checkSchemaVersion(Message message) {
+        int version = EventContract.schemaVersion(message.getMessageProperties());
+        if (version < 1 || version > EventContract.SCHEMA_VERSION) {
+            throw new MalformedEventException("Unsupported schema version " + version
+                    + ", this service reads up to " + EventContract.SCHEMA_VERSION);
+        }
+    }
+
+    private static JsonParser openObject(Message message) throws IOException {
+        byte[] body = message.getBody();
+        if (body == null || body.length == 0) {
+            throw new MalformedEventException("Empty body");
+        }
+        JsonParser parser = JSON.createParser(body);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            throw new MalformedEventException("Body is not a JSON object");
+        }
+        return parser;
+    }
+
+    private static String text(JsonParser parser, String field) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> throw wrongType(field, "a string", parser);
+        };
+    }
+
+    private static List<String> textList(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw wrongType(field, "an array of strings", parser);
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                throw wrongType(field, "an array of strings", parser);
+            }
+            values.add(parser.getText());
+        }
+        return values;
+    }
+
+    // Ids are numbers, or numeric strings from older publishers
+    private static Long number(JsonParser parser, String field) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue();
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                try {
+                    return Long.parseLong(parser.getText().trim());
+                } catch (NumberFormatException e) {
+                    throw new MalformedEventException(field + " is not a number: " + parser.getText());
+                }
+            default:
+                throw wrongType(field, "a number", parser);
+        }
+    }
+
+    // Strings like "2024-05-01T09:30:00", or [year, month, day, hour, minute, second?, nano?] as
+    // Jackson writes LocalDateTime by default
+    private static LocalDateTime dateTime(JsonParser parser, String field) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                if (parser.getTextLength() == 0) {
+                    return null;
+                }
+                try {
+                    LocalDateTime parsed = parseFixedLayout(parser.getTextCharacters(), parser.getTextOffset(),
+                            parser.getTextLength());
+                    if (parsed != null) {
+                        return parsed;
+                    }
+                    String value = parser.getText();
+                    return LocalDateTime.parse(value,
+                            value.length() > 10 && value.charAt(10) == ' ' ? SPACE_SEPARATED : ISO_SEPARATED);
+                } catch (DateTimeException e) {
+                    throw new MalformedEventException("Invalid " + field + ": " + parser.getText());
+                }
+            case START_ARRAY:
+                int[] parts = new int[7];
+                int count = 0;
+                while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                    if (count == parts.length) {
+                        throw new MalformedEventException("Invalid " + field + ": too many components");
+                    }
+                    parts[count++] = parser.getIntValue();
+                }
+                if (parser.currentToken() != JsonToken.END_ARRAY || count < 5) {
+                    throw new MalformedEventException("Invalid " + field + ": expected [year, month, day, hour, minute, ...]");
+                }
+                try {
+                    return LocalDateTime.of(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5], parts[6]);
+                } catch (DateTimeException e) {
+                    throw new MalformedEventException("Invalid " + field + ": " + e.getMessage());
+                }
+            default:
+                throw wrongType(field, "a date-time", parser);
+        }
+    }
+
+    /**
+     * Fast path for "yyyy-MM-ddTHH:mm:ss[.fffffffff]" and the same with a space, which is what every
+     * publisher sends; reads the parser's buffer without creating a String. Null for any other
+     * layout, which then goes through the formatters.
+     */
+    private static LocalDateTime parseFixedLayout(char[] chars, int offset, int length) {
+        if (length < 19 || chars[offset + 4] != '-' || chars[offset + 7] != '-'
+                || (chars[offset + 10] != 'T' && chars[offset + 10] != ' ')
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        int nano = 0;
+        if (length > 19) {
+            int fractionDigits = length - 20;
+            if (chars[offset + 19] != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                return null;
+            }
+            nano = digits(chars, offset + 20, fractionDigits);
+            for (int i = fractionDigits; i < 9 && nano >= 0; i++) {
+                nano *= 10;
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    // -1 when any of the characters is not a digit
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void require(Object value, String field) {
+        if (value == null) {
+            throw new MalformedEventException("Missing " + field);
+        }
+    }
+
+    private static MalformedEventException wrongType(String field, String expected, JsonParser parser) {
+        return new MalformedEventException(field + " must be " + expected + ", got " + parser.currentToken());
+    }
+}
@@ -0,0 +1,20 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * job.* events from the job events exchange, as UserJobService reads them. jobId is null only for
+ * the Python crawler's job.created, which describes a job JobService has not stored yet.
+ */
+public record JobEvent(
+        String eventType,
+        Long jobId,
+        String name,
+        String company,
+        String type,
+        String location,
+        String website,
+        String url,
+        LocalDateTime timestamp
+) {
+}
@@ -0,0 +1,9 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+// A message that does not match the event contract; it is dead-lettered rather than retried
+public class MalformedEventException extends RuntimeException {
+
+    public MalformedEventException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * job.created as published by the Python crawler (python-service/utils.py). Our own CREATED
+ * events share the routing key and decode to the same record with jobId set; they describe jobs
+ * already stored. time is when the job was posted, null when the crawler did not send it.
+ */
+public record PythonJobEvent(
+        String eventType,
+        Long jobId,
+        String name,
+        String company,
+        String type,
+        String location,
+        String website,
+        String url,
+        String status,
+        LocalDateTime time,
+        LocalDateTime timestamp
+) {
+}
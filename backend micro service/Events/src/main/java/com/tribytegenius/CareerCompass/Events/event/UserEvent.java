@@ -0,0 +1,15 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// user.* events published by UserService
+public record UserEvent(
+        String eventType,
+        Long userId,
+        String username,
+        String email,
+        List<String> roles,
+        LocalDateTime timestamp
+) {
+}
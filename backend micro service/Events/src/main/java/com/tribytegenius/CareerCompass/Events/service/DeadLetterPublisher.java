@@ -0,0 +1,144 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves messages that cannot be processed out of the way of the ones behind them, unchanged apart
+ * from headers naming the reason and where they were consumed from.
+ *
+ * Malformed messages go straight to the service's dead-letter queue (rabbitmq.queues.dead-letter),
+ * the parking lot. Messages whose processing failed are retried: they wait in the tier queue of
+ * rabbitmq.exchanges.retry for their attempt and then return to the queue they were consumed from,
+ * with delays growing by events.retry.multiplier from events.retry.initial-delay-ms. After
+ * events.retry.max-attempts they are parked too. DeadLetterReplayer sends parked messages back.
+ *
+ * Publishing explicitly rather than nacking works per message inside a batch and needs no
+ * x-dead-letter-exchange argument on the existing queues. With publisher confirms each publish
+ * waits up to events.retry.confirm-timeout-ms for the broker's ack, since the caller acks the
+ * original right after. If the publish fails, is nacked or is not confirmed in time the exception
+ * propagates and the message is redelivered.
+ */
+@Service
+public class DeadLetterPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterPublisher.class);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Value("${rabbitmq.exchanges.dead-letter:events.dead-letter}")
+    private String deadLetterExchange;
+
+    @Value("${rabbitmq.queues.dead-letter}")
+    private String deadLetterQueue;
+
+    @Value("${rabbitmq.exchanges.retry}")
+    private String retryExchange;
+
+    @Value("${events.retry.initial-delay-ms:1000}")
+    private long initialDelayMs;
+
+    @Value("${events.retry.multiplier:4}")
+    private int multiplier;
+
+    @Value("${events.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${events.retry.confirm-timeout-ms:30000}")
+    private long confirmTimeoutMs;
+
+    public void reject(Message message, String reason) {
+        MessageProperties properties = message.getMessageProperties();
+        logger.warn("Dead-lettering message from {}: {}", properties.getConsumerQueue(), reason);
+        properties.setHeader(EventContract.REJECTED_REASON_HEADER, reason);
+        recordOrigin(properties);
+        send(deadLetterExchange, deadLetterQueue, message);
+    }
+
+    /**
+     * Schedules another attempt at a message whose processing failed, or parks it once its
+     * attempts are used up. Returns false when it was parked.
+     */
+    public boolean retry(Message message, Exception cause) {
+        MessageProperties properties = message.getMessageProperties();
+        int attempt = retryCount(properties);
+        if (attempt >= maxAttempts) {
+            reject(message, "Failed after " + attempt + " retries: " + cause.getMessage());
+            return false;
+        }
+        long delay = retryDelays().get(attempt);
+        logger.info("Retrying message from {} in {} ms (attempt {} of {}): {}",
+                properties.getConsumerQueue(), delay, attempt + 1, maxAttempts, cause.getMessage());
+        recordOrigin(properties);
+        properties.setHeader(EventContract.RETRY_COUNT_HEADER, attempt + 1);
+        properties.setHeader(EventContract.RETRY_DELAY_HEADER, String.valueOf(delay));
+        // The tier queue dead-letters through the default exchange, so this routing key is the queue it returns to
+        send(retryExchange, properties.getConsumerQueue(), message);
+        return true;
+    }
+
+    // Delay before each attempt; RabbitMQConfig declares a tier queue per distinct delay
+    public List<Long> retryDelays() {
+        List<Long> delays = new ArrayList<>();
+        long delay = initialDelayMs;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            delays.add(delay);
+            delay *= multiplier;
+        }
+        return delays;
+    }
+
+    // Returns once the broker confirmed the message, when publisher confirms are enabled
+    private void send(String exchange, String routingKey, Message message) {
+        CorrelationData correlation = new CorrelationData();
+        rabbitTemplate.send(exchange, routingKey, message, correlation);
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            return;
+        }
+        CorrelationData.Confirm confirm;
+        try {
+            confirm = correlation.getFuture().get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for the confirm of a message to " + exchange, e);
+        } catch (Exception e) {
+            throw new AmqpException("Message to " + exchange + " was not confirmed within " + confirmTimeoutMs + " ms", e);
+        }
+        if (!confirm.isAck()) {
+            throw new AmqpException("Message to " + exchange + " was nacked: " + confirm.getReason());
+        }
+    }
+
+    // A retried message comes back through the default exchange, so its first origin is kept
+    private static void recordOrigin(MessageProperties properties) {
+        properties.getHeaders().putIfAbsent(EventContract.ORIGINAL_QUEUE_HEADER, properties.getConsumerQueue());
+        properties.getHeaders().putIfAbsent(EventContract.ORIGINAL_EXCHANGE_HEADER, properties.getReceivedExchange());
+        properties.getHeaders().putIfAbsent(EventContract.ORIGINAL_ROUTING_KEY_HEADER, properties.getReceivedRoutingKey());
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        Object count = properties.getHeader(EventContract.RETRY_COUNT_HEADER);
+        if (count instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return count == null ? 0 : Integer.parseInt(count.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
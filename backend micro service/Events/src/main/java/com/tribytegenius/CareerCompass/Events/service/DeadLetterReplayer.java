@@ -0,0 +1,83 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import com.tribytegenius.CareerCompass.Events.dto.DeadLetterReplay;
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sends parked messages from the dead-letter queue back to the queue they were consumed from
+ * (x-original-queue), e.g. once the bug or outage that exhausted their retries is fixed. A replayed
+ * message starts over with all its retries. Each message is acked only after it was republished,
+ * so a failure part way leaves the rest parked.
+ */
+@Service
+public class DeadLetterReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayer.class);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Value("${rabbitmq.queues.dead-letter}")
+    private String deadLetterQueue;
+
+    // Looks at up to limit parked messages; with a queue, only those from that queue are replayed
+    public DeadLetterReplay replay(String queue, int limit) {
+        Map<String, Integer> replayed = rabbitTemplate.execute(channel -> {
+            Map<String, Integer> counts = new TreeMap<>();
+            List<Long> skipped = new ArrayList<>();
+            for (int i = 0; i < limit; i++) {
+                GetResponse response = channel.basicGet(deadLetterQueue, false);
+                if (response == null) {
+                    break;
+                }
+                long deliveryTag = response.getEnvelope().getDeliveryTag();
+                AMQP.BasicProperties properties = response.getProps();
+                Map<String, Object> headers = properties.getHeaders() == null
+                        ? new HashMap<>()
+                        : new HashMap<>(properties.getHeaders());
+                Object originalQueue = headers.get(EventContract.ORIGINAL_QUEUE_HEADER);
+                if (originalQueue == null || (queue != null && !queue.equals(originalQueue.toString()))) {
+                    skipped.add(deliveryTag);
+                    continue;
+                }
+                headers.remove(EventContract.REJECTED_REASON_HEADER);
+                headers.remove(EventContract.RETRY_COUNT_HEADER);
+                headers.remove(EventContract.RETRY_DELAY_HEADER);
+                channel.basicPublish("", originalQueue.toString(), properties.builder().headers(headers).build(),
+                        response.getBody());
+                channel.basicAck(deliveryTag, false);
+                counts.merge(originalQueue.toString(), 1, Integer::sum);
+            }
+            // Nacked only now, so basicGet does not hand the skipped messages back within this loop
+            for (long deliveryTag : skipped) {
+                channel.basicNack(deliveryTag, false, true);
+            }
+            return counts;
+        });
+
+        int total = replayed.values().stream().mapToInt(Integer::intValue).sum();
+        QueueInformation information = amqpAdmin.getQueueInfo(deadLetterQueue);
+        long remaining = information == null ? 0 : information.getMessageCount();
+        logger.info("Replayed {} messages from {}: {}, {} remaining", total, deadLetterQueue, replayed, remaining);
+        return new DeadLetterReplay(total, replayed, remaining);
+    }
+}
@@ -0,0 +1,58 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records events in the event_outbox table as part of the caller's transaction, so they are
+ * published if and only if the change they describe commits. OutboxRelay publishes them after the
+ * commit, in the order they were written. Events raised outside a read-write transaction are not
+ * recorded and publishers send them directly, as do all of them with events.outbox.enabled=false.
+ */
+@Component
+public class EventOutbox {
+
+    private static final String INSERT_SQL = "INSERT INTO event_outbox (exchange, routing_key, payload) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @Value("${events.outbox.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // False when the events were not recorded and have to be published by the caller
+    public boolean add(String exchange, String routingKey, List<?> events) {
+        if (!enabled
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Object event : events) {
+            // Serialized now, the way RabbitTemplate would, so the relay sends the bytes unchanged
+            byte[] body = messageConverter.toMessage(event, new MessageProperties()).getBody();
+            rows.add(new Object[]{exchange, routingKey, new String(body, StandardCharsets.UTF_8)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return true;
+    }
+}
@@ -0,0 +1,259 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes events off the caller's thread with publisher confirms, when events.publish.mode=async.
+ *
+ * send() only puts an event in a buffer of events.publish.buffer-capacity. A sender thread takes
+ * up to events.publish.batch-size events, waiting at most events.publish.flush-interval-ms for a
+ * batch to fill, and publishes them on one channel, each with its own CorrelationData. Confirms
+ * arrive asynchronously: an ack completes the event, while a nack, or the channel closing before
+ * the confirm, puts it back in the buffer until events.publish.max-attempts. Retried events go
+ * behind the ones already buffered; after a batch the broker did not take, the sender pauses for
+ * events.publish.retry-interval-ms. When the buffer stays full for events.publish.offer-timeout-ms
+ * the event is dropped and counted as a failure, as a failed synchronous publish was.
+ *
+ * Needs spring.rabbitmq.publisher-confirm-type=correlated; without it publishers stay synchronous.
+ * events.publish.confirms.outstanding and events.publish.buffer.size show what is in flight.
+ */
+@Component
+public class EventPublishBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventPublishBuffer.class);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${events.publish.mode:async}")
+    private String mode;
+
+    @Value("${events.publish.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${events.publish.batch-size:100}")
+    private int batchSize;
+
+    @Value("${events.publish.flush-interval-ms:10}")
+    private long flushIntervalMs;
+
+    @Value("${events.publish.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${events.publish.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
+    @Value("${events.publish.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    @Value("${events.publish.confirm-timeout-ms:30000}")
+    private long confirmTimeoutMs;
+
+    private BlockingQueue<PendingEvent> buffer;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean enabled;
+    private volatile boolean running;
+    private Thread sender;
+
+    @PostConstruct
+    public void start() {
+        if (!"async".equalsIgnoreCase(mode)) {
+            return;
+        }
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            logger.warn("events.publish.mode=async needs spring.rabbitmq.publisher-confirm-type=correlated, publishing synchronously");
+            return;
+        }
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        Gauge.builder("events.publish.buffer.size", buffer, BlockingQueue::size)
+                .description("Events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("events.publish.confirms.outstanding", outstanding, AtomicInteger::get)
+                .description("Events published and not yet confirmed by the broker")
+                .register(meterRegistry);
+        enabled = true;
+        running = true;
+        sender = new Thread(this::sendLoop, "event-publisher");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void send(String exchange, String routingKey, Object payload) {
+        offer(new PendingEvent(exchange, routingKey, payload, System.nanoTime(), 1, new CompletableFuture<>()));
+    }
+
+    // Blocks until every event is confirmed; false when one was not within events.publish.confirm-timeout-ms
+    public boolean sendAndAwait(String exchange, String routingKey, List<?> payloads) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (Object payload : payloads) {
+            PendingEvent event = new PendingEvent(exchange, routingKey, payload, System.nanoTime(), 1,
+                    new CompletableFuture<>());
+            offer(event);
+            results.add(event.result());
+        }
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                    .get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+            return results.stream().allMatch(CompletableFuture::join);
+        } catch (Exception e) {
+            logger.warn("{} events to {} were not confirmed within {} ms", payloads.size(), routingKey, confirmTimeoutMs);
+            return false;
+        }
+    }
+
+    private void offer(PendingEvent event) {
+        if (!running) {
+            fail(event, "publisher stopped");
+            return;
+        }
+        try {
+            if (buffer.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fail(event, "publish buffer full");
+    }
+
+    private void sendLoop() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingEvent first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    PendingEvent next = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (!publish(batch)) {
+                    // The broker is unreachable; give it time before the retried events are sent again
+                    Thread.sleep(retryIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Event publisher failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Events the broker never received are retried here, the others through their confirm.
+    // False when the batch could not be sent in full
+    private boolean publish(List<PendingEvent> batch) {
+        int[] handedOver = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingEvent event : batch) {
+                    CorrelationData correlation = new CorrelationData();
+                    operations.convertAndSend(event.exchange(), event.routingKey(), event.payload(), correlation);
+                    outstanding.incrementAndGet();
+                    correlation.getFuture().whenComplete((confirm, error) -> {
+                        outstanding.decrementAndGet();
+                        if (error == null && confirm.isAck()) {
+                            succeed(event);
+                        } else {
+                            retry(event, error != null ? error.getMessage() : confirm.getReason());
+                        }
+                    });
+                    handedOver[0]++;
+                }
+                return null;
+            });
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to publish {} of {} events: {}", batch.size() - handedOver[0], batch.size(), e.getMessage());
+            for (PendingEvent event : batch.subList(handedOver[0], batch.size())) {
+                retry(event, e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void succeed(PendingEvent event) {
+        Timer.builder("events.publish.confirm")
+                .description("Time from an event being buffered to the broker confirming it")
+                .tag("event", event.routingKey())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - event.bufferedNanos(), TimeUnit.NANOSECONDS);
+        meterRegistry.counter("events.publish.messages", "event", event.routingKey(), "result", "success").increment();
+        event.result().complete(true);
+    }
+
+    private void retry(PendingEvent event, String reason) {
+        if (event.attempt() >= maxAttempts || !running) {
+            fail(event, reason);
+            return;
+        }
+        meterRegistry.counter("events.publish.retries", "event", event.routingKey()).increment();
+        PendingEvent next = new PendingEvent(event.exchange(), event.routingKey(), event.payload(),
+                event.bufferedNanos(), event.attempt() + 1, event.result());
+        if (!buffer.offer(next)) {
+            fail(next, reason + ", publish buffer full");
+        }
+    }
+
+    private void fail(PendingEvent event, String reason) {
+        logger.error("Failed to publish {} event after {} attempts: {}", event.routingKey(), event.attempt(), reason);
+        meterRegistry.counter("events.publish.messages", "event", event.routingKey(), "result", "failure").increment();
+        event.result().complete(false);
+    }
+
+    // Publishes what is still buffered and waits a little for its confirms
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sender.join(5000);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (outstanding.get() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        if (!buffer.isEmpty() || outstanding.get() > 0) {
+            logger.warn("Stopped with {} events unpublished and {} unconfirmed", buffer.size(), outstanding.get());
+        }
+    }
+
+    private record PendingEvent(String exchange, String routingKey, Object payload, long bufferedNanos, int attempt,
+                                CompletableFuture<Boolean> result) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+/**
+ * Disposes of event_outbox rows OutboxRelay has marked sent. RetentionOutboxCleanup deletes them
+ * after events.outbox.retention-hours; to archive them instead, set events.outbox.cleanup=none and
+ * declare another OutboxCleanup bean. Every bean is run each events.outbox.cleanup-interval-ms.
+ */
+public interface OutboxCleanup {
+
+    // Returns the number of rows removed
+    int cleanUp();
+}
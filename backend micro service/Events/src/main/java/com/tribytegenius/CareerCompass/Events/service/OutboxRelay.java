@@ -0,0 +1,326 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the events EventOutbox recorded, oldest first, and marks them sent.
+ *
+ * The relay thread has its own connection, opened from spring.datasource.* outside the pool. On it
+ * the thread holds a session-level advisory lock, so one instance relays at a time and the others
+ * stand by until its connection goes away, and it LISTENs on event_outbox, which the insert trigger
+ * notifies. Each batch reads up to events.outbox.batch-size unsent rows, publishes them on one
+ * channel and waits for the broker to confirm them with no transaction open, then marks the rows up
+ * to the first unconfirmed one sent in a short transaction of its own. That one and everything after
+ * it are published again in the next batch, so consumers see events in order and at least once.
+ * Between batches the thread waits for a notification, or polls every events.outbox.poll-interval-ms
+ * when the database cannot listen. Sent rows are removed by the OutboxCleanup beans.
+ *
+ * events.outbox.lag is how old the oldest unsent event was when the relay last read the table.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // pg_try_advisory_lock key held by the instance relaying
+    private static final long RELAY_LOCK_KEY = 0x6576656e746f7574L;
+
+    private static final String SELECT_SQL = "SELECT id, exchange, routing_key, payload, created_at FROM event_outbox"
+            + " WHERE sent_at IS NULL ORDER BY id LIMIT ?";
+
+    private static final String MARK_SENT_SQL = "UPDATE event_outbox SET sent_at = now() WHERE id = ?";
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<OutboxCleanup> outboxCleanups;
+
+    @Value("${events.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${events.outbox.confirm-timeout-ms:30000}")
+    private long confirmTimeoutMs;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean running;
+    private Thread relay;
+    // Only touched by the relay thread
+    private Connection connection;
+    private boolean postgres;
+    private boolean locked;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!eventOutbox.isEnabled()) {
+            return;
+        }
+        Gauge.builder("events.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unsent outbox event when last read, in milliseconds")
+                .register(meterRegistry);
+        running = true;
+        relay = new Thread(this::relayLoop, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = openConnection();
+                }
+                if (lock()) {
+                    int relayed;
+                    do {
+                        relayed = relayBatch();
+                    } while (running && relayed == batchSize);
+                }
+                awaitEvents();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Outbox relay failed: {}", e.getMessage(), e);
+                closeConnection();
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        closeConnection();
+    }
+
+    // Not from the pool: the connection is held for as long as the relay runs
+    private Connection openConnection() throws SQLException {
+        Connection opened = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try {
+            opened.setAutoCommit(true);
+            postgres = opened.isWrapperFor(PGConnection.class);
+            if (postgres) {
+                try (Statement statement = opened.createStatement()) {
+                    statement.execute("LISTEN event_outbox");
+                }
+            } else {
+                logger.info("Outbox relay cannot LISTEN or lock on this database, polling every {} ms", pollIntervalMs);
+            }
+            return opened;
+        } catch (SQLException e) {
+            opened.close();
+            throw e;
+        }
+    }
+
+    // Taken once per connection and held until it closes; without PostgreSQL there is nothing to lock
+    private boolean lock() throws SQLException {
+        if (locked || !postgres) {
+            locked = true;
+            return true;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, RELAY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                locked = rs.next() && rs.getBoolean(1);
+            }
+        }
+        if (locked) {
+            logger.info("Outbox relay lock acquired, relaying events");
+        }
+        return locked;
+    }
+
+    // Returns the number of events marked sent
+    private int relayBatch() throws SQLException {
+        List<OutboxEvent> events = readUnsent();
+        lagMillis.set(events.isEmpty() ? 0 : System.currentTimeMillis() - events.get(0).createdAt().getTime());
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<OutboxEvent> sent = publish(events);
+        markSent(sent);
+        return sent.size();
+    }
+
+    // A single autocommitted statement; the advisory lock keeps other relays away from these rows
+    private List<OutboxEvent> readUnsent() throws SQLException {
+        List<OutboxEvent> events = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setInt(1, batchSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    events.add(new OutboxEvent(rs.getLong("id"), rs.getString("exchange"), rs.getString("routing_key"),
+                            rs.getString("payload"), rs.getTimestamp("created_at")));
+                }
+            }
+        }
+        return events;
+    }
+
+    private void markSent(List<OutboxEvent> sent) throws SQLException {
+        if (sent.isEmpty()) {
+            return;
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(MARK_SENT_SQL)) {
+            for (OutboxEvent event : sent) {
+                statement.setLong(1, event.id());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // The confirmed prefix of events; without publisher confirms, every event the broker was handed
+    List<OutboxEvent> publish(List<OutboxEvent> events) {
+        List<CorrelationData> correlations = new ArrayList<>(events.size());
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                MessageProperties properties = new MessageProperties();
+                properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+                properties.setContentEncoding(StandardCharsets.UTF_8.name());
+                CorrelationData correlation = new CorrelationData(String.valueOf(event.id()));
+                operations.send(event.exchange(), event.routingKey(),
+                        new Message(event.payload().getBytes(StandardCharsets.UTF_8), properties), correlation);
+                correlations.add(correlation);
+            }
+            return null;
+        });
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            events.forEach(event -> countMessage(event, "success"));
+            return events;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<OutboxEvent> sent = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            String reason;
+            try {
+                CorrelationData.Confirm confirm = correlations.get(i).getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    countMessage(event, "success");
+                    sent.add(event);
+                    continue;
+                }
+                reason = confirm.getReason();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reason = "interrupted";
+            } catch (Exception e) {
+                reason = e.toString();
+            }
+            countMessage(event, "failure");
+            logger.warn("Outbox event {} ({}) was not confirmed, {} events will be published again: {}",
+                    event.id(), event.routingKey(), events.size() - i, reason);
+            break;
+        }
+        return sent;
+    }
+
+    private void countMessage(OutboxEvent event, String result) {
+        meterRegistry.counter("events.publish.messages", "event", event.routingKey(), "result", result).increment();
+    }
+
+    // Returns when the insert trigger notified, or after events.outbox.poll-interval-ms
+    private void awaitEvents() throws SQLException, InterruptedException {
+        if (!postgres) {
+            Thread.sleep(pollIntervalMs);
+            return;
+        }
+        connection.unwrap(PGConnection.class).getNotifications((int) Math.max(1, pollIntervalMs));
+    }
+
+    // Closing the session also releases the advisory lock for another instance
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Failed to close outbox relay connection: {}", e.getMessage());
+        }
+        connection = null;
+        locked = false;
+    }
+
+    @Scheduled(fixedDelayString = "${events.outbox.cleanup-interval-ms:600000}",
+            initialDelayString = "${events.outbox.cleanup-interval-ms:600000}")
+    public void cleanUp() {
+        outboxCleanups.orderedStream().forEach(cleanup -> {
+            try {
+                int removed = cleanup.cleanUp();
+                if (removed > 0) {
+                    logger.info("{} removed {} sent outbox events", cleanup.getClass().getSimpleName(), removed);
+                }
+            } catch (Exception e) {
+                logger.error("Outbox cleanup {} failed: {}", cleanup.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        relay.join(pollIntervalMs + 5000);
+    }
+
+    record OutboxEvent(long id, String exchange, String routingKey, String payload, Timestamp createdAt) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Deletes sent outbox rows older than events.outbox.retention-hours, in chunks so no delete holds many locks
+@Component
+@ConditionalOnProperty(name = "events.outbox.cleanup", havingValue = "retention", matchIfMissing = true)
+public class RetentionOutboxCleanup implements OutboxCleanup {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${events.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${events.outbox.cleanup-batch-size:5000}")
+    private int batchSize;
+
+    @Override
+    public int cleanUp() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM event_outbox WHERE id IN (SELECT id FROM event_outbox"
+                    + " WHERE sent_at < ? ORDER BY sent_at LIMIT ?)", cutoff, batchSize);
+            removed += deleted;
+        } while (deleted == batchSize);
+        return removed;
+    }
+}
@@ -0,0 +1,91 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fails startup when an index the repository queries depend on is missing, instead of
+ * silently degrading to sequential scans. Indexes are matched on table and column list
+ * rather than name, so constraints created by older ddl-auto schemas also count.
+ * Only checked on PostgreSQL; disable with schema.verify-indexes=false.
+ *
+ * Not a component: each service declares it as a bean with the indexes its migrations create.
+ */
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    private static final String INDEX_COLUMNS_SQL = """
+            SELECT ix.indisunique AS is_unique,
+                   string_agg(a.attname, ',' ORDER BY k.ord) AS columns
+            FROM pg_index ix
+            JOIN pg_class t ON t.oid = ix.indrelid
+            JOIN LATERAL unnest(ix.indkey::int2[]) WITH ORDINALITY AS k(attnum, ord) ON true
+            JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum
+            WHERE t.relname = ? AND pg_table_is_visible(t.oid)
+            GROUP BY ix.indexrelid, ix.indisunique
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final List<ExpectedIndex> expectedIndexes;
+
+    public SchemaIndexVerifier(JdbcTemplate jdbcTemplate, boolean enabled, List<ExpectedIndex> expectedIndexes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.expectedIndexes = List.copyOf(expectedIndexes);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(databaseProduct)) {
+            logger.info("Database is {}, skipping index verification", databaseProduct);
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (ExpectedIndex expected : expectedIndexes) {
+            if (!exists(expected)) {
+                missing.add(expected.toString());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes " + missing
+                    + ". Apply the Flyway migrations in db/migration or set schema.verify-indexes=false");
+        }
+        logger.info("Verified {} database indexes", expectedIndexes.size());
+    }
+
+    private boolean exists(ExpectedIndex expected) {
+        String columns = String.join(",", expected.columns());
+        for (Map<String, Object> index : jdbcTemplate.queryForList(INDEX_COLUMNS_SQL, expected.table())) {
+            // A unique index also serves plain lookups on the same columns
+            if (columns.equals(index.get("columns"))
+                    && (!expected.unique() || Boolean.TRUE.equals(index.get("is_unique")))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record ExpectedIndex(String table, List<String> columns, boolean unique) {
+        @Override
+        public String toString() {
+            return (unique ? "unique " : "") + table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.tribytegenius.CareerCompass.Events.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventDecoderTest {
+
+    private static final String CRAWLED = "{\"name\":\"Java Developer\",\"company\":\"Atlassian\",\"type\":\"Full-time\","
+            + "\"location\":\"Sydney NSW\",\"website\":\"seek\",\"url\":\"https://jobs.example/1\","
+            + "\"time\":\"2026-10-01 09:30:00\",\"status\":\"Active\",\"eventType\":\"CREATED\","
+            + "\"timestamp\":\"2026-10-01T09:30:00.123456\"}";
+
+    private final EventDecoder eventDecoder = new EventDecoder();
+
+    @Test
+    void decodesTheCrawlersEvents() {
+        PythonJobEvent event = eventDecoder.decodePythonJob(message(CRAWLED, 1));
+
+        assertThat(event.eventType()).isEqualTo("CREATED");
+        assertThat(event.jobId()).isNull();
+        assertThat(event.url()).isEqualTo("https://jobs.example/1");
+        assertThat(event.time()).isEqualTo(LocalDateTime.of(2026, 10, 1, 9, 30));
+        assertThat(event.timestamp()).isEqualTo(LocalDateTime.of(2026, 10, 1, 9, 30, 0, 123_456_000));
+    }
+
+    // Messages from before the header was introduced are version 1
+    @Test
+    void messagesWithoutAVersionAreReadAsVersionOne() {
+        assertThat(eventDecoder.decodePythonJob(message(CRAWLED, null)).name()).isEqualTo("Java Developer");
+        assertThat(eventDecoder.decodePythonJob(message(CRAWLED, "1")).name()).isEqualTo("Java Developer");
+    }
+
+    @Test
+    void newerSchemaVersionsAreRejected() {
+        assertThatThrownBy(() -> eventDecoder.decodePythonJob(message(CRAWLED, EventContract.SCHEMA_VERSION + 1)))
+                .isInstanceOf(MalformedEventException.class)
+                .hasMessage("Unsupported schema version 2, this service reads up to 1");
+        assertThatThrownBy(() -> eventDecoder.decodeUserEvent(message("{}", 0)))
+                .isInstanceOf(MalformedEventException.class)
+                .hasMessageStartingWith("Unsupported schema version 0");
+        assertThatThrownBy(() -> eventDecoder.decodeJobEvent(message("{}", "v2")))
+                .isInstanceOf(MalformedEventException.class)
+                .hasMessage("Invalid x-schema-version header: v2");
+    }
+
+    @Test
+    void malformedBodiesAreRejected() {
+        assertMalformed("", "Empty body");
+        assertMalformed("[1, 2]", "Body is not a JSON object");
+        assertMalformed("{\"url\": ", "Invalid JSON");
+        assertMalformed(CRAWLED.replace("\"Atlassian\"", "42"), "company must be a string, got VALUE_NUMBER_INT");
+        assertMalformed(CRAWLED.replace("\"2026-10-01 09:30:00\"", "\"yesterday\""), "Invalid time: yesterday");
+        assertMalformed(CRAWLED.replace("\"company\":\"Atlassian\",", ""), "Missing company");
+    }
+
+    // Our own CREATED events carry a jobId and only need the url
+    @Test
+    void ownEventsNeedOnlyTheirIdAndUrl() {
+        PythonJobEvent event = eventDecoder.decodePythonJob(
+                message("{\"eventType\":\"CREATED\",\"jobId\":\"17\",\"url\":\"https://jobs.example/1\"}", 1));
+
+        assertThat(event.jobId()).isEqualTo(17L);
+        assertThat(event.name()).isNull();
+    }
+
+    @Test
+    void unknownFieldsAreSkipped() {
+        String body = CRAWLED.replace("{", "{\"salary\":{\"min\":1,\"max\":[2,3]},\"tags\":[\"java\"],");
+
+        assertThat(eventDecoder.decodePythonJob(message(body, 1)).company()).isEqualTo("Atlassian");
+    }
+
+    // Jackson's default array layout for LocalDateTime, and formats the fast path leaves to the formatters
+    @Test
+    void dateTimesInOtherLayoutsAreParsed() {
+        JobEvent arrays = eventDecoder.decodeJobEvent(
+                message("{\"eventType\":\"UPDATED\",\"jobId\":3,\"timestamp\":[2026,10,1,9,30,15,500]}", 1));
+        JobEvent withoutSeconds = eventDecoder.decodeJobEvent(
+                message("{\"eventType\":\"UPDATED\",\"timestamp\":\"2026-10-01T09:30\"}", 1));
+
+        assertThat(arrays.timestamp()).isEqualTo(LocalDateTime.of(2026, 10, 1, 9, 30, 15, 500));
+        assertThat(withoutSeconds.timestamp()).isEqualTo(LocalDateTime.of(2026, 10, 1, 9, 30));
+    }
+
+    @Test
+    void userEventsNeedAUserId() {
+        UserEvent event = eventDecoder.decodeUserEvent(
+                message("{\"eventType\":\"REGISTERED\",\"userId\":5,\"roles\":[\"ROLE_USER\"]}", 1));
+
+        assertThat(event.roles()).isEqualTo(List.of("ROLE_USER"));
+        assertThatThrownBy(() -> eventDecoder.decodeUserEvent(message("{\"eventType\":\"REGISTERED\"}", 1)))
+                .isInstanceOf(MalformedEventException.class)
+                .hasMessage("Missing userId");
+    }
+
+    private void assertMalformed(String body, String reason) {
+        assertThatThrownBy(() -> eventDecoder.decodePythonJob(message(body, 1)))
+                .isInstanceOf(MalformedEventException.class)
+                .hasMessageStartingWith(reason);
+    }
+
+    private static Message message(String body, Object schemaVersion) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        if (schemaVersion != null) {
+            properties.setHeader(EventContract.SCHEMA_VERSION_HEADER, schemaVersion);
+        }
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
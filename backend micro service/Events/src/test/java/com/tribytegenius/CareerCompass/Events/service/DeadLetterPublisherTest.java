@@ -0,0 +1,169 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterPublisherTest {
+
+    private static final String QUEUE = "jobs.python.queue";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private DeadLetterPublisher deadLetterPublisher;
+
+    // How the broker answers every publish
+    private boolean ack = true;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterPublisher = new DeadLetterPublisher();
+        ReflectionTestUtils.setField(deadLetterPublisher, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(deadLetterPublisher, "deadLetterExchange", "events.dead-letter");
+        ReflectionTestUtils.setField(deadLetterPublisher, "deadLetterQueue", "job-service.dead-letter");
+        ReflectionTestUtils.setField(deadLetterPublisher, "retryExchange", "job-service.retry");
+        ReflectionTestUtils.setField(deadLetterPublisher, "initialDelayMs", 1000L);
+        ReflectionTestUtils.setField(deadLetterPublisher, "multiplier", 4);
+        ReflectionTestUtils.setField(deadLetterPublisher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(deadLetterPublisher, "confirmTimeoutMs", 200L);
+        lenient().when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        lenient().when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture()
+                    .complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void delaysGrowByTheMultiplier() {
+        assertThat(deadLetterPublisher.retryDelays()).containsExactly(1000L, 4000L, 16000L);
+    }
+
+    @Test
+    void failedMessageWaitsInTheFirstTierAndReturnsToItsQueue() {
+        Message message = message();
+
+        assertThat(deadLetterPublisher.retry(message, new IllegalStateException("database down"))).isTrue();
+
+        verify(rabbitTemplate).send(eq("job-service.retry"), eq(QUEUE), eq(message), any(CorrelationData.class));
+        MessageProperties properties = message.getMessageProperties();
+        assertThat((Object) properties.getHeader(EventContract.RETRY_COUNT_HEADER)).isEqualTo(1);
+        assertThat((Object) properties.getHeader(EventContract.RETRY_DELAY_HEADER)).isEqualTo("1000");
+        assertThat((Object) properties.getHeader(EventContract.ORIGINAL_QUEUE_HEADER)).isEqualTo(QUEUE);
+        assertThat((Object) properties.getHeader(EventContract.ORIGINAL_EXCHANGE_HEADER)).isEqualTo("jobs.exchange");
+    }
+
+    @Test
+    void laterAttemptsMoveToLongerTiers() {
+        Message message = message();
+        message.getMessageProperties().setHeader(EventContract.RETRY_COUNT_HEADER, 2);
+
+        deadLetterPublisher.retry(message, new IllegalStateException("database down"));
+
+        assertThat((Object) message.getMessageProperties().getHeader(EventContract.RETRY_COUNT_HEADER)).isEqualTo(3);
+        assertThat((Object) message.getMessageProperties().getHeader(EventContract.RETRY_DELAY_HEADER)).isEqualTo("16000");
+    }
+
+    // A retried message comes back through the default exchange, which must not replace its origin
+    @Test
+    void retriedMessageKeepsItsFirstOrigin() {
+        Message message = message();
+        deadLetterPublisher.retry(message, new IllegalStateException("database down"));
+        message.getMessageProperties().setReceivedExchange("");
+
+        deadLetterPublisher.retry(message, new IllegalStateException("database down"));
+
+        assertThat((Object) message.getMessageProperties().getHeader(EventContract.ORIGINAL_EXCHANGE_HEADER))
+                .isEqualTo("jobs.exchange");
+        assertThat((Object) message.getMessageProperties().getHeader(EventContract.RETRY_COUNT_HEADER)).isEqualTo(2);
+    }
+
+    @Test
+    void messageIsParkedOnceItsAttemptsAreUsedUp() {
+        Message message = message();
+        message.getMessageProperties().setHeader(EventContract.RETRY_COUNT_HEADER, "3");
+
+        assertThat(deadLetterPublisher.retry(message, new IllegalStateException("database down"))).isFalse();
+
+        verify(rabbitTemplate).send(eq("events.dead-letter"), eq("job-service.dead-letter"), eq(message), any(CorrelationData.class));
+        verify(rabbitTemplate, never()).send(eq("job-service.retry"), anyString(), any(Message.class), any(CorrelationData.class));
+        assertThat((String) message.getMessageProperties().getHeader(EventContract.REJECTED_REASON_HEADER))
+                .isEqualTo("Failed after 3 retries: database down");
+    }
+
+    @Test
+    void malformedMessageIsParkedRightAway() {
+        Message message = message();
+
+        deadLetterPublisher.reject(message, "Malformed event");
+
+        verify(rabbitTemplate).send(eq("events.dead-letter"), eq("job-service.dead-letter"), eq(message), any(CorrelationData.class));
+        assertThat((String) message.getMessageProperties().getHeader(EventContract.REJECTED_REASON_HEADER))
+                .isEqualTo("Malformed event");
+        assertThat((Object) message.getMessageProperties().getHeader(EventContract.ORIGINAL_QUEUE_HEADER)).isEqualTo(QUEUE);
+    }
+
+    // The original is acked once these return, so a nack must surface as an exception
+    @Test
+    void nackedRetryThrowsSoTheMessageIsRedelivered() {
+        ack = false;
+
+        assertThatThrownBy(() -> deadLetterPublisher.retry(message(), new IllegalStateException("database down")))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("nack");
+    }
+
+    @Test
+    void nackedRejectThrowsSoTheMessageIsRedelivered() {
+        ack = false;
+
+        assertThatThrownBy(() -> deadLetterPublisher.reject(message(), "Malformed event"))
+                .isInstanceOf(AmqpException.class);
+    }
+
+    @Test
+    void unconfirmedPublishThrowsAfterTheTimeout() {
+        doAnswer(invocation -> null)
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        assertThatThrownBy(() -> deadLetterPublisher.reject(message(), "Malformed event"))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("not confirmed within 200 ms");
+    }
+
+    private static Message message() {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        properties.setReceivedExchange("jobs.exchange");
+        properties.setReceivedRoutingKey("jobs.python");
+        return new Message("{}".getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,177 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublishBufferTest {
+
+    private static final String EXCHANGE = "job.events";
+    private static final String EVENT = "job.created";
+
+    // Confirms a publish as ACK or NACK, or fails it like a channel closing before the confirm
+    private static final Object ACK = "ack";
+    private static final Object NACK = "nack";
+    private static final Object CLOSED = "closed";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // How the broker answers each publish in turn; later ones are acked
+    private final Queue<Object> confirms = new ConcurrentLinkedQueue<>();
+
+    // Times invoke fails before the broker is reachable
+    private final AtomicInteger unreachable = new AtomicInteger();
+
+    private final AtomicInteger published = new AtomicInteger();
+
+    private EventPublishBuffer eventPublishBuffer;
+
+    @BeforeEach
+    void setUp() {
+        eventPublishBuffer = new EventPublishBuffer();
+        ReflectionTestUtils.setField(eventPublishBuffer, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(eventPublishBuffer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(eventPublishBuffer, "mode", "async");
+        ReflectionTestUtils.setField(eventPublishBuffer, "bufferCapacity", 100);
+        ReflectionTestUtils.setField(eventPublishBuffer, "batchSize", 10);
+        ReflectionTestUtils.setField(eventPublishBuffer, "flushIntervalMs", 1L);
+        ReflectionTestUtils.setField(eventPublishBuffer, "maxAttempts", 3);
+        ReflectionTestUtils.setField(eventPublishBuffer, "retryIntervalMs", 10L);
+        ReflectionTestUtils.setField(eventPublishBuffer, "offerTimeoutMs", 100L);
+        ReflectionTestUtils.setField(eventPublishBuffer, "confirmTimeoutMs", 5000L);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+
+        RabbitOperations operations = mock(RabbitOperations.class);
+        lenient().doAnswer(invocation -> {
+            published.incrementAndGet();
+            Object confirm = confirms.poll();
+            CorrelationData correlation = invocation.getArgument(3);
+            if (confirm == CLOSED) {
+                correlation.getFuture().completeExceptionally(new IllegalStateException("Channel closed"));
+            } else {
+                correlation.getFuture().complete(new CorrelationData.Confirm(confirm != NACK, confirm == NACK ? "nack" : null));
+            }
+            return null;
+        }).when(operations).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+        lenient().when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation -> {
+            if (unreachable.getAndDecrement() > 0) {
+                throw new AmqpConnectException(new ConnectException("Connection refused"));
+            }
+            return invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        eventPublishBuffer.stop();
+    }
+
+    @Test
+    void ackedEventsSucceed() {
+        start();
+
+        assertThat(eventPublishBuffer.sendAndAwait(EXCHANGE, EVENT, List.of("a", "b"))).isTrue();
+
+        assertThat(published).hasValue(2);
+        assertThat(count("success")).isEqualTo(2);
+        assertThat(retries()).isZero();
+    }
+
+    // A nack puts the event back in the buffer, and the broker takes it on a later attempt
+    @Test
+    void nackedEventsAreRetriedUntilAcked() {
+        confirms.addAll(List.of(NACK, CLOSED, ACK));
+        start();
+
+        assertThat(eventPublishBuffer.sendAndAwait(EXCHANGE, EVENT, List.of("a"))).isTrue();
+
+        assertThat(published).hasValue(3);
+        assertThat(retries()).isEqualTo(2);
+        assertThat(count("success")).isEqualTo(1);
+        assertThat(count("failure")).isZero();
+    }
+
+    @Test
+    void eventsNackedOnEveryAttemptFail() {
+        confirms.addAll(List.of(NACK, NACK, NACK));
+        start();
+
+        assertThat(eventPublishBuffer.sendAndAwait(EXCHANGE, EVENT, List.of("a"))).isFalse();
+
+        assertThat(published).hasValue(3);
+        assertThat(count("failure")).isEqualTo(1);
+        assertThat(count("success")).isZero();
+    }
+
+    // Events the broker never received are retried too, after the retry interval
+    @Test
+    void eventsAreRetriedWhileTheBrokerIsUnreachable() {
+        unreachable.set(2);
+        // Long enough for both events to go out in every batch
+        ReflectionTestUtils.setField(eventPublishBuffer, "flushIntervalMs", 200L);
+        start();
+
+        assertThat(eventPublishBuffer.sendAndAwait(EXCHANGE, EVENT, List.of("a", "b"))).isTrue();
+
+        assertThat(published).hasValue(2);
+        assertThat(retries()).isEqualTo(4);
+    }
+
+    @Test
+    void withoutPublisherConfirmsPublishersStaySynchronous() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+
+        eventPublishBuffer.start();
+
+        assertThat(eventPublishBuffer.isEnabled()).isFalse();
+        verify(rabbitTemplate, never()).invoke(any(RabbitOperations.OperationsCallback.class));
+    }
+
+    private void start() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        eventPublishBuffer.start();
+        assertThat(eventPublishBuffer.isEnabled()).isTrue();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("events.publish.messages", "event", EVENT, "result", result).count();
+    }
+
+    private double retries() {
+        return meterRegistry.counter("events.publish.retries", "event", EVENT).count();
+    }
+}
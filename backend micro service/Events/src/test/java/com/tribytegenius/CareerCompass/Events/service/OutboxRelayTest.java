@@ -0,0 +1,148 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    // How the broker answers each publish, in order; null leaves it unconfirmed
+    private static final Boolean ACK = true;
+    private static final Boolean NACK = false;
+    private static final Boolean SILENT = null;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    private final List<Message> sent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay();
+        ReflectionTestUtils.setField(outboxRelay, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "confirmTimeoutMs", 200L);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitTemplate.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    @Test
+    void everyEventIsSentWhenAllAreConfirmed() {
+        confirmWith(ACK, ACK, ACK);
+
+        List<OutboxRelay.OutboxEvent> events = events(3);
+
+        assertThat(outboxRelay.publish(events)).containsExactlyElementsOf(events);
+        assertThat(sent).extracting(message -> new String(message.getBody(), StandardCharsets.UTF_8))
+                .containsExactly("{\"id\":1}", "{\"id\":2}", "{\"id\":3}");
+        assertThat(sent.get(0).getMessageProperties().getContentType()).isEqualTo("application/json");
+        assertThat(count("success")).isEqualTo(3);
+    }
+
+    @Test
+    void sentStopsAtTheFirstNack() {
+        confirmWith(ACK, NACK, ACK, ACK);
+
+        List<OutboxRelay.OutboxEvent> events = events(4);
+
+        // Event 3 was confirmed, but is published again after event 2 to keep the order
+        assertThat(outboxRelay.publish(events)).containsExactly(events.get(0));
+        assertThat(sent).hasSize(4);
+        assertThat(count("success")).isEqualTo(1);
+        assertThat(count("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void sentStopsAtTheFirstConfirmThatTimesOut() {
+        confirmWith(ACK, ACK, SILENT);
+
+        List<OutboxRelay.OutboxEvent> events = events(3);
+
+        assertThat(outboxRelay.publish(events)).containsExactly(events.get(0), events.get(1));
+        assertThat(count("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsSentWhenTheFirstEventIsNacked() {
+        confirmWith(NACK, ACK);
+
+        assertThat(outboxRelay.publish(events(2))).isEmpty();
+    }
+
+    @Test
+    void everyEventHandedToTheBrokerIsSentWithoutPublisherConfirms() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        recordSends(List.of());
+
+        List<OutboxRelay.OutboxEvent> events = events(2);
+
+        assertThat(outboxRelay.publish(events)).containsExactlyElementsOf(events);
+        assertThat(count("success")).isEqualTo(2);
+    }
+
+    private void confirmWith(Boolean... acks) {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        recordSends(Arrays.asList(acks));
+    }
+
+    // Stands in for the broker: keeps each message and answers its confirm as told
+    private void recordSends(List<Boolean> acks) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            int index = sent.size();
+            sent.add(invocation.getArgument(2));
+            Boolean ack = index < acks.size() ? acks.get(index) : SILENT;
+            if (ack != null) {
+                correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            }
+            return null;
+        }).when(operations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("events.publish.messages", "event", "job.created", "result", result).count();
+    }
+
+    private static List<OutboxRelay.OutboxEvent> events(int count) {
+        Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new OutboxRelay.OutboxEvent(id, "jobs.exchange", "job.created",
+                        "{\"id\":" + id + "}", createdAt))
+                .toList();
+    }
+}
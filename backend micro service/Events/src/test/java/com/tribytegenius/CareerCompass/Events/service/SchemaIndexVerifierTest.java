@@ -0,0 +1,71 @@
+package com.tribytegenius.CareerCompass.Events.service;
+
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier.ExpectedIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaIndexVerifierTest {
+
+    private static final List<ExpectedIndex> EXPECTED = List.of(
+            new ExpectedIndex("users", List.of("email"), true),
+            new ExpectedIndex("event_outbox", List.of("sent_at", "id"), false));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+    }
+
+    @Test
+    void presentIndexesPass() {
+        when(jdbcTemplate.queryForList(anyString(), eq("users")))
+                .thenReturn(List.of(Map.of("columns", "email", "is_unique", true)));
+        when(jdbcTemplate.queryForList(anyString(), eq("event_outbox")))
+                .thenReturn(List.of(Map.of("columns", "sent_at,id", "is_unique", false)));
+
+        assertThatCode(() -> new SchemaIndexVerifier(jdbcTemplate, true, EXPECTED).run(null)).doesNotThrowAnyException();
+    }
+
+    // A plain index does not stand in for a unique one, and column order matters
+    @Test
+    void missingIndexesFailStartup() {
+        when(jdbcTemplate.queryForList(anyString(), eq("users")))
+                .thenReturn(List.of(Map.of("columns", "email", "is_unique", false)));
+        when(jdbcTemplate.queryForList(anyString(), eq("event_outbox")))
+                .thenReturn(List.of(Map.of("columns", "id,sent_at", "is_unique", false)));
+
+        assertThatThrownBy(() -> new SchemaIndexVerifier(jdbcTemplate, true, EXPECTED).run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[unique users(email), event_outbox(sent_at, id)]");
+    }
+
+    @Test
+    void otherDatabasesAreNotChecked() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        new SchemaIndexVerifier(jdbcTemplate, true, EXPECTED).run(null);
+
+        verify(jdbcTemplate, never()).queryForList(anyString(), any(Object[].class));
+    }
+}
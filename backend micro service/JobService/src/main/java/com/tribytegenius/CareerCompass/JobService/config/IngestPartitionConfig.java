@@ -0,0 +1,167 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import com.tribytegenius.CareerCompass.JobService.service.impl.PythonJobEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitioned Python ingestion, enabled by jobs.ingest.partitions.count > 0.
+ *
+ * job.created messages go from the job events exchange to an x-consistent-hash exchange
+ * (rabbitmq_consistent_hash_exchange plugin) that hashes the job-url header onto
+ * jobs.ingest.partitions.count queues. Each queue has a single active consumer across all
+ * replicas, so events for one url are always handled one at a time, while different partitions
+ * are ingested in parallel. jobs.ingest.partitions.owned limits a replica to some partitions;
+ * by default every replica subscribes to all of them and RabbitMQ keeps the others on standby.
+ *
+ * Messages without a job-url header are not routed by the hash exchange. The job-created queue
+ * is unbound from job.created, and its listener only drains what was queued before the switch.
+ */
+@Configuration
+@ConditionalOnExpression("${jobs.ingest.partitions.count:0} > 0")
+public class IngestPartitionConfig implements RabbitListenerConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestPartitionConfig.class);
+
+    @Value("${rabbitmq.exchanges.job-events}")
+    private String jobEventsExchange;
+
+    @Value("${rabbitmq.queues.job-created}")
+    private String jobCreatedQueue;
+
+    @Value("${rabbitmq.routing-keys.job-created}")
+    private String jobCreatedRoutingKey;
+
+    @Value("${jobs.ingest.partitions.count}")
+    private int partitionCount;
+
+    // Empty = every partition
+    @Value("${jobs.ingest.partitions.owned:}")
+    private List<Integer> ownedPartitions;
+
+    @Value("${jobs.ingest.partitions.exchange:job.ingest}")
+    private String ingestExchange;
+
+    @Value("${jobs.ingest.partitions.queue-prefix:job.ingest.}")
+    private String queuePrefix;
+
+    @Value("${jobs.ingest.partitions.hash-header:job-url}")
+    private String hashHeader;
+
+    @Value("${jobs.ingest.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Autowired
+    private PythonJobEventListener pythonJobEventListener;
+
+    @Autowired
+    @Qualifier("jobBatchListenerContainerFactory")
+    private SimpleRabbitListenerContainerFactory batchContainerFactory;
+
+    @Autowired
+    @Qualifier("rabbitListenerContainerFactory")
+    private SimpleRabbitListenerContainerFactory containerFactory;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Bean
+    public Declarables ingestPartitionDeclarables() {
+        List<Declarable> declarables = new ArrayList<>();
+        CustomExchange exchange = new CustomExchange(ingestExchange, "x-consistent-hash", true, false,
+                Map.of("hash-header", hashHeader));
+        declarables.add(exchange);
+        declarables.add(new Binding(ingestExchange, Binding.DestinationType.EXCHANGE,
+                jobEventsExchange, jobCreatedRoutingKey, null));
+        for (int partition = 0; partition < partitionCount; partition++) {
+            Queue queue = QueueBuilder.durable(queueName(partition)).singleActiveConsumer().build();
+            declarables.add(queue);
+            // The routing key of a consistent-hash binding is its weight on the hash ring
+            declarables.add(BindingBuilder.bind(queue).to(exchange).with("1").noargs());
+        }
+        return new Declarables(declarables);
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.afterPropertiesSet();
+        Method method = listenerMethod();
+
+        for (int partition : partitions()) {
+            MethodRabbitListenerEndpoint endpoint = new MethodRabbitListenerEndpoint();
+            endpoint.setId("job-ingest-partition-" + partition);
+            endpoint.setQueueNames(queueName(partition));
+            endpoint.setBean(pythonJobEventListener);
+            endpoint.setMethod(method);
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            endpoint.setBatchListener(batchEnabled);
+            // One consumer per partition keeps same-url events in order
+            endpoint.setConcurrency("1");
+            registrar.registerEndpoint(endpoint, batchEnabled ? batchContainerFactory : containerFactory);
+        }
+        logger.info("Consuming ingestion partitions {} of {}", partitions(), partitionCount);
+    }
+
+    // Bindings are only ever added by declaration, so the pre-partitioning one is removed here
+    @EventListener(ApplicationReadyEvent.class)
+    public void unbindJobCreatedQueue() {
+        try {
+            amqpAdmin.removeBinding(new Binding(jobCreatedQueue, Binding.DestinationType.QUEUE,
+                    jobEventsExchange, jobCreatedRoutingKey, null));
+        } catch (Exception e) {
+            logger.warn("Failed to unbind {} from {}: {}", jobCreatedQueue, jobEventsExchange, e.getMessage());
+        }
+    }
+
+    private List<Integer> partitions() {
+        List<Integer> partitions = new ArrayList<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            if (ownedPartitions.isEmpty() || ownedPartitions.contains(partition)) {
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    private Method listenerMethod() {
+        try {
+            return batchEnabled
+                    ? PythonJobEventListener.class.getMethod("handlePythonJobsCreated", List.class)
+                    : PythonJobEventListener.class.getMethod("handlePythonJobCreated", Message.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("PythonJobEventListener has no ingestion method", e);
+        }
+    }
+
+    private String queueName(int partition) {
+        return queuePrefix + partition;
+    }
+}
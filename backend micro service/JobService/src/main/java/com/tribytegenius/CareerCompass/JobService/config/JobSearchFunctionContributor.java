@@ -0,0 +1,102 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Registers the HQL/Criteria functions used by keyword search on PostgreSQL.
+ * The search_vector column is not mapped on Job (it is generated by the database),
+ * so both functions take the job id path and render against the same table alias:
+ *
+ *   job_fts_match(j.id, :q) -> j.search_vector @@ to_tsquery('english', :q)
+ *   job_fts_rank(j.id, :q)  -> ts_rank_cd(j.search_vector, to_tsquery('english', :q))
+ *
+ * Registered through META-INF/services so Hibernate picks it up at bootstrap.
+ */
+public class JobSearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_FUNCTION = "job_fts_match";
+    public static final String RANK_FUNCTION = "job_fts_rank";
+
+    static final String SEARCH_VECTOR_COLUMN = "search_vector";
+    static final String TEXT_SEARCH_CONFIG = "english";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+
+        functionContributions.getFunctionRegistry().register(MATCH_FUNCTION,
+                new SearchVectorFunction(MATCH_FUNCTION, booleanType, false));
+        functionContributions.getFunctionRegistry().register(RANK_FUNCTION,
+                new SearchVectorFunction(RANK_FUNCTION, doubleType, true));
+    }
+
+    private static class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final boolean rank;
+
+        SearchVectorFunction(String name, BasicType<?> returnType, boolean rank) {
+            super(name,
+                    StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(returnType),
+                    null);
+            this.rank = rank;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender,
+                           List<? extends SqlAstNode> arguments,
+                           ReturnableType<?> returnType,
+                           SqlAstTranslator<?> walker) {
+            String searchVector = searchVectorColumn(arguments.get(0));
+            if (rank) {
+                sqlAppender.appendSql("ts_rank_cd(" + searchVector + ", ");
+                appendTsQuery(sqlAppender, arguments.get(1), walker);
+                sqlAppender.appendSql(")");
+            } else {
+                sqlAppender.appendSql("(" + searchVector + " @@ ");
+                appendTsQuery(sqlAppender, arguments.get(1), walker);
+                sqlAppender.appendSql(")");
+            }
+        }
+
+        private void appendTsQuery(SqlAppender sqlAppender, SqlAstNode query, SqlAstTranslator<?> walker) {
+            sqlAppender.appendSql("to_tsquery('" + TEXT_SEARCH_CONFIG + "', ");
+            query.accept(walker);
+            sqlAppender.appendSql(")");
+        }
+
+        // Re-qualify the id column with the same alias so the GIN index on search_vector is used
+        private String searchVectorColumn(SqlAstNode idPath) {
+            ColumnReference column = idPath instanceof Expression expression
+                    ? expression.getColumnReference()
+                    : null;
+            if (column == null) {
+                throw new IllegalArgumentException(getName() + " expects the job id path as first argument");
+            }
+            String qualifier = column.getQualifier();
+            return qualifier == null ? SEARCH_VECTOR_COLUMN : qualifier + "." + SEARCH_VECTOR_COLUMN;
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.tribytegenius.CareerCompass.JobService.config;
 
+import com.tribytegenius.CareerCompass.Events.config.DeadLetterConfig;
+import com.tribytegenius.CareerCompass.Events.config.EventOutboxConfig;
+import com.tribytegenius.CareerCompass.Events.config.EventPublishingConfig;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
+@Import({DeadLetterConfig.class, EventOutboxConfig.class, EventPublishingConfig.class})
 public class RabbitMQConfig {
 
     @Value("${rabbitmq.exchanges.job-events}")
@@ -39,6 +52,21 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-keys.job-deleted}")
     private String jobDeletedRoutingKey;
 
+    @Value("${rabbitmq.exchanges.dead-letter:events.dead-letter}")
+    private String deadLetterExchange;
+
+    @Value("${rabbitmq.queues.dead-letter}")
+    private String deadLetterQueue;
+
+    @Value("${rabbitmq.exchanges.retry}")
+    private String retryExchange;
+
+    @Value("${jobs.ingest.batch.size:500}")
+    private int ingestBatchSize;
+
+    @Value("${jobs.ingest.batch.receive-timeout-ms:1000}")
+    private long ingestBatchReceiveTimeoutMs;
+
     // Exchanges
     @Bean
     public TopicExchange jobEventsExchange() {
@@ -66,14 +94,56 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(jobDeletedQueue).build();
     }
 
+    // Parking lot: messages DeadLetterPublisher rejected or gave up retrying, routed by queue name
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(deadLetterExchange);
+    }
+
+    @Bean
+    public Queue deadLetterQueue() {
+        return QueueBuilder.durable(deadLetterQueue).build();
+    }
+
+    @Bean
+    public Binding deadLetterBinding() {
+        return BindingBuilder
+                .bind(deadLetterQueue())
+                .to(deadLetterExchange())
+                .with(deadLetterQueue);
+    }
+
+    // Retry tiers: DeadLetterPublisher sends a failed message to the headers exchange with its
+    // x-retry-delay, keyed by the queue it came from. The tier queue holds it for that delay and
+    // then dead-letters it through the default exchange, which delivers it back to that queue.
+    // Tier queues are named by their delay, so changing events.retry.* adds queues instead of
+    // redeclaring existing ones with a different TTL
+    @Bean
+    public Declarables retryDeclarables(DeadLetterPublisher deadLetterPublisher) {
+        List<Declarable> declarables = new ArrayList<>();
+        HeadersExchange exchange = new HeadersExchange(retryExchange);
+        declarables.add(exchange);
+        for (long delay : deadLetterPublisher.retryDelays().stream().distinct().toList()) {
+            Queue queue = QueueBuilder.durable(retryExchange + "." + delay + "ms")
+                    .ttl((int) delay)
+                    .deadLetterExchange("")
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange)
+                    .where(EventContract.RETRY_DELAY_HEADER).matches(String.valueOf(delay)));
+        }
+        return new Declarables(declarables);
+    }
+
     // User Events Queue (for listening to user events)
     @Bean
     public Queue userEventsQueue() {
         return QueueBuilder.durable(userEventsQueue).build();
     }
 
-    // Job Event Bindings
+    // Job Event Bindings. With partitioned ingestion job.created goes to IngestPartitionConfig's queues instead
     @Bean
+    @ConditionalOnExpression("${jobs.ingest.partitions.count:0} == 0")
     public Binding jobCreatedBinding() {
         return BindingBuilder
                 .bind(jobCreatedQueue())
@@ -112,11 +182,28 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter();
     }
 
+    // Python ingestion in batch mode: hands the listener up to ingestBatchSize raw messages at a time,
+    // or fewer once no message arrived for ingestBatchReceiveTimeoutMs, and acks them together
+    @Bean
+    public SimpleRabbitListenerContainerFactory jobBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(ingestBatchSize);
+        factory.setReceiveTimeout(ingestBatchReceiveTimeoutMs);
+        factory.setPrefetchCount(ingestBatchSize);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        return factory;
+    }
+
     // RabbitTemplate
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        template.setBeforePublishPostProcessors(EventContract.schemaVersionStamp());
         return template;
     }
 }
@@ -0,0 +1,104 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Sends @Transactional(readOnly = true) work to read replicas when jobs.datasource.replica-urls
+ * is set. Without it Boot's single spring.datasource is used unchanged.
+ *
+ * The primary DataSource is wrapped in a LazyConnectionDataSourceProxy: the physical connection
+ * is only fetched at the first statement, after the transaction manager has marked it
+ * read-only, so read-only transactions can be handed to ReplicaRoutingDataSource instead.
+ * Every pool gets spring.datasource.hikari.* and publishes hikaricp.* metrics under its pool name.
+ */
+@Configuration
+@ConditionalOnExpression("'${jobs.datasource.replica-urls:}' != ''")
+public class ReadReplicaDataSourceConfig {
+
+    // 0 on a primary or a caught-up standby, otherwise ms since the last replayed transaction
+    private static final String POSTGRESQL_LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END""";
+
+    @Value("${jobs.datasource.replica-urls}")
+    private List<String> replicaUrls;
+
+    @Value("${jobs.datasource.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${jobs.datasource.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${jobs.datasource.max-replica-lag-ms:5000}")
+    private long maxReplicaLagMillis;
+
+    // Override for non-PostgreSQL replicas, e.g. "SELECT 0" for H2 when testing locally
+    @Value("${jobs.datasource.replica-lag-query:}")
+    private String replicaLagQuery;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             Environment environment,
+                                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool("jobs-primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword(), false, environment, meterRegistry);
+        primary.setDriverClassName(properties.determineDriverClassName());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + replicas.size();
+            HikariDataSource replica = pool("jobs-" + name, url.trim(), replicaUsername, replicaPassword, true,
+                    environment, meterRegistry);
+            // Driver properties are tuned for the primary's writes (reWriteBatchedInserts) and may not suit another driver
+            replica.setDataSourceProperties(new Properties());
+            replicas.put(name, replica);
+        }
+
+        String lagQuery = replicaLagQuery.isBlank() ? POSTGRESQL_LAG_QUERY : replicaLagQuery;
+        return new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxReplicaLagMillis, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    private HikariDataSource pool(String poolName, String url, String username, String password, boolean readOnly,
+                                  Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setReadOnly(readOnly);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,120 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-only side of the JobService DataSource: round-robins read-only transactions over the
+ * replicas whose lag was within jobs.datasource.max-replica-lag-ms at the last check, and
+ * falls back to the primary when none are (lagging, unreachable, or not checked yet).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> usableReplicas = List.of();
+
+    private final Map<String, Counter> routeCounters = new HashMap<>();
+    private final Map<String, AtomicLong> replicaLagMillis = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    String lagQuery, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.putAll(replicas);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (Object key : targets.keySet()) {
+            routeCounters.put((String) key, Counter.builder("jobs.datasource.read.routes")
+                    .description("Read-only transactions routed to each datasource")
+                    .tag("target", (String) key)
+                    .register(meterRegistry));
+        }
+        for (String replica : replicas.keySet()) {
+            AtomicLong lag = new AtomicLong(-1);
+            replicaLagMillis.put(replica, lag);
+            Gauge.builder("jobs.datasource.replica.lag", lag, AtomicLong::get)
+                    .description("Replica lag in milliseconds at the last check, -1 when unreachable")
+                    .tag("replica", replica)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> candidates = usableReplicas;
+        String key = candidates.isEmpty()
+                ? PRIMARY
+                : candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+        routeCounters.get(key).increment();
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.datasource.replica-lag-check-ms:5000}")
+    public void checkReplicaLag() {
+        List<String> usable = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            long lag = measureLag(replica.getKey(), replica.getValue());
+            replicaLagMillis.get(replica.getKey()).set(lag);
+            if (lag >= 0 && lag <= maxLagMillis) {
+                usable.add(replica.getKey());
+            }
+        }
+
+        if (!usable.equals(usableReplicas)) {
+            if (usable.isEmpty()) {
+                logger.warn("No read replica within {} ms lag, routing read-only queries to the primary", maxLagMillis);
+            } else {
+                logger.info("Routing read-only queries to {}", usable);
+            }
+        }
+        usableReplicas = List.copyOf(usable);
+    }
+
+    private long measureLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? Math.max(0, resultSet.getLong(1)) : -1;
+        } catch (Exception e) {
+            logger.warn("Failed to check lag of read replica {}: {}", name, e.getMessage());
+            return -1;
+        }
+    }
+}
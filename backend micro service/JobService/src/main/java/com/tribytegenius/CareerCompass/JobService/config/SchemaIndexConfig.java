@@ -0,0 +1,32 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier;
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier.ExpectedIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+public class SchemaIndexConfig {
+
+    @Value("${schema.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    // Created by the migrations in db/migration
+    @Bean
+    public SchemaIndexVerifier schemaIndexVerifier(JdbcTemplate jdbcTemplate) {
+        return new SchemaIndexVerifier(jdbcTemplate, verifyIndexes, List.of(
+                // Partitioned jobs cannot hold a unique index on url alone, job_urls enforces it
+                new ExpectedIndex("job_urls", List.of("url"), true),
+                new ExpectedIndex("jobs", List.of("url"), false),
+                new ExpectedIndex("jobs", List.of("status", "website", "time"), false),
+                new ExpectedIndex("jobs", List.of("time", "id"), false),
+                new ExpectedIndex("jobs", List.of("duplicate_of"), false),
+                new ExpectedIndex("jobs", List.of("search_vector"), false),
+                new ExpectedIndex("event_outbox", List.of("sent_at", "id"), false)
+        ));
+    }
+}
@@ -1,18 +1,42 @@
 package com.tribytegenius.CareerCompass.JobService.controller;
 
 import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.JobService.dto.JobFacetsResponse;
 import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchProgress;
 import com.tribytegenius.CareerCompass.JobService.dto.SearchRequestBody;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchTicket;
+import com.tribytegenius.CareerCompass.JobService.exception.APIException;
 import com.tribytegenius.CareerCompass.JobService.service.JobService;
+import com.tribytegenius.CareerCompass.JobService.service.impl.JobExporter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/jobs")
 public class JobController {
 
+    // In ResponseFormatConfig's converter order, JSON first
+    private static final List<MediaType> LISTING_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+
     @Autowired
     private JobService jobService;
 
@@ -25,8 +49,48 @@ public class JobController {
             @RequestParam(name = "pageNumber", defaultValue = "0", required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = "20", required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = "time", required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = "desc", required = false) String sortOrder
+            @RequestParam(name = "sortOrder", defaultValue = "desc", required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "totals", defaultValue = "exact", required = false) String totals,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse response
     ){
+        // Polls answer 304 from the catalog version alone while nothing has changed.
+        // JSON, CBOR and Smile pages get different ETags, and caches must key on Accept too
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String eTag = jobService.getJobsETag(
+                pageNumber,
+                pageSize,
+                sortBy,
+                sortOrder,
+                keyword,
+                status,
+                website,
+                timeInDays,
+                totals,
+                cursor,
+                listingMediaType(accept).toString()
+        );
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // Cursor mode: ?cursor= (empty) starts a keyset scroll, then pass back nextCursor
+        if (cursor != null) {
+            JobResponse jobResponse = jobService.getJobsByCursor(
+                    cursor,
+                    pageSize,
+                    sortBy,
+                    sortOrder,
+                    keyword,
+                    status,
+                    website,
+                    timeInDays
+            );
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(jobResponse);
+        }
+
         JobResponse jobResponse = jobService.getAllJobs(
                 pageNumber,
                 pageSize,
@@ -35,9 +99,50 @@ public class JobController {
                 keyword,
                 status,
                 website,
-                timeInDays
+                timeInDays,
+                totals
         );
-        return new ResponseEntity<>(jobResponse, HttpStatus.OK);
+        // no-cache: clients may store the page but must revalidate with If-None-Match
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(jobResponse);
+    }
+
+    // Streams every matching job (same filters as GET /api/jobs) as NDJSON or CSV
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobs(
+            @RequestParam(name = "format", defaultValue = "ndjson", required = false) String format,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "website", required = false) String website,
+            @RequestParam(name = "timeInDays", required = false) Integer timeInDays
+    ) {
+        String exportFormat = format.toLowerCase();
+        if (!JobExporter.FORMATS.contains(exportFormat)) {
+            throw new APIException("Invalid export format. Valid formats are: " + String.join(", ", JobExporter.FORMATS));
+        }
+        MediaType mediaType = JobExporter.FORMAT_CSV.equals(exportFormat)
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = outputStream ->
+                jobService.exportJobs(exportFormat, keyword, status, website, timeInDays, outputStream);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs." + exportFormat + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<JobFacetsResponse> getJobFacets() {
+        return ResponseEntity.ok(jobService.getJobFacets());
+    }
+
+    // Typeahead for the search box: titles and companies matching the prefix, most frequent first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<JobSuggestion>> suggestJobs(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(jobService.suggestJobs(prefix, limit));
     }
 
     @PostMapping
@@ -46,10 +151,38 @@ public class JobController {
         return new ResponseEntity<>(createdJobDTO, HttpStatus.CREATED);
     }
 
+    // Up to jobs.bulk.max-size jobs per request; urls that already exist are skipped
+    @PostMapping("/bulk")
+    public ResponseEntity<List<JobDTO>> createJobs(@RequestBody List<JobDTO> jobDTOs) {
+        List<JobDTO> createdJobs = jobService.createJobs(jobDTOs);
+        return new ResponseEntity<>(createdJobs, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<List<JobDTO>> updateJobs(@RequestBody List<JobDTO> jobDTOs) {
+        List<JobDTO> updatedJobs = jobService.updateJobs(jobDTOs);
+        return ResponseEntity.ok(updatedJobs);
+    }
+
+    // Queues a Python crawl, or joins an identical one already triggered; new jobs arrive as events
     @PostMapping("/search")
-    public ResponseEntity<String> searchJob(@RequestBody SearchRequestBody searchRequestBody) {
-        jobService.searchJob(searchRequestBody);
-        return new ResponseEntity<>("Search request sent to Python service", HttpStatus.OK);
+    public ResponseEntity<SearchTicket> searchJob(
+            @RequestBody SearchRequestBody searchRequestBody,
+            @RequestHeader(name = "X-User-Email", required = false) String userEmail
+    ) {
+        SearchTicket ticket = jobService.searchJob(searchRequestBody, userEmail);
+        return new ResponseEntity<>(ticket, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/search/{id}")
+    public ResponseEntity<SearchProgress> getSearchProgress(@PathVariable String id) {
+        return ResponseEntity.ok(jobService.getSearchProgress(id));
+    }
+
+    // Server-sent "progress" events until the search is completed or failed
+    @GetMapping(value = "/search/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSearchProgress(@PathVariable String id) {
+        return jobService.streamSearchProgress(id);
     }
 
     @PutMapping("/{id}")
@@ -63,4 +196,29 @@ public class JobController {
         String status = jobService.deleteJob(id);
         return new ResponseEntity<>(status, HttpStatus.OK);
     }
+
+    // The listing format content negotiation will pick for this Accept header (JSON when unsure)
+    private static MediaType listingMediaType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType acceptableType : acceptable) {
+            if (acceptableType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType listingType : LISTING_MEDIA_TYPES) {
+                if (acceptableType.isCompatibleWith(listingType)) {
+                    return listingType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
 }
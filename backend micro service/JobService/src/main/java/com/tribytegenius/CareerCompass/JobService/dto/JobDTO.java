@@ -19,4 +19,6 @@ public class JobDTO {
     private String status;
     private String url;
     private String website;
+    // Id of the canonical job when this posting is a near-duplicate of it
+    private String duplicateOf;
 }
@@ -0,0 +1,18 @@
+package com.tribytegenius.CareerCompass.JobService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobFacetsResponse {
+    private long total;
+    private Map<String, Long> websites;
+    private Map<String, Long> statuses;
+    // Jobs whose time falls within the last 7 calendar days, today included
+    private long newThisWeek;
+}
@@ -16,4 +16,8 @@ public class JobResponse {
     private Long totalElements;
     private Integer totalPages;
     private boolean lastPage;
+    // True when totalElements/totalPages come from planner statistics (totals=estimate)
+    private boolean approximate;
+    // Cursor mode only: pass back as ?cursor= to fetch the next slice, null on the last one
+    private String nextCursor;
 }
@@ -0,0 +1,16 @@
+package com.tribytegenius.CareerCompass.JobService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSuggestion {
+    private String text;
+    // "title" or "company"
+    private String type;
+    // Number of jobs with this title or company
+    private long count;
+}
@@ -0,0 +1,27 @@
+package com.tribytegenius.CareerCompass.JobService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchProgress {
+    private String id;
+    // QUEUED, RUNNING, INGESTING (crawl finished, its jobs still arriving), COMPLETED or FAILED
+    private String status;
+    private boolean done;
+    // Reported by the Python service when the crawl finishes
+    private Integer jobsFound;
+    private Integer jobsPublished;
+    // Jobs from this search stored as new, and all of its events handled so far
+    private long jobsIngested;
+    private long jobsProcessed;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
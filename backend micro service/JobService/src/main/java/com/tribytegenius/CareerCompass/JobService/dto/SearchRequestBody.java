@@ -1,5 +1,6 @@
 package com.tribytegenius.CareerCompass.JobService.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,4 +15,7 @@ public class SearchRequestBody {
     private List<String> type;
     private String location;
     private int time;
+    // Ticket id sent to the Python service so its events can be traced back; not read from requests
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String searchId;
 }
@@ -0,0 +1,14 @@
+package com.tribytegenius.CareerCompass.JobService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchTicket {
+    private String id;
+    // True when an identical search was already triggered and this request joined it
+    private boolean coalesced;
+}
@@ -1,6 +1,7 @@
 package com.tribytegenius.CareerCompass.JobService.exception;
 
 import com.tribytegenius.CareerCompass.JobService.dto.APIResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -39,4 +40,14 @@ public class GlobalExceptionHandler {
         APIResponse apiResponse = new APIResponse(message, false);
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(SearchRejectedException.class)
+    public ResponseEntity<APIResponse> mySearchRejectedException(SearchRejectedException e){
+        APIResponse apiResponse = new APIResponse(e.getMessage(), false);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return response.body(apiResponse);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tribytegenius.CareerCompass.JobService.exception;
+
+import org.springframework.http.HttpStatus;
+
+// A search trigger that was refused, with the status to answer and, when known, when to try again
+public class SearchRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public SearchRejectedException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
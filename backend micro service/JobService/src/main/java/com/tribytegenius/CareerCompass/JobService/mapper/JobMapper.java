@@ -0,0 +1,63 @@
+package com.tribytegenius.CareerCompass.JobService.mapper;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field Job/JobDTO conversion. Replaces ModelMapper on the listing
+ * hot path, which resolved mappings reflectively and allocated per call.
+ * Keep in sync with the fields of Job and JobDTO.
+ */
+@Component
+public class JobMapper {
+
+    public JobDTO toDTO(Job job) {
+        if (job == null) {
+            return null;
+        }
+        return new JobDTO(
+                job.getId() != null ? job.getId().toString() : null,
+                job.getName(),
+                job.getCompany(),
+                job.getType(),
+                job.getLocation(),
+                job.getTime(),
+                job.getStatus(),
+                job.getUrl(),
+                job.getWebsite(),
+                job.getDuplicateOf() != null ? job.getDuplicateOf().toString() : null
+        );
+    }
+
+    public Job toEntity(JobDTO jobDTO) {
+        if (jobDTO == null) {
+            return null;
+        }
+        return new Job(
+                parseId(jobDTO.getId()),
+                jobDTO.getName(),
+                jobDTO.getCompany(),
+                jobDTO.getType(),
+                jobDTO.getLocation(),
+                jobDTO.getTime(),
+                jobDTO.getStatus(),
+                jobDTO.getUrl(),
+                jobDTO.getWebsite(),
+                // Assigned by ingestion only, never taken from clients
+                null
+        );
+    }
+
+    // Same lenient behaviour as ModelMapper: a non-numeric id is ignored
+    private Long parseId(String id) {
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -12,8 +12,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Job {
+    // Pooled sequence (increment 50, see V4__pooled_job_id_sequence) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_id_seq")
+    @SequenceGenerator(name = "jobs_id_seq", sequenceName = "jobs_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,4 +41,8 @@ public class Job {
 
     @Column(nullable = false)
     private String website;
+
+    // Canonical job this one is a near-duplicate of (see JobDeduplicator), null for canonical jobs
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
 }
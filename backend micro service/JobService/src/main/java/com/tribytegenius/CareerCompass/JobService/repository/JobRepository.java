@@ -3,12 +3,23 @@ package com.tribytegenius.CareerCompass.JobService.repository;
 import com.tribytegenius.CareerCompass.JobService.model.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
     
     Optional<Job> findByUrl(String url);
+
+    @Query("SELECT j.url FROM Job j WHERE j.url IN :urls")
+    Set<String> findExistingUrls(@Param("urls") Collection<String> urls);
+
+    // Near-duplicates linked to any of the canonical jobs, oldest first
+    List<Job> findByDuplicateOfInOrderByTimeAscIdAsc(Collection<Long> duplicateOf);
 }
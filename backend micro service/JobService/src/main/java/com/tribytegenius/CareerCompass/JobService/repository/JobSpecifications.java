@@ -0,0 +1,90 @@
+package com.tribytegenius.CareerCompass.JobService.repository;
+
+import com.tribytegenius.CareerCompass.JobService.config.JobSearchFunctionContributor;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JobSpecifications {
+
+    private JobSpecifications() {
+    }
+
+    // Substring match over name, company, type and location. Cannot use an index,
+    // so it is only used when full-text search is unavailable (H2, tests)
+    public static Specification<Job> keywordLike(String keyword) {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.or(
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("company")), pattern),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("type")), pattern),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), pattern)
+                );
+    }
+
+    // Match against the GIN-indexed jobs.search_vector column (PostgreSQL only)
+    public static Specification<Job> keywordFullText(String tsQuery) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.isTrue(criteriaBuilder.function(
+                        JobSearchFunctionContributor.MATCH_FUNCTION,
+                        Boolean.class,
+                        root.get("id"),
+                        criteriaBuilder.literal(tsQuery)
+                ));
+    }
+
+    // Full-text match ordered by weighted relevance, newest first on ties.
+    // Pageable must be unsorted so this ordering is kept
+    public static Specification<Job> keywordFullTextByRelevance(String tsQuery) {
+        return (root, query, criteriaBuilder) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(
+                        criteriaBuilder.desc(criteriaBuilder.function(
+                                JobSearchFunctionContributor.RANK_FUNCTION,
+                                Double.class,
+                                root.get("id"),
+                                criteriaBuilder.literal(tsQuery)
+                        )),
+                        criteriaBuilder.desc(root.get("time")),
+                        criteriaBuilder.desc(root.get("id"))
+                );
+            }
+            return keywordFullText(tsQuery).toPredicate(root, query, criteriaBuilder);
+        };
+    }
+
+    public static Specification<Job> matchesNothing() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.disjunction();
+    }
+
+    public static Specification<Job> hasStatus(String status) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Job> hasWebsite(String website) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("website"), website);
+    }
+
+    public static Specification<Job> postedSince(LocalDateTime cutoffDate) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("time"), cutoffDate);
+    }
+
+    /**
+     * Turns free text into a prefix tsquery, e.g. "java dev" -> "java:* &amp; dev:*".
+     * Only letters and digits are kept so user input can never break the tsquery syntax.
+     * Returns null when nothing searchable is left.
+     */
+    public static String toPrefixTsQuery(String keyword) {
+        List<String> terms = new ArrayList<>();
+        for (String token : keyword.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token + ":*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+}
@@ -1,8 +1,17 @@
 package com.tribytegenius.CareerCompass.JobService.service;
 
 import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.JobService.dto.JobFacetsResponse;
 import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchProgress;
 import com.tribytegenius.CareerCompass.JobService.dto.SearchRequestBody;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchTicket;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 public interface JobService {
     JobResponse getAllJobs(
@@ -13,14 +22,61 @@ public interface JobService {
             String keyword,
             String status,
             String website,
+            Integer timeInDays,
+            String totals
+    );
+
+    String getJobsETag(
+            Integer pageNumber,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder,
+            String keyword,
+            String status,
+            String website,
+            Integer timeInDays,
+            String totals,
+            String cursor,
+            String mediaType
+    );
+
+    JobResponse getJobsByCursor(
+            String cursor,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder,
+            String keyword,
+            String status,
+            String website,
             Integer timeInDays
     );
 
+    void exportJobs(
+            String format,
+            String keyword,
+            String status,
+            String website,
+            Integer timeInDays,
+            OutputStream outputStream
+    ) throws IOException;
+
+    JobFacetsResponse getJobFacets();
+
+    List<JobSuggestion> suggestJobs(String prefix, Integer limit);
+
     JobDTO createJob(JobDTO jobDTO);
 
     JobDTO updateJob(Long id, JobDTO jobDTO);
 
+    List<JobDTO> createJobs(List<JobDTO> jobDTOs);
+
+    List<JobDTO> updateJobs(List<JobDTO> jobDTOs);
+
     String deleteJob(Long id);
 
-    void searchJob(SearchRequestBody searchRequestBody);
+    SearchTicket searchJob(SearchRequestBody searchRequestBody, String userEmail);
+
+    SearchProgress getSearchProgress(String id);
+
+    SseEmitter streamSearchProgress(String id);
 }
\ No newline at end of file
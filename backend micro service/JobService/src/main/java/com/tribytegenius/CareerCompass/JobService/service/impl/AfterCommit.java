@@ -0,0 +1,28 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers an update of derived state (catalog version, facet counts, suggestion and near-duplicate
+ * indexes) until the surrounding transaction commits, so a rollback leaves it untouched and readers
+ * never see it ahead of the rows. Outside a transaction the update runs right away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
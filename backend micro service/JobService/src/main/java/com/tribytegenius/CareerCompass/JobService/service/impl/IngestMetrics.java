@@ -0,0 +1,172 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of Python ingestion (PythonJobEventListener), scraped from /actuator/prometheus.
+ *
+ * jobs.ingest.messages{result} counts every consumed message by outcome (failed ones are retried
+ * or, after their last attempt, parked), jobs.ingest.lag is the time from the event's timestamp to
+ * its consumption, and jobs.ingest.processing, .db{operation} and .batch.size show where the time
+ * of a delivery goes. jobs.ingest.queue.depth{queue} and .queue.consumers{queue} are polled from
+ * the broker every jobs.ingest.metrics.queue-poll-interval-ms, for the ingestion queues and the
+ * dead-letter queue.
+ * Timers publish percentile histograms, so quantiles can be aggregated across replicas.
+ */
+@Component
+public class IngestMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestMetrics.class);
+
+    public enum Result {
+        ACCEPTED, DUPLICATE, NEAR_DUPLICATE, MALFORMED, FAILED
+    }
+
+    private final AmqpAdmin amqpAdmin;
+
+    private final Map<Result, Counter> messages = new LinkedHashMap<>();
+    private final Timer singleProcessing;
+    private final Timer batchProcessing;
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+    private final Timer lookup;
+    private final Timer insert;
+
+    private final Map<String, AtomicLong> queueDepths = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> queueConsumers = new LinkedHashMap<>();
+
+    public IngestMetrics(MeterRegistry meterRegistry,
+                         AmqpAdmin amqpAdmin,
+                         @Value("${rabbitmq.queues.job-created}") String jobCreatedQueue,
+                         @Value("${jobs.ingest.partitions.count:0}") int partitionCount,
+                         @Value("${jobs.ingest.partitions.queue-prefix:job.ingest.}") String partitionQueuePrefix,
+                         @Value("${rabbitmq.queues.dead-letter}") String deadLetterQueue) {
+        this.amqpAdmin = amqpAdmin;
+
+        for (Result result : Result.values()) {
+            messages.put(result, Counter.builder("jobs.ingest.messages")
+                    .description("Python job events consumed, by outcome")
+                    .tag("result", result.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        singleProcessing = processingTimer(meterRegistry, "single");
+        batchProcessing = processingTimer(meterRegistry, "batch");
+        batchSize = DistributionSummary.builder("jobs.ingest.batch.size")
+                .description("Messages per ingestion batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        lag = Timer.builder("jobs.ingest.lag")
+                .description("Time from an event's timestamp to its consumption")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofHours(6))
+                .register(meterRegistry);
+        lookup = dbTimer(meterRegistry, "lookup");
+        insert = dbTimer(meterRegistry, "insert");
+
+        List<String> queues = new ArrayList<>();
+        queues.add(jobCreatedQueue);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            queues.add(partitionQueuePrefix + partition);
+        }
+        queues.add(deadLetterQueue);
+        for (String queue : queues) {
+            AtomicLong depth = new AtomicLong();
+            AtomicLong consumers = new AtomicLong();
+            queueDepths.put(queue, depth);
+            queueConsumers.put(queue, consumers);
+            Gauge.builder("jobs.ingest.queue.depth", depth, AtomicLong::get)
+                    .description("Messages ready in an ingestion queue")
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+            Gauge.builder("jobs.ingest.queue.consumers", consumers, AtomicLong::get)
+                    .description("Consumers attached to an ingestion queue")
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordMessages(Result result, int count) {
+        if (count > 0) {
+            messages.get(result).increment(count);
+        }
+    }
+
+    public void recordSingle(long startNanos) {
+        singleProcessing.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBatch(long startNanos, int size) {
+        batchProcessing.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batchSize.record(size);
+    }
+
+    // Publishers stamp timestamp with their local clock; skewed or missing ones are not recorded
+    public void recordLag(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        Duration behind = Duration.between(timestamp, LocalDateTime.now());
+        if (!behind.isNegative()) {
+            lag.record(behind);
+        }
+    }
+
+    public Timer lookupTimer() {
+        return lookup;
+    }
+
+    public Timer insertTimer() {
+        return insert;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.ingest.metrics.queue-poll-interval-ms:15000}")
+    public void pollQueues() {
+        queueDepths.forEach((queue, depth) -> {
+            try {
+                QueueInformation information = amqpAdmin.getQueueInfo(queue);
+                if (information != null) {
+                    depth.set(information.getMessageCount());
+                    queueConsumers.get(queue).set(information.getConsumerCount());
+                }
+            } catch (Exception e) {
+                logger.debug("Failed to read depth of queue {}: {}", queue, e.getMessage());
+            }
+        });
+    }
+
+    private static Timer processingTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("jobs.ingest.processing")
+                .description("Time to process one delivery: a message, or a whole batch in batch mode")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer dbTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("jobs.ingest.db")
+                .description("Database time of ingestion: url lookups and inserts")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
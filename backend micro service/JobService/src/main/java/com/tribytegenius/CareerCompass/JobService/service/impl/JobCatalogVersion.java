@@ -0,0 +1,133 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the job catalog, bumped on every write to the jobs
+ * table (REST create/update/delete, bulk writes and Python ingestion). Listing cache keys
+ * and listing ETags are derived from it, so a bump invalidates both at once.
+ *
+ * The version lives in Redis (jobs:catalog:version) so all replicas agree; each node re-reads
+ * it at most every jobs.catalog.version-refresh-millis. Without Redis it is per node.
+ *
+ * A node starts from its start time in microseconds rather than 0, so versions keep growing
+ * across restarts even without Redis, and ETags clients hold from an earlier process cannot
+ * match. The first read from Redis adopts the shared version; a shared version below the
+ * node's, as after Redis lost the key, is raised to it.
+ *
+ * Each node also records when it saw the version change, so reads labelled with a new version
+ * can avoid read replicas that may not have replayed the write behind it yet (changedWithin).
+ */
+@Service
+public class JobCatalogVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCatalogVersion.class);
+
+    private static final String VERSION_KEY = "jobs:catalog:version";
+
+    // ARGV[1] is the node's version, ARGV[2] = 1 adopts any existing shared version. Strings throughout,
+    // since Lua turns numbers this large into floats
+    private static final RedisScript<String> SYNC_SCRIPT = new DefaultRedisScript<>(
+            "local shared = redis.call('get', KEYS[1]) "
+                    + "if shared and (ARGV[2] == '1' or tonumber(shared) >= tonumber(ARGV[1])) then return shared end "
+                    + "redis.call('set', KEYS[1], ARGV[1]) "
+                    + "return ARGV[1]",
+            String.class);
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local shared = redis.call('get', KEYS[1]) "
+                    + "if not shared or tonumber(shared) < tonumber(ARGV[1]) then redis.call('set', KEYS[1], ARGV[1]) end "
+                    + "return redis.call('incr', KEYS[1])",
+            Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${jobs.catalog.redis-enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${jobs.catalog.version-refresh-millis:1000}")
+    private long versionRefreshMillis;
+
+    // Stays below 2^53 for centuries, so Lua compares it exactly
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis() * 1000);
+    // Until the first successful Redis call the shared version is adopted even when lower
+    private volatile boolean synced = false;
+    private volatile long versionCheckedAt = 0;
+    // When this node last saw the version increase, by its own bump or another node's
+    private volatile long changedAt = 0;
+
+    public long current() {
+        long now = System.currentTimeMillis();
+        if (redisEnabled && now - versionCheckedAt >= versionRefreshMillis) {
+            versionCheckedAt = now;
+            try {
+                String shared = redisTemplate.execute(SYNC_SCRIPT, List.of(VERSION_KEY),
+                        String.valueOf(version.get()), synced ? "0" : "1");
+                if (shared != null) {
+                    if (synced) {
+                        advanceTo(Long.parseLong(shared));
+                    } else {
+                        version.set(Long.parseLong(shared));
+                        synced = true;
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Failed to read job catalog version from Redis: {}", e.getMessage());
+            }
+        }
+        return version.get();
+    }
+
+    /**
+     * Whether the version changed within the last millis, as far as this node has seen. Another
+     * node's bump is seen up to version-refresh-millis late, so the window only errs long.
+     */
+    public boolean changedWithin(long millis) {
+        current();
+        return System.currentTimeMillis() - changedAt < millis;
+    }
+
+    /**
+     * Called after every write to the jobs table. Inside a transaction the version is
+     * bumped after commit, so readers cannot cache pre-commit data under the new version.
+     */
+    public void bump() {
+        AfterCommit.run(this::increment);
+    }
+
+    private void increment() {
+        long next = version.incrementAndGet();
+        changedAt = System.currentTimeMillis();
+        if (redisEnabled) {
+            try {
+                Long shared = redisTemplate.execute(INCREMENT_SCRIPT, List.of(VERSION_KEY), String.valueOf(next - 1));
+                if (shared != null) {
+                    next = shared;
+                    synced = true;
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to bump job catalog version in Redis: {}", e.getMessage());
+            }
+        }
+        advanceTo(next);
+        versionCheckedAt = System.currentTimeMillis();
+    }
+
+    private void advanceTo(long next) {
+        long previous = version.getAndAccumulate(next, Math::max);
+        if (next > previous) {
+            changedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of filtered job counts for totals=cached listings.
+ * Entries expire after jobs.listing.count-cache.ttl-seconds, so totals can lag
+ * inserts and deletes by at most that long.
+ */
+@Service
+public class JobCountCache {
+
+    @Value("${jobs.listing.count-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${jobs.listing.count-cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public long get(String keyword, String status, String website, Integer timeInDays, Supplier<Long> counter) {
+        String key = key(keyword, status, website, timeInDays);
+        long now = System.currentTimeMillis();
+
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+
+        long count = counter.get();
+        if (counts.size() >= maxEntries) {
+            // Filter combinations are few in practice; dropping everything keeps this bounded
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(count, now + ttlSeconds * 1000));
+        return count;
+    }
+
+    private String key(String keyword, String status, String website, Integer timeInDays) {
+        // Keyword matching is case-insensitive, status and website are exact matches
+        return (keyword == null ? "" : keyword.toLowerCase()) + "|"
+                + (status == null ? "" : status) + "|"
+                + (website == null ? "" : website) + "|"
+                + (timeInDays != null && timeInDays > 0 ? timeInDays : "");
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estimates filtered job counts from PostgreSQL planner statistics (EXPLAIN row estimate)
+ * instead of running count(*). Accuracy depends on how recently jobs was analyzed.
+ * Returns null when no estimate is available (non-PostgreSQL database or EXPLAIN failure).
+ */
+@Service
+public class JobCountEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCountEstimator.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobFullTextSearch fullTextSearch;
+
+    private volatile Boolean postgreSql;
+
+    public Long estimate(String keyword, String tsQuery, String status, String website, LocalDateTime cutoffDate) {
+        if (!isPostgreSql()) {
+            return null;
+        }
+
+        JobSqlFilter filter = JobSqlFilter.of(keyword, tsQuery, fullTextSearch.isEnabled(), status, website, cutoffDate);
+        if (filter.matchesNothing()) {
+            return 0L;
+        }
+
+        try {
+            String plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN (FORMAT JSON) SELECT 1 FROM jobs" + filter.where(), String.class, filter.args());
+            JsonNode planRows = MAPPER.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return planRows.isMissingNode() ? null : planRows.asLong();
+        } catch (Exception e) {
+            logger.warn("Failed to estimate job count from planner statistics: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isPostgreSql() {
+        if (postgreSql == null) {
+            String databaseProduct = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgreSql = "PostgreSQL".equalsIgnoreCase(databaseProduct);
+        }
+        return postgreSql;
+    }
+}
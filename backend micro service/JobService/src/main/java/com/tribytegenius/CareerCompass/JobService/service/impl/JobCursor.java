@@ -0,0 +1,84 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribytegenius.CareerCompass.JobService.exception.APIException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor for GET /api/jobs?cursor=...
+ * Holds the sort it was issued for and the (sortBy, id) values of the last row returned,
+ * encoded as URL-safe Base64 JSON. Clients must treat it as an opaque string.
+ */
+record JobCursor(String sortBy, String sortOrder, Map<String, Object> keys) {
+
+    // Sortable columns for cursor mode. All are NOT NULL, which keyset seeking relies on
+    static final Set<String> SORTABLE_FIELDS = Set.of("time", "name", "company", "type", "location", "website", "status");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static JobCursor of(String sortBy, String sortOrder, KeysetScrollPosition position) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        position.getKeys().forEach((key, value) ->
+                keys.put(key, value instanceof LocalDateTime time ? time.toString() : value));
+        return new JobCursor(sortBy, sortOrder, keys);
+    }
+
+    static JobCursor decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            JobCursor decoded = MAPPER.readValue(json, JobCursor.class);
+            if (decoded.sortBy() == null || decoded.sortOrder() == null || decoded.keys() == null
+                    || !decoded.keys().keySet().equals(Set.of(decoded.sortBy(), "id"))) {
+                throw new APIException("Invalid cursor");
+            }
+            return decoded;
+        } catch (APIException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new APIException("Invalid cursor");
+        }
+    }
+
+    // A cursor is only valid for the sort it was issued with
+    void requireSort(String sortBy, String sortOrder) {
+        if (!this.sortBy.equals(sortBy) || !this.sortOrder.equalsIgnoreCase(sortOrder)) {
+            throw new APIException("Cursor was issued for sortBy=" + this.sortBy + "&sortOrder=" + this.sortOrder);
+        }
+    }
+
+    String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsString(this).getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    // Restores typed key values (JSON round-trips time as a string and id as Integer)
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> typedKeys = new LinkedHashMap<>();
+        try {
+            keys.forEach((key, value) -> {
+                if ("id".equals(key)) {
+                    typedKeys.put(key, Long.valueOf(value.toString()));
+                } else if ("time".equals(key)) {
+                    typedKeys.put(key, LocalDateTime.parse(value.toString()));
+                } else {
+                    typedKeys.put(key, value.toString());
+                }
+            });
+        } catch (Exception e) {
+            throw new APIException("Invalid cursor");
+        }
+        return ScrollPosition.forward(typedKeys);
+    }
+}
@@ -0,0 +1,397 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Detects near-duplicate postings: the same job arriving from LinkedIn, Indeed and the
+ * company site under different urls.
+ *
+ * Each job gets a MinHash signature over character trigrams of its normalized name, company
+ * and location. Canonical jobs posted within jobs.dedupe.window-days are kept in an in-memory
+ * LSH index (BANDS bands of ROWS signature rows), so a check hashes the new job, probes BANDS
+ * buckets and compares signatures only with the few jobs sharing a band. A job whose estimated
+ * Jaccard similarity reaches jobs.dedupe.similarity-threshold is a near-duplicate.
+ *
+ * The index is per node: it is loaded from the table at startup, follows this node's writes
+ * right after they commit and picks up jobs stored by other nodes every
+ * jobs.dedupe.catch-up-interval-ms by reading the canonical rows with a newer id. Two nodes
+ * storing the same posting within one catch-up interval can therefore both keep it as
+ * canonical. Jobs deleted or relinked on another node stay indexed here until they leave the
+ * window, so a new posting may be linked to them.
+ */
+@Service
+public class JobDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDeduplicator.class);
+
+    public static final String MODE_OFF = "off";
+    public static final String MODE_LINK = "link";
+    public static final String MODE_DROP = "drop";
+
+    static final int HASHES = 128;
+    static final int BANDS = 16;
+    static final int ROWS = HASHES / BANDS;
+
+    private static final long[] SEEDS = new SplittableRandom(0x6a6f6273L).longs(HASHES).toArray();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    // off: no detection, link: store with duplicateOf set, drop: do not store near-duplicates
+    @Value("${jobs.dedupe.mode:link}")
+    private String mode;
+
+    @Value("${jobs.dedupe.similarity-threshold:0.85}")
+    private double similarityThreshold;
+
+    @Value("${jobs.dedupe.window-days:30}")
+    private int windowDays;
+
+    // Guarded by this
+    private final Map<Long, Fingerprint> fingerprints = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    // Ids are taken before commit, so each catch-up reads again from where the previous one started
+    private volatile long catchUpFrom = 0;
+    private volatile long newestLoadedId = 0;
+
+    public boolean isEnabled() {
+        return !MODE_OFF.equalsIgnoreCase(mode);
+    }
+
+    public boolean dropsDuplicates() {
+        return MODE_DROP.equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Returns the id of the canonical job the given (not yet stored) job duplicates,
+     * or null when it has no near-duplicate in the index.
+     */
+    public Long findDuplicateOf(Job job) {
+        if (!isEnabled()) {
+            return null;
+        }
+        int[] signature = signature(job.getName(), job.getCompany(), job.getLocation());
+        if (signature == null) {
+            return null;
+        }
+        long[] bandKeys = bandKeys(signature);
+
+        Long best = null;
+        double bestSimilarity = similarityThreshold;
+        synchronized (this) {
+            Set<Long> compared = new HashSet<>();
+            for (long bandKey : bandKeys) {
+                List<Long> candidates = buckets.get(bandKey);
+                if (candidates == null) {
+                    continue;
+                }
+                for (Long candidate : candidates) {
+                    if (!compared.add(candidate)) {
+                        continue;
+                    }
+                    double similarity = similarityAtLeast(signature, fingerprints.get(candidate).signature(), bestSimilarity);
+                    if (similarity >= bestSimilarity && (best == null || similarity > bestSimilarity)) {
+                        best = candidate;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public void jobAdded(Job job) {
+        jobsAdded(List.of(job));
+    }
+
+    public void jobsAdded(List<Job> jobs) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Job> added = List.copyOf(jobs);
+        AfterCommit.run(() -> {
+            for (Job job : added) {
+                index(job.getId(), job.getName(), job.getCompany(), job.getLocation(), job.getTime(), job.getDuplicateOf());
+            }
+        });
+    }
+
+    public void jobRemoved(Job job) {
+        if (!isEnabled()) {
+            return;
+        }
+        Long id = job.getId();
+        AfterCommit.run(() -> remove(id));
+    }
+
+    // Name, company or location may have changed, so the job is fingerprinted again
+    public void jobsUpdated(List<Job> jobs) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Job> updated = List.copyOf(jobs);
+        AfterCommit.run(() -> {
+            for (Job job : updated) {
+                remove(job.getId());
+                index(job.getId(), job.getName(), job.getCompany(), job.getLocation(), job.getTime(), job.getDuplicateOf());
+            }
+        });
+    }
+
+    /**
+     * Called in the transaction deleting canonical jobs, before the delete: the oldest near-duplicate
+     * of each becomes canonical in its place and the others are linked to it. Duplicates deleted along
+     * with them are left alone. The promoted jobs are indexed once the transaction commits.
+     */
+    public List<Job> promoteDuplicates(Collection<Long> deletedIds) {
+        if (deletedIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> deleted = new HashSet<>(deletedIds);
+        Map<Long, Job> promoted = new HashMap<>();
+        List<Job> linked = jobRepository.findByDuplicateOfInOrderByTimeAscIdAsc(deleted);
+        for (Job job : linked) {
+            if (deleted.contains(job.getId())) {
+                continue;
+            }
+            Job canonical = promoted.putIfAbsent(job.getDuplicateOf(), job);
+            job.setDuplicateOf(canonical == null ? null : canonical.getId());
+        }
+        if (promoted.isEmpty()) {
+            return List.of();
+        }
+        // Written before the caller deletes, also when it deletes through JdbcTemplate
+        jobRepository.flush();
+        List<Job> canonicalJobs = List.copyOf(promoted.values());
+        jobsAdded(canonicalJobs);
+        return canonicalJobs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            long newest = load("SELECT id, name, company, location, time FROM jobs WHERE time >= ? AND duplicate_of IS NULL",
+                    Timestamp.valueOf(windowStart()));
+            catchUpFrom = newest;
+            newestLoadedId = newest;
+            logger.info("Loaded {} job fingerprints for near-duplicate detection", size());
+        } catch (Exception e) {
+            logger.warn("Failed to load job fingerprints, near-duplicates of older jobs will not be detected: {}",
+                    e.getMessage());
+        }
+    }
+
+    // Jobs stored by other nodes since the last catch-up; rows already indexed are skipped by index()
+    @Scheduled(fixedDelayString = "${jobs.dedupe.catch-up-interval-ms:30000}",
+            initialDelayString = "${jobs.dedupe.catch-up-interval-ms:30000}")
+    public void catchUp() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            long newest = load("SELECT id, name, company, location, time FROM jobs"
+                            + " WHERE id > ? AND duplicate_of IS NULL AND time >= ? ORDER BY id",
+                    catchUpFrom, Timestamp.valueOf(windowStart()));
+            catchUpFrom = newestLoadedId;
+            newestLoadedId = Math.max(newestLoadedId, newest);
+        } catch (Exception e) {
+            logger.warn("Failed to load job fingerprints stored by other nodes: {}", e.getMessage());
+        }
+    }
+
+    // Indexes the canonical jobs the query returns and gives the highest id among them, or 0
+    private long load(String sql, Object... args) {
+        long[] newest = {0};
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql,
+                resultSet -> {
+                    long id = resultSet.getLong("id");
+                    index(id, resultSet.getString("name"), resultSet.getString("company"),
+                            resultSet.getString("location"), resultSet.getTimestamp("time").toLocalDateTime(), null);
+                    newest[0] = Math.max(newest[0], id);
+                },
+                args));
+        return newest[0];
+    }
+
+    // Postings older than the window are no longer re-posted elsewhere, so they leave the index
+    @Scheduled(fixedDelayString = "${jobs.dedupe.prune-interval-ms:3600000}",
+            initialDelayString = "${jobs.dedupe.prune-interval-ms:3600000}")
+    public void prune() {
+        LocalDateTime windowStart = windowStart();
+        List<Long> expired = new ArrayList<>();
+        synchronized (this) {
+            fingerprints.forEach((id, fingerprint) -> {
+                if (fingerprint.time().isBefore(windowStart)) {
+                    expired.add(id);
+                }
+            });
+            expired.forEach(this::remove);
+        }
+        if (!expired.isEmpty()) {
+            logger.debug("Pruned {} job fingerprints older than {} days", expired.size(), windowDays);
+        }
+    }
+
+    synchronized int size() {
+        return fingerprints.size();
+    }
+
+    // Only canonical jobs within the window are indexed; duplicates always link to a canonical job
+    private void index(Long id, String name, String company, String location, LocalDateTime time, Long duplicateOf) {
+        if (id == null || duplicateOf != null || time == null || time.isBefore(windowStart())) {
+            return;
+        }
+        int[] signature = signature(name, company, location);
+        if (signature == null) {
+            return;
+        }
+        long[] bandKeys = bandKeys(signature);
+        synchronized (this) {
+            if (fingerprints.putIfAbsent(id, new Fingerprint(signature, bandKeys, time)) != null) {
+                return;
+            }
+            for (long bandKey : bandKeys) {
+                buckets.computeIfAbsent(bandKey, key -> new ArrayList<>(1)).add(id);
+            }
+        }
+    }
+
+    private synchronized void remove(Long id) {
+        Fingerprint fingerprint = fingerprints.remove(id);
+        if (fingerprint == null) {
+            return;
+        }
+        for (long bandKey : fingerprint.bandKeys()) {
+            List<Long> bucket = buckets.get(bandKey);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(bandKey);
+                }
+            }
+        }
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(windowDays);
+    }
+
+    /**
+     * MinHash signature over the character trigrams of each field, with the field mixed into the
+     * shingle hash so "sydney" in a title and in a location differ. Null when there is no text.
+     */
+    static int[] signature(String name, String company, String location) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        boolean empty = true;
+        String[] fields = {name, company, location};
+        for (int field = 0; field < fields.length; field++) {
+            String text = normalize(fields[field]);
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                long shingle = mix(field * 0x9E3779B97F4A7C15L
+                        + ((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2)));
+                for (int h = 0; h < HASHES; h++) {
+                    int value = (int) mix(shingle ^ SEEDS[h]);
+                    if (value < signature[h]) {
+                        signature[h] = value;
+                    }
+                }
+                empty = false;
+            }
+        }
+        return empty ? null : signature;
+    }
+
+    // Estimated Jaccard similarity, or 0 as soon as the remaining rows can no longer reach minimum
+    static double similarityAtLeast(int[] first, int[] second, double minimum) {
+        int allowedMismatches = HASHES - (int) Math.ceil(minimum * HASHES);
+        int mismatches = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (first[i] != second[i] && ++mismatches > allowedMismatches) {
+                return 0;
+            }
+        }
+        return (double) (HASHES - mismatches) / HASHES;
+    }
+
+    static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = key * 0x100000001B3L ^ signature[band * ROWS + row];
+            }
+            keys[band] = mix(key);
+        }
+        return keys;
+    }
+
+    // Lowercase letters and digits separated by single spaces, padded so word edges form trigrams
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return normalized.isEmpty() ? "" : " " + normalized + " ";
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private record Fingerprint(int[] signature, long[] bandKeys, LocalDateTime time) {
+    }
+}
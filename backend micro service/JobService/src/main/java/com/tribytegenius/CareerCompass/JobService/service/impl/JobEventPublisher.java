@@ -1,6 +1,10 @@
 package com.tribytegenius.CareerCompass.JobService.service.impl;
 
+import com.tribytegenius.CareerCompass.Events.service.EventOutbox;
+import com.tribytegenius.CareerCompass.Events.service.EventPublishBuffer;
 import com.tribytegenius.CareerCompass.JobService.dto.JobEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,6 +12,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes job events. Inside a read-write transaction they are written to EventOutbox and
+ * OutboxRelay publishes them once it commits. Otherwise, with events.publish.mode=async (default)
+ * they are handed to EventPublishBuffer and published off the caller's thread with confirms, and
+ * only events.publish.messages{event,result} is recorded, once each event is confirmed or given up.
+ * Synchronously, every publish is timed as events.publish{event,result} and the messages it
+ * carried are counted in events.publish.messages{event,result}, result being success or failure.
+ */
 @Service
 public class JobEventPublisher {
 
@@ -16,6 +31,15 @@ public class JobEventPublisher {
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventPublishBuffer eventPublishBuffer;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
     @Value("${rabbitmq.exchanges.job-events}")
     private String jobEventsExchange;
 
@@ -29,32 +53,132 @@ public class JobEventPublisher {
     private String jobDeletedRoutingKey;
 
     public void publishJobCreated(JobEventDTO jobEvent) {
+        if (eventOutbox.add(jobEventsExchange, jobCreatedRoutingKey, List.of(jobEvent))) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(jobEventsExchange, jobCreatedRoutingKey, jobEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing job created event for job ID: {}", jobEvent.getJobId());
             rabbitTemplate.convertAndSend(jobEventsExchange, jobCreatedRoutingKey, jobEvent);
+            recordPublish(jobCreatedRoutingKey, started, 1, true);
             logger.info("Successfully published job created event");
         } catch (Exception e) {
+            recordPublish(jobCreatedRoutingKey, started, 1, false);
             logger.error("Failed to publish job created event: {}", e.getMessage(), e);
         }
     }
 
     public void publishJobUpdated(JobEventDTO jobEvent) {
+        if (eventOutbox.add(jobEventsExchange, jobUpdatedRoutingKey, List.of(jobEvent))) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(jobEventsExchange, jobUpdatedRoutingKey, jobEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing job updated event for job ID: {}", jobEvent.getJobId());
             rabbitTemplate.convertAndSend(jobEventsExchange, jobUpdatedRoutingKey, jobEvent);
+            recordPublish(jobUpdatedRoutingKey, started, 1, true);
             logger.info("Successfully published job updated event");
         } catch (Exception e) {
+            recordPublish(jobUpdatedRoutingKey, started, 1, false);
             logger.error("Failed to publish job updated event: {}", e.getMessage(), e);
         }
     }
 
     public void publishJobDeleted(JobEventDTO jobEvent) {
+        if (eventOutbox.add(jobEventsExchange, jobDeletedRoutingKey, List.of(jobEvent))) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(jobEventsExchange, jobDeletedRoutingKey, jobEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing job deleted event for job ID: {}", jobEvent.getJobId());
             rabbitTemplate.convertAndSend(jobEventsExchange, jobDeletedRoutingKey, jobEvent);
+            recordPublish(jobDeletedRoutingKey, started, 1, true);
             logger.info("Successfully published job deleted event");
         } catch (Exception e) {
+            recordPublish(jobDeletedRoutingKey, started, 1, false);
             logger.error("Failed to publish job deleted event: {}", e.getMessage(), e);
         }
     }
+
+    public void publishJobsCreated(List<JobEventDTO> jobEvents) {
+        if (eventOutbox.add(jobEventsExchange, jobCreatedRoutingKey, jobEvents)) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            jobEvents.forEach(jobEvent -> eventPublishBuffer.send(jobEventsExchange, jobCreatedRoutingKey, jobEvent));
+            return;
+        }
+        publishBatch(jobCreatedRoutingKey, jobEvents, "created");
+    }
+
+    public void publishJobsUpdated(List<JobEventDTO> jobEvents) {
+        if (eventOutbox.add(jobEventsExchange, jobUpdatedRoutingKey, jobEvents)) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            jobEvents.forEach(jobEvent -> eventPublishBuffer.send(jobEventsExchange, jobUpdatedRoutingKey, jobEvent));
+            return;
+        }
+        publishBatch(jobUpdatedRoutingKey, jobEvents, "updated");
+    }
+
+    // Returns false when the batch could not be recorded or sent, so callers can hold back the delete.
+    // Without the outbox, async mode waits for the broker to confirm every event
+    public boolean publishJobsDeleted(List<JobEventDTO> jobEvents) {
+        if (eventOutbox.add(jobEventsExchange, jobDeletedRoutingKey, jobEvents)) {
+            return true;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            return eventPublishBuffer.sendAndAwait(jobEventsExchange, jobDeletedRoutingKey, jobEvents);
+        }
+        return publishBatch(jobDeletedRoutingKey, jobEvents, "deleted");
+    }
+
+    // One message per job as consumers expect, but all sent on a single channel
+    // instead of checking a channel out of the cache for every event
+    private boolean publishBatch(String routingKey, List<JobEventDTO> jobEvents, String eventName) {
+        if (jobEvents.isEmpty()) {
+            return true;
+        }
+        long started = System.nanoTime();
+        try {
+            logger.info("Publishing {} job {} events", jobEvents.size(), eventName);
+            rabbitTemplate.invoke(operations -> {
+                for (JobEventDTO jobEvent : jobEvents) {
+                    operations.convertAndSend(jobEventsExchange, routingKey, jobEvent);
+                }
+                return null;
+            });
+            recordPublish(routingKey, started, jobEvents.size(), true);
+            logger.info("Successfully published {} job {} events", jobEvents.size(), eventName);
+            return true;
+        } catch (Exception e) {
+            recordPublish(routingKey, started, jobEvents.size(), false);
+            logger.error("Failed to publish job {} events: {}", eventName, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void recordPublish(String routingKey, long startNanos, int messages, boolean success) {
+        String result = success ? "success" : "failure";
+        Timer.builder("events.publish")
+                .description("Time to hand events to the broker, per single or batch publish")
+                .tags("event", routingKey, "result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("events.publish.messages", "event", routingKey, "result", result).increment(messages);
+    }
 }
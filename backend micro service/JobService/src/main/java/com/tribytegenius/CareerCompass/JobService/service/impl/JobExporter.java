@@ -0,0 +1,151 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Streams jobs for GET /api/jobs/export straight from a JDBC cursor to the response.
+ *
+ * Rows are read jobs.export.fetch-size at a time inside a read-only transaction (PostgreSQL
+ * only uses a server-side cursor when autocommit is off) and written one by one without
+ * going through JPA, so nothing accumulates in a persistence context or a result list.
+ */
+@Service
+public class JobExporter {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+    public static final List<String> FORMATS = List.of(FORMAT_NDJSON, FORMAT_CSV);
+
+    // Same order as JobDTO
+    private static final List<String> COLUMNS =
+            List.of("id", "name", "company", "type", "location", "time", "status", "url", "website", "duplicateOf");
+    private static final int TIME_COLUMN = COLUMNS.indexOf("time") + 1;
+    private static final String SELECT_JOBS =
+            "SELECT id, name, company, type, location, time, status, url, website, duplicate_of FROM jobs";
+
+    private final JdbcTemplate exportJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public JobExporter(DataSource dataSource,
+                       PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper,
+                       @Value("${jobs.export.fetch-size:1000}") int fetchSize) {
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    void export(String format, JobSqlFilter filter, OutputStream outputStream) throws IOException {
+        if (FORMAT_CSV.equals(format)) {
+            exportCsv(filter, outputStream);
+        } else {
+            exportNdjson(filter, outputStream);
+        }
+    }
+
+    private void exportNdjson(JobSqlFilter filter, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        // Lines are ended explicitly; the default " " root separator would start every later line with a space
+        generator.setRootValueSeparator(null);
+        streamRows(filter, rs -> {
+            try {
+                generator.writeObject(toDTO(rs));
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void exportCsv(JobSqlFilter filter, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        streamRows(filter, rs -> {
+            try {
+                for (int column = 1; column <= COLUMNS.size(); column++) {
+                    if (column > 1) {
+                        writer.write(',');
+                    }
+                    if (column == TIME_COLUMN) {
+                        writer.write(rs.getTimestamp(column).toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    } else {
+                        writeCsvValue(writer, rs.getString(column));
+                    }
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    // Client disconnects surface as UncheckedIOException and abort the query
+    private void streamRows(JobSqlFilter filter, RowCallbackHandler handler) throws IOException {
+        if (filter.matchesNothing()) {
+            return;
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    exportJdbcTemplate.query(SELECT_JOBS + filter.where() + " ORDER BY id", handler, filter.args()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JobDTO toDTO(ResultSet rs) throws SQLException {
+        return new JobDTO(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getTimestamp(6).toLocalDateTime(),
+                rs.getString(7),
+                rs.getString(8),
+                rs.getString(9),
+                rs.getString(10)
+        );
+    }
+
+    // RFC 4180: quote values containing separators, quotes or line breaks
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,270 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobFacetsResponse;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Facet counts for GET /api/jobs/facets, kept in the Redis hash jobs:facets.
+ *
+ * Every job insert, update and delete applies +1/-1 deltas to the affected fields
+ * (total, website:*, status:*, day:yyyy-MM-dd) after commit, so reads never touch the jobs
+ * table. Deltas lost to a crash or a Redis outage are corrected by a periodic reconciliation
+ * that recounts from the table and atomically replaces the hash.
+ */
+@Service
+public class JobFacetCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobFacetCounter.class);
+
+    private static final String FACETS_KEY = "jobs:facets";
+    private static final String RECONCILE_LOCK_KEY = "jobs:facets:reconcile-lock";
+
+    private static final String TOTAL_FIELD = "total";
+    private static final String WEBSITE_PREFIX = "website:";
+    private static final String STATUS_PREFIX = "status:";
+    private static final String DAY_PREFIX = "day:";
+
+    // Daily buckets summed for newThisWeek, today included
+    private static final int WEEK_DAYS = 7;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jobs.facets.refresh-millis:1000}")
+    private long refreshMillis;
+
+    @Value("${jobs.facets.reconcile-interval-ms:600000}")
+    private long reconcileIntervalMillis;
+
+    private volatile JobFacetsResponse snapshot = new JobFacetsResponse(0, Map.of(), Map.of(), 0);
+    private volatile long snapshotAt = 0;
+
+    public void jobAdded(Job job) {
+        jobsAdded(List.of(job));
+    }
+
+    // One pipelined round trip for the whole batch
+    public void jobsAdded(List<Job> jobs) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Job job : jobs) {
+            addJobFields(deltas, job.getWebsite(), job.getStatus(), job.getTime(), 1);
+        }
+        if (!deltas.isEmpty()) {
+            applyAfterCommit(deltas);
+        }
+    }
+
+    public void jobRemoved(Job job) {
+        Map<String, Long> deltas = new HashMap<>();
+        addJobFields(deltas, job.getWebsite(), job.getStatus(), job.getTime(), -1);
+        applyAfterCommit(deltas);
+    }
+
+    public void jobUpdated(String previousWebsite, String previousStatus, Job job) {
+        jobsUpdated(List.of(new JobChange(previousWebsite, previousStatus, job)));
+    }
+
+    // Updates keep the job's time, so only website and status buckets can move
+    public void jobsUpdated(List<JobChange> changes) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (JobChange change : changes) {
+            Job job = change.job();
+            if (!Objects.equals(change.previousWebsite(), job.getWebsite())) {
+                deltas.merge(WEBSITE_PREFIX + change.previousWebsite(), -1L, Long::sum);
+                deltas.merge(WEBSITE_PREFIX + job.getWebsite(), 1L, Long::sum);
+            }
+            if (!Objects.equals(change.previousStatus(), job.getStatus())) {
+                deltas.merge(STATUS_PREFIX + change.previousStatus(), -1L, Long::sum);
+                deltas.merge(STATUS_PREFIX + job.getStatus(), 1L, Long::sum);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            applyAfterCommit(deltas);
+        }
+    }
+
+    // One HGETALL over a hash bounded by the number of websites, statuses and recent days
+    public JobFacetsResponse read() {
+        long now = System.currentTimeMillis();
+        if (now - snapshotAt < refreshMillis) {
+            return snapshot;
+        }
+        try {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(FACETS_KEY);
+            snapshot = toResponse(fields, LocalDate.now());
+            snapshotAt = now;
+        } catch (Exception e) {
+            logger.warn("Failed to read job facets from Redis, serving last snapshot: {}", e.getMessage());
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(FACETS_KEY))) {
+                reconcile();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to initialize job facets: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recounts facets from the jobs table and swaps them in with RENAME. A Redis lock keeps
+     * replicas from reconciling the same interval twice. Deltas committed while the recount
+     * runs can be lost, which the next reconciliation corrects.
+     */
+    @Scheduled(fixedDelayString = "${jobs.facets.reconcile-interval-ms:600000}",
+            initialDelayString = "${jobs.facets.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(
+                    RECONCILE_LOCK_KEY, "1", Duration.ofMillis(Math.max(1000, reconcileIntervalMillis / 2)));
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+
+            Map<String, String> fields = countFromTable();
+            String stagingKey = FACETS_KEY + ":staging";
+            redisTemplate.delete(stagingKey);
+            redisTemplate.opsForHash().putAll(stagingKey, fields);
+            redisTemplate.rename(stagingKey, FACETS_KEY);
+            snapshotAt = 0;
+            logger.info("Reconciled job facets: {} jobs", fields.get(TOTAL_FIELD));
+        } catch (Exception e) {
+            logger.warn("Failed to reconcile job facets: {}", e.getMessage());
+        }
+    }
+
+    // One read-only transaction: a consistent snapshot, served by a read replica when configured
+    private Map<String, String> countFromTable() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> countFacets());
+    }
+
+    private Map<String, String> countFacets() {
+        Map<String, String> fields = new HashMap<>();
+        long total = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT website AS facet, count(*) AS jobs FROM jobs GROUP BY website")) {
+            long count = ((Number) row.get("jobs")).longValue();
+            fields.put(WEBSITE_PREFIX + row.get("facet"), String.valueOf(count));
+            total += count;
+        }
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT status AS facet, count(*) AS jobs FROM jobs GROUP BY status")) {
+            fields.put(STATUS_PREFIX + row.get("facet"), row.get("jobs").toString());
+        }
+        // Older day buckets are never read, so only the current window is rebuilt
+        LocalDate firstDay = LocalDate.now().minusDays(WEEK_DAYS - 1);
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT CAST(time AS DATE) AS facet, count(*) AS jobs FROM jobs WHERE time >= ? GROUP BY CAST(time AS DATE)",
+                Timestamp.valueOf(firstDay.atStartOfDay()))) {
+            fields.put(DAY_PREFIX + row.get("facet"), row.get("jobs").toString());
+        }
+        fields.put(TOTAL_FIELD, String.valueOf(total));
+        return fields;
+    }
+
+    private void addJobFields(Map<String, Long> deltas, String website, String status, LocalDateTime time, long delta) {
+        deltas.merge(TOTAL_FIELD, delta, Long::sum);
+        deltas.merge(WEBSITE_PREFIX + website, delta, Long::sum);
+        deltas.merge(STATUS_PREFIX + status, delta, Long::sum);
+        if (time != null) {
+            deltas.merge(DAY_PREFIX + time.toLocalDate(), delta, Long::sum);
+        }
+    }
+
+    private void applyAfterCommit(Map<String, Long> deltas) {
+        AfterCommit.run(() -> apply(deltas));
+    }
+
+    private void apply(Map<String, Long> deltas) {
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        byte[] key = serializer.serialize(FACETS_KEY);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                incrementAll(connection, key, deltas, serializer);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("Failed to update job facets, next reconciliation will correct them: {}", e.getMessage());
+        }
+    }
+
+    private void incrementAll(RedisConnection connection, byte[] key, Map<String, Long> deltas,
+                              RedisSerializer<String> serializer) {
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                connection.hashCommands().hIncrBy(key, serializer.serialize(field), delta);
+            }
+        });
+    }
+
+    private JobFacetsResponse toResponse(Map<Object, Object> fields, LocalDate today) {
+        Map<String, Long> websites = new TreeMap<>();
+        Map<String, Long> statuses = new TreeMap<>();
+        long total = 0;
+        long newThisWeek = 0;
+        LocalDate firstDay = today.minusDays(WEEK_DAYS - 1);
+
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            String field = entry.getKey().toString();
+            long count = Long.parseLong(entry.getValue().toString());
+            if (TOTAL_FIELD.equals(field)) {
+                total = Math.max(0, count);
+            } else if (count <= 0) {
+                // Buckets drained by deletes or updates
+                continue;
+            } else if (field.startsWith(WEBSITE_PREFIX)) {
+                websites.put(field.substring(WEBSITE_PREFIX.length()), count);
+            } else if (field.startsWith(STATUS_PREFIX)) {
+                statuses.put(field.substring(STATUS_PREFIX.length()), count);
+            } else if (field.startsWith(DAY_PREFIX)) {
+                LocalDate day = LocalDate.parse(field.substring(DAY_PREFIX.length()));
+                if (!day.isBefore(firstDay) && !day.isAfter(today)) {
+                    newThisWeek += count;
+                }
+            }
+        }
+        return new JobFacetsResponse(total, websites, statuses, newThisWeek);
+    }
+
+    // Website and status of a job before an update
+    public record JobChange(String previousWebsite, String previousStatus, Job job) {
+    }
+}
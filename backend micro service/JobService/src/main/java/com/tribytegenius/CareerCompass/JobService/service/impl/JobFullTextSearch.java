@@ -0,0 +1,72 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Decides whether keyword queries use PostgreSQL full-text search or the LIKE fallback.
+ *
+ * jobs.search.full-text:
+ *   auto (default) - enabled when the database is PostgreSQL and the search_vector column
+ *                    (migration V2__add_jobs_search_vector) is in place
+ *   off            - always use the LIKE fallback
+ */
+@Service
+public class JobFullTextSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobFullTextSearch.class);
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jobs.search.full-text:auto}")
+    private String mode;
+
+    private volatile boolean enabled = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if ("off".equalsIgnoreCase(mode)) {
+            logger.info("Full-text job search disabled by configuration, using LIKE keyword matching");
+            return;
+        }
+
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!POSTGRESQL.equalsIgnoreCase(databaseProduct)) {
+            logger.info("Database is {}, using LIKE keyword matching", databaseProduct);
+            return;
+        }
+
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_name = 'jobs' AND column_name = 'search_vector'",
+                Integer.class);
+        if (columns == null || columns == 0) {
+            logger.warn("jobs.search_vector is missing, using LIKE keyword matching");
+            return;
+        }
+
+        enabled = true;
+        logger.info("Full-text job search enabled on jobs.search_vector");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // True when the english configuration drops every term as a stop word, e.g. "the:* & and:*".
+    // The resulting empty tsquery matches no row at all
+    public boolean hasNoLexemes(String tsQuery) {
+        Integer nodes = jdbcTemplate.queryForObject("SELECT numnode(to_tsquery('english', ?))", Integer.class, tsQuery);
+        return nodes != null && nodes == 0;
+    }
+}
@@ -0,0 +1,133 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for GET /api/jobs results: a local Caffeine tier in front of Redis.
+ *
+ * Entries are keyed by the JobCatalogVersion plus the normalized query, so any job write
+ * invalidates everything by bumping the version instead of deleting keys.
+ */
+@Service
+public class JobListingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobListingCache.class);
+
+    private static final String ENTRY_PREFIX = "jobs:listing:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JobCatalogVersion catalogVersion;
+
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final int maxPage;
+    private final Duration redisTtl;
+
+    private final Cache<String, JobResponse> localCache;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public JobListingCache(StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           JobCatalogVersion catalogVersion,
+                           MeterRegistry meterRegistry,
+                           @Value("${jobs.listing.cache.enabled:true}") boolean enabled,
+                           @Value("${jobs.listing.cache.redis-enabled:true}") boolean redisEnabled,
+                           @Value("${jobs.listing.cache.max-page:4}") int maxPage,
+                           @Value("${jobs.listing.cache.local-max-entries:2000}") long localMaxEntries,
+                           @Value("${jobs.listing.cache.local-ttl-seconds:30}") long localTtlSeconds,
+                           @Value("${jobs.listing.cache.redis-ttl-seconds:120}") long redisTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.maxPage = maxPage;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+
+        this.localHits = cacheCounter(meterRegistry, "local", "hit");
+        this.localMisses = cacheCounter(meterRegistry, "local", "miss");
+        this.redisHits = cacheCounter(meterRegistry, "redis", "hit");
+        this.redisMisses = cacheCounter(meterRegistry, "redis", "miss");
+    }
+
+    // Deep pages are rarely shared between users, so only the first few are cached
+    public boolean isCacheable(int pageNumber) {
+        return enabled && pageNumber <= maxPage;
+    }
+
+    public JobResponse get(String queryKey, Supplier<JobResponse> loader) {
+        String key = ENTRY_PREFIX + catalogVersion.current() + ":" + queryKey;
+
+        JobResponse cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        localMisses.increment();
+
+        if (redisEnabled) {
+            cached = readRedis(key);
+            if (cached != null) {
+                redisHits.increment();
+                localCache.put(key, cached);
+                return cached;
+            }
+            redisMisses.increment();
+        }
+
+        JobResponse loaded = loader.get();
+        localCache.put(key, loaded);
+        if (redisEnabled) {
+            writeRedis(key, loaded);
+        }
+        return loaded;
+    }
+
+    private JobResponse readRedis(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, JobResponse.class);
+        } catch (Exception e) {
+            logger.debug("Failed to read job listing from Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, JobResponse response) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(response), redisTtl);
+        } catch (Exception e) {
+            logger.debug("Failed to write job listing to Redis: {}", e.getMessage());
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("jobs.listing.cache")
+                .description("Job listing cache lookups")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
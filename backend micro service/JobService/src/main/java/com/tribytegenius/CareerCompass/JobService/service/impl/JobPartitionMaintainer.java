@@ -0,0 +1,318 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the monthly partitions of jobs (db/migration V6): jobs_pYYYYMM for
+ * [first of month, first of next month) plus jobs_default for anything outside them.
+ *
+ * Creates the current month and jobs.partitions.premake-months ahead, so inserts never land in
+ * the default partition. Months older than jobs.partitions.retention-months are expired:
+ * their jobs are deleted in batches, each together with its DELETED events in the outbox so
+ * UserJobService drops its copies, and the emptied partition is then detached on its own (and
+ * dropped unless jobs.partitions.drop-expired=false), so jobs is never locked for the deletes.
+ * Expired rows in the default partition are deleted the same way. A Redis lock, released only by its
+ * owner, keeps replicas from expiring concurrently. Only runs when jobs is a partitioned PostgreSQL table.
+ */
+@Service
+public class JobPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobPartitionMaintainer.class);
+
+    private static final String LOCK_KEY = "jobs:partitions:maintenance-lock";
+    private static final String PARTITION_PREFIX = "jobs_p";
+    private static final String DEFAULT_PARTITION = "jobs_default";
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'jobs'::regclass
+            """;
+
+    // Left behind when a DETACH ... CONCURRENTLY was interrupted
+    private static final String DETACH_PENDING_SQL = """
+            SELECT i.inhdetachpending
+            FROM pg_inherits i
+            WHERE i.inhparent = 'jobs'::regclass AND i.inhrelid = to_regclass(?)
+            """;
+
+    // Deletes the lock only while it still holds this node's token
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobEventPublisher jobEventPublisher;
+
+    @Autowired
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Autowired
+    private JobFacetCounter jobFacetCounter;
+
+    @Autowired
+    private JobSuggestionIndex jobSuggestionIndex;
+
+    @Autowired
+    private JobDeduplicator jobDeduplicator;
+
+    @Value("${jobs.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    // 0 keeps every month
+    @Value("${jobs.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${jobs.partitions.drop-expired:true}")
+    private boolean dropExpired;
+
+    @Value("${jobs.partitions.event-batch-size:500}")
+    private int eventBatchSize;
+
+    // How long a plain DETACH may wait for its lock before giving up until the next run
+    @Value("${jobs.partitions.detach-lock-timeout-ms:5000}")
+    private long detachLockTimeoutMs;
+
+    private volatile Boolean partitioned;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${jobs.partitions.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                return;
+            }
+            // Idempotent, so it does not wait for the lock (or for Redis to be reachable)
+            createPartitions();
+            if (retentionMonths <= 0) {
+                return;
+            }
+            String token = UUID.randomUUID().toString();
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofHours(1));
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+            try {
+                expirePartitions();
+            } finally {
+                // Once the TTL has passed another node may hold the lock, and it must keep it
+                redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), token);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to maintain job partitions: {}", e.getMessage());
+        }
+    }
+
+    private void createPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int ahead = 0; ahead <= premakeMonths; ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                        + " PARTITION OF jobs FOR VALUES FROM ('" + month.atDay(1)
+                        + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (Exception e) {
+                // Rows for that month already sit in jobs_default; they stay there and remain queryable
+                logger.warn("Failed to create job partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    private void expirePartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        boolean removed = false;
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            YearMonth month = partitionMonth(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                removed |= expirePartition(partition);
+            }
+        }
+        removed |= expireDefaultRows(oldestKept.atDay(1));
+
+        if (removed) {
+            jobCatalogVersion.bump();
+            jobFacetCounter.reconcile();
+            jobSuggestionIndex.reload();
+        }
+    }
+
+    private boolean expirePartition(String partition) {
+        Expired expired = expireRows(partition, "", List.of());
+        if (!expired.complete()) {
+            logger.warn("Keeping expired job partition {}, DELETED events could not be published", partition);
+            return expired.jobs() > 0;
+        }
+        try {
+            detach(partition);
+        } catch (Exception e) {
+            // The partition is empty and stays attached; the next run detaches it
+            logger.warn("Failed to detach expired job partition {}: {}", partition, e.getMessage());
+            return true;
+        }
+        if (dropExpired) {
+            // Only locks the detached table
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        logger.info("Expired job partition {} ({} jobs, {})", partition, expired.jobs(), dropExpired ? "dropped" : "detached");
+        return true;
+    }
+
+    /**
+     * Detaches in a statement of its own. DETACH ... CONCURRENTLY only briefly locks jobs, but must run
+     * outside a transaction (JdbcTemplate autocommits here) and PostgreSQL refuses it while jobs has a
+     * default partition. Then the plain DETACH runs alone and gives up after
+     * jobs.partitions.detach-lock-timeout-ms, so it never holds queries queued behind its lock for long.
+     */
+    private void detach(String partition) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(DETACH_PENDING_SQL, Boolean.class, partition))) {
+            jdbcTemplate.execute("ALTER TABLE jobs DETACH PARTITION " + partition + " FINALIZE");
+        } else if (hasDefaultPartition()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + Math.max(1, detachLockTimeoutMs));
+                jdbcTemplate.execute("ALTER TABLE jobs DETACH PARTITION " + partition);
+            });
+        } else {
+            jdbcTemplate.execute("ALTER TABLE jobs DETACH PARTITION " + partition + " CONCURRENTLY");
+        }
+    }
+
+    private boolean hasDefaultPartition() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT partdefid <> 0 FROM pg_partitioned_table WHERE partrelid = 'jobs'::regclass", Boolean.class));
+    }
+
+    private boolean expireDefaultRows(LocalDate cutoff) {
+        Expired expired = expireRows(DEFAULT_PARTITION, " WHERE time < ?", List.of(Timestamp.valueOf(cutoff.atStartOfDay())));
+        if (!expired.complete()) {
+            logger.warn("Keeping expired jobs in {}, DELETED events could not be published", DEFAULT_PARTITION);
+        }
+        if (expired.jobs() > 0) {
+            logger.info("Expired {} jobs from {}", expired.jobs(), DEFAULT_PARTITION);
+        }
+        return expired.jobs() > 0;
+    }
+
+    /**
+     * Deletes the table's rows matching the condition in batches of jobs.partitions.event-batch-size.
+     * Each batch is one transaction with its DELETED events, written to EventOutbox, so consumers hear
+     * of exactly the jobs that are gone. The row trigger on jobs keeps job_urls in sync. Stops at the
+     * first batch whose events could not be recorded or published, which is rolled back.
+     */
+    private Expired expireRows(String table, String condition, List<Object> args) {
+        String selectSql = "SELECT id, name, company, type, location, website, url FROM " + table + condition
+                + " ORDER BY id LIMIT ?";
+        List<Object> selectArgs = new ArrayList<>(args);
+        selectArgs.add(eventBatchSize);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long deleted = 0;
+        while (true) {
+            Integer batchSize = transaction.execute(status -> {
+                List<JobEventDTO> batch = readEvents(selectSql, selectArgs.toArray());
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                if (!jobEventPublisher.publishJobsDeleted(batch)) {
+                    status.setRollbackOnly();
+                    return -1;
+                }
+                List<Long> ids = batch.stream().map(JobEventDTO::getJobId).toList();
+                // Same as deleting a job through the API: their near-duplicates get a new canonical job
+                jobDeduplicator.promoteDuplicates(ids);
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN ("
+                        + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")");
+                return batch.size();
+            });
+            if (batchSize == null || batchSize < 0) {
+                return new Expired(deleted, false);
+            }
+            deleted += batchSize;
+            if (batchSize < eventBatchSize) {
+                return new Expired(deleted, true);
+            }
+        }
+    }
+
+    private List<JobEventDTO> readEvents(String sql, Object... args) {
+        return jdbcTemplate.query(sql, (resultSet, rowNum) -> new JobEventDTO(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getString("company"),
+                resultSet.getString("type"),
+                resultSet.getString("location"),
+                resultSet.getString("website"),
+                resultSet.getString("url"),
+                "DELETED"
+        ), args);
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String databaseProduct = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equalsIgnoreCase(databaseProduct) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('jobs'))",
+                    Boolean.class));
+        }
+        return partitioned;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+    }
+
+    // Null for jobs_default and any partition not created by this naming scheme
+    static YearMonth partitionMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), MONTH_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private record Expired(long jobs, boolean complete) {
+    }
+}
@@ -2,49 +2,154 @@ package com.tribytegenius.CareerCompass.JobService.service.impl;
 
 import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
 import com.tribytegenius.CareerCompass.JobService.dto.JobEventDTO;
+import com.tribytegenius.CareerCompass.JobService.dto.JobFacetsResponse;
 import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchProgress;
 import com.tribytegenius.CareerCompass.JobService.dto.SearchRequestBody;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchTicket;
+import com.tribytegenius.CareerCompass.JobService.exception.APIException;
 import com.tribytegenius.CareerCompass.JobService.exception.ResourceNotFoundException;
+import com.tribytegenius.CareerCompass.JobService.mapper.JobMapper;
 import com.tribytegenius.CareerCompass.JobService.model.Job;
 import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
+import com.tribytegenius.CareerCompass.JobService.repository.JobSpecifications;
 import com.tribytegenius.CareerCompass.JobService.service.impl.JobEventPublisher;
 import com.tribytegenius.CareerCompass.JobService.service.JobService;
-import org.modelmapper.ModelMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class JobServiceImpl implements JobService {
 
     private static final Logger logger = LoggerFactory.getLogger(JobServiceImpl.class);
 
+    private static final String RELEVANCE_SORT = "relevance";
+
+    // How getAllJobs reports totalElements/totalPages
+    private static final String TOTALS_EXACT = "exact";
+    private static final String TOTALS_NONE = "none";
+    private static final String TOTALS_CACHED = "cached";
+    private static final String TOTALS_ESTIMATE = "estimate";
+    private static final List<String> TOTALS_MODES = List.of(TOTALS_EXACT, TOTALS_NONE, TOTALS_CACHED, TOTALS_ESTIMATE);
+
+    @Autowired
+    private SearchTriggerDispatcher searchTriggerDispatcher;
+
     @Autowired
-    @Qualifier("pythonServiceClient")
-    private WebClient pythonServiceClient;
+    private SearchJobRegistry searchJobRegistry;
 
     @Autowired
     private JobRepository jobRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private JobMapper jobMapper;
 
     @Autowired
     private JobEventPublisher jobEventPublisher;
 
+    @Autowired
+    private JobFullTextSearch fullTextSearch;
+
+    @Autowired
+    private JobCountCache jobCountCache;
+
+    @Autowired
+    private JobCountEstimator jobCountEstimator;
+
+    @Autowired
+    private JobListingCache jobListingCache;
+
+    @Autowired
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Autowired
+    private JobFacetCounter jobFacetCounter;
+
+    @Autowired
+    private JobExporter jobExporter;
+
+    @Autowired
+    private JobSuggestionIndex jobSuggestionIndex;
+
+    @Autowired
+    private JobDeduplicator jobDeduplicator;
+
+    @Autowired
+    private JobUrlFilter jobUrlFilter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    // Not read-only, so LazyConnectionDataSourceProxy keeps it on the primary
+    private TransactionTemplate primaryReadTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${jobs.bulk.max-size:5000}")
+    private int bulkMaxSize;
+
+    // Rows per flush in bulk inserts, a multiple of hibernate.jdbc.batch_size
+    @Value("${jobs.bulk.flush-size:500}")
+    private int bulkFlushSize;
+
+    @Value("${jobs.listing.time-bucket-seconds:300}")
+    private long timeBucketSeconds;
+
+    // Same condition as ReadReplicaDataSourceConfig
+    @Value("#{'${jobs.datasource.replica-urls:}' != ''}")
+    private boolean replicasEnabled;
+
+    // How far behind a replica ReplicaRoutingDataSource still uses can be: its lag limit plus the time to the next check
+    @Value("#{${jobs.datasource.max-replica-lag-ms:5000} + ${jobs.datasource.replica-lag-check-ms:5000}}")
+    private long replicaCatchUpMillis;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        primaryReadTransaction = new TransactionTemplate(transactionManager);
+    }
+
     @Override
     public JobResponse getAllJobs(
             Integer pageNumber,
@@ -54,14 +159,24 @@ public class JobServiceImpl implements JobService {
             String keyword,
             String status,
             String website,
-            Integer timeInDays
+            Integer timeInDays,
+            String totals
     ) {
         // Note: Python Service now runs independently and publishes events
         // when new jobs are found. No need to call it here.
-        return getAllJobsFromDatabase(pageNumber, pageSize, sortBy, sortOrder, keyword, status, website, timeInDays);
+        if (!jobListingCache.isCacheable(pageNumber)) {
+            return listingTransaction().execute(tx ->
+                    getAllJobsFromDatabase(pageNumber, pageSize, sortBy, sortOrder, keyword, status, website, timeInDays, totals));
+        }
+
+        // Only a miss opens a (replica-routed) read-only transaction; hits never touch the pool
+        String cacheKey = listingQueryKey(pageNumber, pageSize, sortBy, sortOrder, keyword, status, website, timeInDays, totals);
+        return jobListingCache.get(cacheKey, () -> listingTransaction().execute(tx ->
+                getAllJobsFromDatabase(pageNumber, pageSize, sortBy, sortOrder, keyword, status, website, timeInDays, totals)));
     }
 
-    private JobResponse getAllJobsFromDatabase(
+    @Override
+    public String getJobsETag(
             Integer pageNumber,
             Integer pageSize,
             String sortBy,
@@ -69,93 +184,313 @@ public class JobServiceImpl implements JobService {
             String keyword,
             String status,
             String website,
+            Integer timeInDays,
+            String totals,
+            String cursor,
+            String mediaType
+    ) {
+        // Weak: equal ETags mean the same data in the same format, not byte-identical bodies
+        String queryKey = listingQueryKey(pageNumber, pageSize, sortBy, sortOrder, keyword, status, website, timeInDays, totals)
+                + "|" + (cursor == null ? "" : "cursor:" + cursor)
+                + "|" + mediaType;
+        return "W/\"" + jobCatalogVersion.current() + "-"
+                + DigestUtils.md5DigestAsHex(queryKey.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @Override
+    public JobResponse getJobsByCursor(
+            String cursor,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder,
+            String keyword,
+            String status,
+            String website,
             Integer timeInDays
     ) {
-        // Create sort object based on sort direction and field
-        Sort sort = sortOrder.equalsIgnoreCase("asc")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        return listingTransaction().execute(tx ->
+                getJobsByCursorFromDatabase(cursor, pageSize, sortBy, sortOrder, keyword, status, website, timeInDays));
+    }
+
+    /**
+     * Listing pages are cached and ETagged under the catalog version read before the query runs. A
+     * replica may not have replayed the write behind a fresh bump yet, and its page from before the
+     * write would be labelled with the new version, so until every usable replica must have caught
+     * up these reads go to the primary.
+     */
+    private TransactionTemplate listingTransaction() {
+        return replicasEnabled && jobCatalogVersion.changedWithin(replicaCatchUpMillis)
+                ? primaryReadTransaction
+                : readOnlyTransaction;
+    }
+
+    private JobResponse getAllJobsFromDatabase(
+            Integer pageNumber,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder,
+            String keyword,
+            String status,
+            String website,
+            Integer timeInDays,
+            String totals
+    ) {
+        String totalsMode = totals == null ? TOTALS_EXACT : totals.toLowerCase();
+        if (!TOTALS_MODES.contains(totalsMode)) {
+            throw new APIException("Invalid totals mode. Valid modes are: " + String.join(", ", TOTALS_MODES));
+        }
+
+        keyword = searchableKeyword(keyword);
+        String tsQuery = tsQueryFor(keyword);
+        boolean sortByRelevance = RELEVANCE_SORT.equalsIgnoreCase(sortBy);
+
+        // Create sort object based on sort direction and field.
+        // Relevance ordering is applied by the full-text specification itself
+        Sort sort;
+        if (sortByRelevance && tsQuery != null) {
+            sort = Sort.unsorted();
+        } else if (sortByRelevance) {
+            sort = Sort.by("time").descending();
+        } else {
+            sort = sortOrder.equalsIgnoreCase("asc")
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending();
+        }
 
         // Create Pageable instance for pagination
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
 
-        // Create a base Specification to build up query
-        Specification<Job> spec = Specification.where(null);
+        LocalDateTime cutoffDate = cutoffFor(timeInDays);
+        Specification<Job> spec = buildSpecification(tsQuery, sortByRelevance, keyword, status, website, cutoffDate);
+
+        if (TOTALS_EXACT.equals(totalsMode)) {
+            // Execute the query with all filters (runs a second count(*) query for the totals)
+            Page<Job> pageJobs = jobRepository.findAll(spec, pageable);
+
+            // Get content from page object and convert to DTOs
+            List<JobDTO> jobDTOs = pageJobs.getContent().stream()
+                    .map(jobMapper::toDTO)
+                    .toList();
 
-        // Add keyword filter if provided (searches in name and company)
+            // Create and populate the response object
+            JobResponse jobResponse = new JobResponse();
+            jobResponse.setContent(jobDTOs);
+            jobResponse.setPageNumber(pageJobs.getNumber());
+            jobResponse.setPageSize(pageJobs.getSize());
+            jobResponse.setTotalElements(pageJobs.getTotalElements());
+            jobResponse.setTotalPages(pageJobs.getTotalPages());
+            jobResponse.setLastPage(pageJobs.isLast());
+
+            return jobResponse;
+        }
+
+        // Other modes fetch one extra row to detect the last page instead of counting
+        Slice<Job> sliceJobs = jobRepository.findBy(spec, query -> query.slice(pageable));
+
+        List<JobDTO> jobDTOs = sliceJobs.getContent().stream()
+                .map(jobMapper::toDTO)
+                .toList();
+
+        JobResponse jobResponse = new JobResponse();
+        jobResponse.setContent(jobDTOs);
+        jobResponse.setPageNumber(sliceJobs.getNumber());
+        jobResponse.setPageSize(sliceJobs.getSize());
+        jobResponse.setLastPage(sliceJobs.isLast());
+
+        Long totalElements = null;
+        long seen = pageable.getOffset() + jobDTOs.size();
+        if (sliceJobs.isLast() && (!jobDTOs.isEmpty() || pageNumber == 0)) {
+            // The last page tells us the exact total for free
+            totalElements = seen;
+        } else if (TOTALS_CACHED.equals(totalsMode)) {
+            totalElements = jobCountCache.get(keyword, status, website, timeInDays, () -> jobRepository.count(spec));
+        } else if (TOTALS_ESTIMATE.equals(totalsMode)) {
+            Long estimate = jobCountEstimator.estimate(keyword, tsQuery, status, website, cutoffDate);
+            if (estimate != null) {
+                // Never report fewer rows than we have already seen
+                totalElements = Math.max(estimate, sliceJobs.hasNext() ? seen + 1 : seen);
+                jobResponse.setApproximate(true);
+            } else {
+                totalElements = jobCountCache.get(keyword, status, website, timeInDays, () -> jobRepository.count(spec));
+            }
+        }
+
+        if (totalElements != null) {
+            jobResponse.setTotalElements(totalElements);
+            jobResponse.setTotalPages((int) Math.ceil((double) totalElements / pageSize));
+        }
+
+        return jobResponse;
+    }
+
+    private JobResponse getJobsByCursorFromDatabase(
+            String cursor,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder,
+            String keyword,
+            String status,
+            String website,
+            Integer timeInDays
+    ) {
+        JobCursor position = cursor.isEmpty() ? null : JobCursor.decode(cursor);
+        if (position != null) {
+            position.requireSort(sortBy, sortOrder);
+        }
+        if (!JobCursor.SORTABLE_FIELDS.contains(sortBy)) {
+            throw new APIException("Cursor pagination supports sortBy: " + String.join(", ", JobCursor.SORTABLE_FIELDS));
+        }
+
+        // id is the tie-breaker so the (sortBy, id) key is unique
+        Sort sort = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending().and(Sort.by("id").ascending())
+                : Sort.by(sortBy).descending().and(Sort.by("id").descending());
+
+        keyword = searchableKeyword(keyword);
+        String tsQuery = tsQueryFor(keyword);
+        Specification<Job> spec = buildSpecification(tsQuery, false, keyword, status, website, cutoffFor(timeInDays));
+
+        // Seek past the last row instead of using OFFSET, and skip the count query
+        Window<Job> window = jobRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(pageSize)
+                .scroll(position == null ? ScrollPosition.keyset() : position.toScrollPosition()));
+
+        List<JobDTO> jobDTOs = window.getContent().stream()
+                .map(jobMapper::toDTO)
+                .toList();
+
+        JobResponse jobResponse = new JobResponse();
+        jobResponse.setContent(jobDTOs);
+        jobResponse.setPageSize(pageSize);
+        jobResponse.setLastPage(!window.hasNext());
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            jobResponse.setNextCursor(JobCursor.of(sortBy, sortOrder.toLowerCase(), last).encode());
+        }
+
+        return jobResponse;
+    }
+
+    // Prefix tsquery for the keyword when full-text search is on, otherwise null
+    private String tsQueryFor(String keyword) {
+        return fullTextSearch.isEnabled() && keyword != null && !keyword.isEmpty()
+                ? JobSpecifications.toPrefixTsQuery(keyword)
+                : null;
+    }
+
+    // A keyword of only stop words ("the", "and") would match no job at all, so it is dropped
+    // and the listing is filtered as if no keyword was given
+    private String searchableKeyword(String keyword) {
+        String tsQuery = tsQueryFor(keyword);
+        return tsQuery != null && fullTextSearch.hasNoLexemes(tsQuery) ? null : keyword;
+    }
+
+    private Specification<Job> buildSpecification(
+            String tsQuery,
+            boolean sortByRelevance,
+            String keyword,
+            String status,
+            String website,
+            LocalDateTime cutoffDate
+    ) {
+        // Create a base Specification to build up query (matches every row)
+        Specification<Job> spec = (root, query, criteriaBuilder) -> null;
+
+        // Add keyword filter if provided (searches in name, company, type and location).
+        // Uses the GIN-indexed search_vector on PostgreSQL, LIKE matching otherwise
         if (keyword != null && !keyword.isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.or(
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + keyword.toLowerCase() + "%"),
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("company")), "%" + keyword.toLowerCase() + "%"),
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("type")), "%" + keyword.toLowerCase() + "%"),
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + keyword.toLowerCase() + "%")
-                    )
-            );
+            if (tsQuery != null) {
+                spec = spec.and(sortByRelevance
+                        ? JobSpecifications.keywordFullTextByRelevance(tsQuery)
+                        : JobSpecifications.keywordFullText(tsQuery));
+            } else if (!fullTextSearch.isEnabled()) {
+                spec = spec.and(JobSpecifications.keywordLike(keyword));
+            } else {
+                // Nothing searchable in the keyword (only punctuation)
+                spec = spec.and(JobSpecifications.matchesNothing());
+            }
         }
 
         // Add status filter (exact match)
         if (status != null && !status.isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.equal(root.get("status"), status)
-            );
+            spec = spec.and(JobSpecifications.hasStatus(status));
         }
 
         // Add website filter (exact match)
         if (website != null && !website.isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.equal(root.get("website"), website)
-            );
+            spec = spec.and(JobSpecifications.hasWebsite(website));
         }
 
         // Add time filter (jobs posted within X days)
-        if (timeInDays != null && timeInDays > 0) {
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(timeInDays);
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.greaterThanOrEqualTo(root.get("time"), cutoffDate)
-            );
+        if (cutoffDate != null) {
+            spec = spec.and(JobSpecifications.postedSince(cutoffDate));
         }
 
-        // Execute the query with all filters
-        Page<Job> pageJobs = jobRepository.findAll(spec, pageable);
+        return spec;
+    }
 
-        // Get content from page object and convert to DTOs
-        List<JobDTO> jobDTOs = pageJobs.getContent().stream()
-                .map(job -> modelMapper.map(job, JobDTO.class))
-                .toList();
+    // Cutoff for "posted within X days", rounded down to a fixed bucket so that
+    // identical requests made moments apart produce the same query and cache key
+    private LocalDateTime cutoffFor(Integer timeInDays) {
+        if (timeInDays == null || timeInDays <= 0) {
+            return null;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(timeInDays);
+        long bucketSeconds = Math.max(1, timeBucketSeconds);
+        long epochSeconds = cutoff.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(epochSeconds - Math.floorMod(epochSeconds, bucketSeconds), 0, ZoneOffset.UTC);
+    }
 
-        // Create and populate the response object
-        JobResponse jobResponse = new JobResponse();
-        jobResponse.setContent(jobDTOs);
-        jobResponse.setPageNumber(pageJobs.getNumber());
-        jobResponse.setPageSize(pageJobs.getSize());
-        jobResponse.setTotalElements(pageJobs.getTotalElements());
-        jobResponse.setTotalPages(pageJobs.getTotalPages());
-        jobResponse.setLastPage(pageJobs.isLast());
+    @Override
+    public void exportJobs(
+            String format,
+            String keyword,
+            String status,
+            String website,
+            Integer timeInDays,
+            OutputStream outputStream
+    ) throws IOException {
+        keyword = searchableKeyword(keyword);
+        String tsQuery = tsQueryFor(keyword);
+        JobSqlFilter filter = JobSqlFilter.of(
+                keyword, tsQuery, fullTextSearch.isEnabled(), status, website, cutoffFor(timeInDays));
+        jobExporter.export(format, filter, outputStream);
+    }
 
-        return jobResponse;
+    @Override
+    public JobFacetsResponse getJobFacets() {
+        return jobFacetCounter.read();
+    }
+
+    @Override
+    public List<JobSuggestion> suggestJobs(String prefix, Integer limit) {
+        int maxResults = jobSuggestionIndex.getMaxResults();
+        if (limit != null && (limit < 1 || limit > maxResults)) {
+            throw new APIException("Limit must be between 1 and " + maxResults);
+        }
+        return jobSuggestionIndex.suggest(prefix, limit == null ? maxResults : limit);
     }
 
     @Override
     public JobDTO createJob(JobDTO jobDTO) {
-        Job job = modelMapper.map(jobDTO, Job.class);
+        Job job = jobMapper.toEntity(jobDTO);
+        // Ids are always assigned by the sequence
+        job.setId(null);
         job.setTime(LocalDateTime.now());
-        Job savedJob = jobRepository.save(job);
-
-        // Publish job created event
-        JobEventDTO jobEvent = new JobEventDTO(
-                savedJob.getId(),
-                savedJob.getName(),
-                savedJob.getCompany(),
-                savedJob.getType(),
-                savedJob.getLocation(),
-                savedJob.getWebsite(),
-                savedJob.getUrl(),
-                "CREATED"
-        );
-        jobEventPublisher.publishJobCreated(jobEvent);
-
-        return modelMapper.map(savedJob, JobDTO.class);
+        // The event is written to the outbox in the same transaction as the job
+        Job savedJob = transactionTemplate.execute(status -> {
+            Job saved = jobRepository.save(job);
+            jobEventPublisher.publishJobCreated(toJobEvent(saved, "CREATED"));
+            return saved;
+        });
+        jobUrlFilter.add(savedJob.getUrl());
+        jobCatalogVersion.bump();
+        jobFacetCounter.jobAdded(savedJob);
+        jobSuggestionIndex.jobAdded(savedJob);
+        jobDeduplicator.jobAdded(savedJob);
+
+        return jobMapper.toDTO(savedJob);
     }
 
     @Override
@@ -163,31 +498,114 @@ public class JobServiceImpl implements JobService {
         Job existingJob = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
 
-        // Update fields from DTO but keep the original time
-        existingJob.setCompany(jobDTO.getCompany());
-        existingJob.setName(jobDTO.getName());
-        existingJob.setStatus(jobDTO.getStatus());
-        existingJob.setType(jobDTO.getType());
-        existingJob.setLocation(jobDTO.getLocation());
-        existingJob.setUrl(jobDTO.getUrl());
-        existingJob.setWebsite(jobDTO.getWebsite());
-
-        Job updatedJob = jobRepository.save(existingJob);
-
-        // Publish job updated event
-        JobEventDTO jobEvent = new JobEventDTO(
-                updatedJob.getId(),
-                updatedJob.getName(),
-                updatedJob.getCompany(),
-                updatedJob.getType(),
-                updatedJob.getLocation(),
-                updatedJob.getWebsite(),
-                updatedJob.getUrl(),
-                "UPDATED"
-        );
-        jobEventPublisher.publishJobUpdated(jobEvent);
+        String previousWebsite = existingJob.getWebsite();
+        String previousStatus = existingJob.getStatus();
+        String previousName = existingJob.getName();
+        String previousCompany = existingJob.getCompany();
+
+        applyUpdate(existingJob, jobDTO);
+
+        Job updatedJob = transactionTemplate.execute(status -> {
+            Job saved = jobRepository.save(existingJob);
+            jobEventPublisher.publishJobUpdated(toJobEvent(saved, "UPDATED"));
+            return saved;
+        });
+        jobUrlFilter.add(updatedJob.getUrl());
+        jobCatalogVersion.bump();
+        jobFacetCounter.jobUpdated(previousWebsite, previousStatus, updatedJob);
+        jobSuggestionIndex.jobUpdated(previousName, previousCompany, updatedJob);
+        jobDeduplicator.jobsUpdated(List.of(updatedJob));
+
+        return jobMapper.toDTO(updatedJob);
+    }
+
+    @Override
+    public List<JobDTO> createJobs(List<JobDTO> jobDTOs) {
+        validateBulkSize(jobDTOs);
+
+        // Like Python ingestion, urls that already exist or repeat within the request are skipped
+        Set<String> urls = new HashSet<>();
+        for (JobDTO jobDTO : jobDTOs) {
+            urls.add(jobDTO.getUrl());
+        }
+        Set<String> seenUrls = new HashSet<>(jobRepository.findExistingUrls(urls));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> newJobs = new ArrayList<>();
+        for (JobDTO jobDTO : jobDTOs) {
+            if (!seenUrls.add(jobDTO.getUrl())) {
+                continue;
+            }
+            Job job = jobMapper.toEntity(jobDTO);
+            job.setId(null);
+            job.setTime(now);
+            newJobs.add(job);
+        }
+        if (newJobs.size() < jobDTOs.size()) {
+            logger.info("Bulk create skipped {} jobs with existing or repeated urls", jobDTOs.size() - newJobs.size());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insertInBatches(newJobs);
+            jobEventPublisher.publishJobsCreated(newJobs.stream()
+                    .map(job -> toJobEvent(job, "CREATED"))
+                    .toList());
+        });
+        jobUrlFilter.addAll(newJobs.stream().map(Job::getUrl).toList());
+        jobCatalogVersion.bump();
+        jobFacetCounter.jobsAdded(newJobs);
+        jobSuggestionIndex.jobsAdded(newJobs);
+        jobDeduplicator.jobsAdded(newJobs);
+
+        return newJobs.stream()
+                .map(jobMapper::toDTO)
+                .toList();
+    }
+
+    @Override
+    public List<JobDTO> updateJobs(List<JobDTO> jobDTOs) {
+        validateBulkSize(jobDTOs);
+
+        // A repeated id keeps its last entry
+        Map<Long, JobDTO> updates = new LinkedHashMap<>();
+        for (JobDTO jobDTO : jobDTOs) {
+            updates.put(parseJobId(jobDTO.getId()), jobDTO);
+        }
 
-        return modelMapper.map(updatedJob, JobDTO.class);
+        List<JobFacetCounter.JobChange> changes = new ArrayList<>();
+        List<JobSuggestionIndex.JobChange> suggestionChanges = new ArrayList<>();
+        List<Job> updatedJobs = transactionTemplate.execute(status -> {
+            Map<Long, Job> existingJobs = new HashMap<>();
+            for (Job job : jobRepository.findAllById(updates.keySet())) {
+                existingJobs.put(job.getId(), job);
+            }
+
+            List<Job> jobs = new ArrayList<>();
+            updates.forEach((id, jobDTO) -> {
+                Job existingJob = existingJobs.get(id);
+                if (existingJob == null) {
+                    throw new ResourceNotFoundException("Job", "id", id);
+                }
+                changes.add(new JobFacetCounter.JobChange(existingJob.getWebsite(), existingJob.getStatus(), existingJob));
+                suggestionChanges.add(new JobSuggestionIndex.JobChange(existingJob.getName(), existingJob.getCompany(), existingJob));
+                applyUpdate(existingJob, jobDTO);
+                jobs.add(existingJob);
+            });
+            jobEventPublisher.publishJobsUpdated(jobs.stream()
+                    .map(job -> toJobEvent(job, "UPDATED"))
+                    .toList());
+            // Dirty entities are flushed as batched UPDATEs on commit
+            return jobs;
+        });
+        jobUrlFilter.addAll(updatedJobs.stream().map(Job::getUrl).toList());
+        jobCatalogVersion.bump();
+        jobFacetCounter.jobsUpdated(changes);
+        jobSuggestionIndex.jobsUpdated(suggestionChanges);
+        jobDeduplicator.jobsUpdated(updatedJobs);
+
+        return updatedJobs.stream()
+                .map(jobMapper::toDTO)
+                .toList();
     }
 
     @Override
@@ -195,37 +613,109 @@ public class JobServiceImpl implements JobService {
         Job existingJob = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
 
-        // Publish job deleted event before deletion
-        JobEventDTO jobEvent = new JobEventDTO(
-                existingJob.getId(),
-                existingJob.getName(),
-                existingJob.getCompany(),
-                existingJob.getType(),
-                existingJob.getLocation(),
-                existingJob.getWebsite(),
-                existingJob.getUrl(),
-                "DELETED"
-        );
-        jobEventPublisher.publishJobDeleted(jobEvent);
-
-        jobRepository.delete(existingJob);
+        transactionTemplate.executeWithoutResult(status -> {
+            jobDeduplicator.promoteDuplicates(List.of(id));
+            jobRepository.delete(existingJob);
+            jobEventPublisher.publishJobDeleted(toJobEvent(existingJob, "DELETED"));
+        });
+        jobCatalogVersion.bump();
+        jobFacetCounter.jobRemoved(existingJob);
+        jobSuggestionIndex.jobRemoved(existingJob);
+        jobDeduplicator.jobRemoved(existingJob);
         return "Job deleted";
     }
 
     @Override
-    public void searchJob(SearchRequestBody searchRequestBody) {
-        // Trigger Python Service to search for new jobs
-        // Python Service will publish events when new jobs are found
-        pythonServiceClient.post()
-                .bodyValue(searchRequestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .doOnSuccess(response -> {
-                    logger.info("Python Service search triggered successfully: {}", response);
-                })
-                .doOnError(error -> {
-                    logger.warn("Failed to trigger Python Service search: {}", error.getMessage());
-                })
-                .subscribe();
+    public SearchTicket searchJob(SearchRequestBody searchRequestBody, String userEmail) {
+        // Identical searches share one crawl, and crawls are queued and rate limited per user
+        return searchTriggerDispatcher.submit(searchRequestBody, userEmail);
+    }
+
+    @Override
+    public SearchProgress getSearchProgress(String id) {
+        return searchJobRegistry.get(id);
+    }
+
+    @Override
+    public SseEmitter streamSearchProgress(String id) {
+        return searchJobRegistry.subscribe(id);
+    }
+
+    // Normalized filter tuple; the time filter is keyed by its bucketed cutoff
+    private String listingQueryKey(
+            Integer pageNumber,
+            Integer pageSize,
+            String sortBy,
+            String sortOrder,
+            String keyword,
+            String status,
+            String website,
+            Integer timeInDays,
+            String totals
+    ) {
+        LocalDateTime cutoffDate = cutoffFor(timeInDays);
+        return String.join("|",
+                String.valueOf(pageNumber),
+                String.valueOf(pageSize),
+                sortBy,
+                sortOrder.toLowerCase(),
+                keyword == null ? "" : keyword.toLowerCase(),
+                status == null ? "" : status,
+                website == null ? "" : website,
+                cutoffDate == null ? "" : cutoffDate.toString(),
+                totals == null ? "" : totals.toLowerCase());
+    }
+
+    private void validateBulkSize(List<JobDTO> jobDTOs) {
+        if (jobDTOs == null || jobDTOs.isEmpty()) {
+            throw new APIException("No jobs provided");
+        }
+        if (jobDTOs.size() > bulkMaxSize) {
+            throw new APIException("Too many jobs in one request, the maximum is " + bulkMaxSize);
+        }
+    }
+
+    private Long parseJobId(String id) {
+        if (id == null || id.isBlank()) {
+            throw new APIException("Every job in a bulk update needs an id");
+        }
+        try {
+            return Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid job id: " + id);
+        }
+    }
+
+    // Flushes and clears every bulkFlushSize rows so the persistence context stays small
+    private void insertInBatches(List<Job> jobs) {
+        for (int from = 0; from < jobs.size(); from += bulkFlushSize) {
+            jobRepository.saveAll(jobs.subList(from, Math.min(from + bulkFlushSize, jobs.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    // Update fields from DTO but keep the original time
+    private void applyUpdate(Job job, JobDTO jobDTO) {
+        job.setCompany(jobDTO.getCompany());
+        job.setName(jobDTO.getName());
+        job.setStatus(jobDTO.getStatus());
+        job.setType(jobDTO.getType());
+        job.setLocation(jobDTO.getLocation());
+        job.setUrl(jobDTO.getUrl());
+        job.setWebsite(jobDTO.getWebsite());
+    }
+
+    private JobEventDTO toJobEvent(Job job, String eventType) {
+        return new JobEventDTO(
+                job.getId(),
+                job.getName(),
+                job.getCompany(),
+                job.getType(),
+                job.getLocation(),
+                job.getWebsite(),
+                job.getUrl(),
+                eventType
+        );
     }
 }
@@ -0,0 +1,68 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain SQL WHERE clause over the jobs table for JdbcTemplate queries. Mirrors the
+ * predicates built by JobSpecifications so JDBC paths filter exactly like getAllJobs.
+ */
+final class JobSqlFilter {
+
+    private final StringBuilder where = new StringBuilder(" WHERE true");
+    private final List<Object> args = new ArrayList<>();
+    private boolean matchesNothing = false;
+
+    private JobSqlFilter() {
+    }
+
+    static JobSqlFilter of(String keyword, String tsQuery, boolean fullTextEnabled,
+                           String status, String website, LocalDateTime cutoffDate) {
+        JobSqlFilter filter = new JobSqlFilter();
+
+        if (keyword != null && !keyword.isEmpty()) {
+            if (tsQuery != null) {
+                filter.where.append(" AND search_vector @@ to_tsquery('english', ?)");
+                filter.args.add(tsQuery);
+            } else if (!fullTextEnabled) {
+                String pattern = "%" + keyword.toLowerCase() + "%";
+                filter.where.append(" AND (lower(name) LIKE ? OR lower(company) LIKE ? OR lower(type) LIKE ? OR lower(location) LIKE ?)");
+                filter.args.add(pattern);
+                filter.args.add(pattern);
+                filter.args.add(pattern);
+                filter.args.add(pattern);
+            } else {
+                // Nothing searchable in the keyword (only punctuation)
+                filter.where.append(" AND false");
+                filter.matchesNothing = true;
+            }
+        }
+        if (status != null && !status.isEmpty()) {
+            filter.where.append(" AND status = ?");
+            filter.args.add(status);
+        }
+        if (website != null && !website.isEmpty()) {
+            filter.where.append(" AND website = ?");
+            filter.args.add(website);
+        }
+        if (cutoffDate != null) {
+            filter.where.append(" AND time >= ?");
+            filter.args.add(Timestamp.valueOf(cutoffDate));
+        }
+        return filter;
+    }
+
+    String where() {
+        return where.toString();
+    }
+
+    Object[] args() {
+        return args.toArray();
+    }
+
+    boolean matchesNothing() {
+        return matchesNothing;
+    }
+}
@@ -0,0 +1,215 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory typeahead over job titles and company names for GET /api/jobs/suggest.
+ *
+ * Holds a per-node count of jobs per normalized title and company. Job writes on this node
+ * apply +1/-1 deltas after commit and the JobSuggestionTable is rebuilt from the counts at most
+ * every jobs.suggest.refresh-millis, so lookups only read an immutable snapshot. Writes handled
+ * by other nodes are picked up by the periodic reload from the jobs table.
+ */
+@Service
+public class JobSuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSuggestionIndex.class);
+
+    public static final String TYPE_TITLE = "title";
+    public static final String TYPE_COMPANY = "company";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jobs.suggest.max-results:10}")
+    private int maxResults;
+
+    // Keyed by type + ":" + normalized text; guarded by this
+    private final Map<String, Term> terms = new HashMap<>();
+    private boolean dirty;
+
+    private volatile JobSuggestionTable table = JobSuggestionTable.build(List.of(), 1);
+
+    public List<JobSuggestion> suggest(String prefix, int limit) {
+        return table.suggest(JobSuggestionTable.normalizePrefix(prefix), limit);
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void jobAdded(Job job) {
+        jobsAdded(List.of(job));
+    }
+
+    public void jobsAdded(List<Job> jobs) {
+        Map<String, Delta> deltas = new HashMap<>();
+        for (Job job : jobs) {
+            addJobTerms(deltas, job.getName(), job.getCompany(), 1);
+        }
+        applyAfterCommit(deltas);
+    }
+
+    public void jobRemoved(Job job) {
+        Map<String, Delta> deltas = new HashMap<>();
+        addJobTerms(deltas, job.getName(), job.getCompany(), -1);
+        applyAfterCommit(deltas);
+    }
+
+    public void jobUpdated(String previousName, String previousCompany, Job job) {
+        jobsUpdated(List.of(new JobChange(previousName, previousCompany, job)));
+    }
+
+    public void jobsUpdated(List<JobChange> changes) {
+        Map<String, Delta> deltas = new HashMap<>();
+        for (JobChange change : changes) {
+            Job job = change.job();
+            if (!Objects.equals(change.previousName(), job.getName())
+                    || !Objects.equals(change.previousCompany(), job.getCompany())) {
+                addJobTerms(deltas, change.previousName(), change.previousCompany(), -1);
+                addJobTerms(deltas, job.getName(), job.getCompany(), 1);
+            }
+        }
+        applyAfterCommit(deltas);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Recounts titles and companies from the jobs table and replaces the in-memory counts.
+     * Deltas committed while the recount runs can be lost, which the next reload corrects.
+     */
+    @Scheduled(fixedDelayString = "${jobs.suggest.reload-interval-ms:600000}",
+            initialDelayString = "${jobs.suggest.reload-interval-ms:600000}")
+    public void reload() {
+        try {
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            Map<String, Term> counted = readOnlyTransaction.execute(status -> countFromTable());
+            synchronized (this) {
+                terms.clear();
+                terms.putAll(counted);
+                dirty = true;
+            }
+            rebuild();
+            logger.info("Loaded {} job title and company suggestions", table.size());
+        } catch (Exception e) {
+            logger.warn("Failed to load job suggestions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.suggest.refresh-millis:1000}")
+    public void rebuild() {
+        List<JobSuggestion> suggestions = new ArrayList<>();
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            for (Term term : terms.values()) {
+                suggestions.add(new JobSuggestion(term.display, term.type, term.count));
+            }
+        }
+        table = JobSuggestionTable.build(suggestions, maxResults);
+    }
+
+    private Map<String, Term> countFromTable() {
+        Map<String, Term> counted = new HashMap<>();
+        countColumn(counted, "name", TYPE_TITLE);
+        countColumn(counted, "company", TYPE_COMPANY);
+        return counted;
+    }
+
+    // Spellings differing only in case or spacing are merged, displayed as the most common one
+    private void countColumn(Map<String, Term> counted, String column, String type) {
+        jdbcTemplate.query("SELECT " + column + " AS text, count(*) AS jobs FROM jobs"
+                + " WHERE " + column + " IS NOT NULL GROUP BY " + column, resultSet -> {
+            String text = resultSet.getString("text");
+            String normalized = JobSuggestionTable.normalize(text);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            long count = resultSet.getLong("jobs");
+            Term term = counted.computeIfAbsent(type + ":" + normalized, key -> new Term(type, text));
+            if (count > term.displayCount) {
+                term.display = text.trim();
+                term.displayCount = count;
+            }
+            term.count += count;
+        });
+    }
+
+    private void addJobTerms(Map<String, Delta> deltas, String name, String company, long delta) {
+        addTerm(deltas, TYPE_TITLE, name, delta);
+        addTerm(deltas, TYPE_COMPANY, company, delta);
+    }
+
+    private void addTerm(Map<String, Delta> deltas, String type, String text, long delta) {
+        if (text == null || JobSuggestionTable.normalize(text).isEmpty()) {
+            return;
+        }
+        String key = type + ":" + JobSuggestionTable.normalize(text);
+        Delta existing = deltas.get(key);
+        deltas.put(key, new Delta(type, text.trim(), (existing == null ? 0 : existing.delta()) + delta));
+    }
+
+    private void applyAfterCommit(Map<String, Delta> deltas) {
+        deltas.values().removeIf(delta -> delta.delta() == 0);
+        if (!deltas.isEmpty()) {
+            AfterCommit.run(() -> apply(deltas));
+        }
+    }
+
+    private synchronized void apply(Map<String, Delta> deltas) {
+        deltas.forEach((key, delta) -> {
+            Term term = terms.computeIfAbsent(key, k -> new Term(delta.type(), delta.text()));
+            term.count += delta.delta();
+            if (term.count <= 0) {
+                terms.remove(key);
+            }
+        });
+        dirty = true;
+    }
+
+    public record JobChange(String previousName, String previousCompany, Job job) {
+    }
+
+    private record Delta(String type, String text, long delta) {
+    }
+
+    private static final class Term {
+        private final String type;
+        private String display;
+        private long displayCount;
+        private long count;
+
+        private Term(String type, String display) {
+            this.type = type;
+            this.display = display.trim();
+        }
+    }
+}
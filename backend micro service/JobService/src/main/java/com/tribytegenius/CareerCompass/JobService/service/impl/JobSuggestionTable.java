@@ -0,0 +1,174 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix index behind GET /api/jobs/suggest.
+ *
+ * Every suggestion is keyed by its normalized text and by each word-start suffix
+ * ("senior java developer", "java developer", "developer"), all kept in one sorted array so
+ * the keys matching a prefix form a contiguous range. Suggestions are stored in rank order,
+ * so the best matches are simply the smallest distinct owner indexes in that range.
+ * Prefixes matching more than HEAVY_RANGE keys have their results precomputed, which bounds
+ * every lookup to a hash probe or a scan of at most HEAVY_RANGE keys.
+ */
+final class JobSuggestionTable {
+
+    static final int HEAVY_RANGE = 256;
+
+    // Most frequent first, then shorter, then alphabetical
+    private static final Comparator<JobSuggestion> RANK = Comparator
+            .comparingLong(JobSuggestion::getCount).reversed()
+            .thenComparingInt(suggestion -> suggestion.getText().length())
+            .thenComparing(JobSuggestion::getText)
+            .thenComparing(JobSuggestion::getType);
+
+    private final JobSuggestion[] suggestions;
+    private final String[] keys;
+    private final int[] owners;
+    private final int maxResults;
+    private final Map<String, List<JobSuggestion>> heavyPrefixes = new HashMap<>();
+
+    private JobSuggestionTable(JobSuggestion[] suggestions, String[] keys, int[] owners, int maxResults) {
+        this.suggestions = suggestions;
+        this.keys = keys;
+        this.owners = owners;
+        this.maxResults = maxResults;
+        precompute(0, keys.length, 0);
+    }
+
+    static JobSuggestionTable build(List<JobSuggestion> suggestions, int maxResults) {
+        JobSuggestion[] ranked = suggestions.toArray(new JobSuggestion[0]);
+        Arrays.sort(ranked, RANK);
+
+        List<IndexKey> indexKeys = new ArrayList<>();
+        for (int owner = 0; owner < ranked.length; owner++) {
+            String text = normalize(ranked[owner].getText());
+            int start = 0;
+            while (!text.isEmpty()) {
+                indexKeys.add(new IndexKey(text.substring(start), owner));
+                int space = text.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+        }
+        indexKeys.sort(Comparator.comparing(IndexKey::key).thenComparingInt(IndexKey::owner));
+
+        String[] keys = new String[indexKeys.size()];
+        int[] owners = new int[indexKeys.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = indexKeys.get(i).key();
+            owners[i] = indexKeys.get(i).owner();
+        }
+        return new JobSuggestionTable(ranked, keys, owners, maxResults);
+    }
+
+    // Lowercase with whitespace collapsed to single spaces
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    // Like normalize, but a trailing space is kept: "java " must not match "javascript"
+    static String normalizePrefix(String prefix) {
+        String normalized = normalize(prefix);
+        return !normalized.isEmpty() && Character.isWhitespace(prefix.charAt(prefix.length() - 1))
+                ? normalized + " "
+                : normalized;
+    }
+
+    int size() {
+        return suggestions.length;
+    }
+
+    List<JobSuggestion> suggest(String normalizedPrefix, int limit) {
+        int size = Math.min(limit, maxResults);
+        if (normalizedPrefix.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        List<JobSuggestion> heavy = heavyPrefixes.get(normalizedPrefix);
+        if (heavy != null) {
+            return heavy.size() <= size ? heavy : heavy.subList(0, size);
+        }
+        return top(lowerBound(normalizedPrefix), lowerBound(normalizedPrefix + Character.MAX_VALUE), size);
+    }
+
+    // keys[lo, hi) share their first depth characters
+    private void precompute(int lo, int hi, int depth) {
+        if (hi - lo <= HEAVY_RANGE) {
+            return;
+        }
+        if (depth > 0) {
+            heavyPrefixes.put(keys[lo].substring(0, depth), top(lo, hi, maxResults));
+        }
+        int start = lo;
+        // A key equal to the prefix itself sorts first and has no next character
+        while (start < hi && keys[start].length() <= depth) {
+            start++;
+        }
+        while (start < hi) {
+            char next = keys[start].charAt(depth);
+            int end = start + 1;
+            while (end < hi && keys[end].charAt(depth) == next) {
+                end++;
+            }
+            precompute(start, end, depth + 1);
+            start = end;
+        }
+    }
+
+    // Smallest distinct owners in keys[lo, hi), i.e. the best-ranked suggestions
+    private List<JobSuggestion> top(int lo, int hi, int limit) {
+        int[] best = new int[limit];
+        int size = 0;
+        for (int i = lo; i < hi; i++) {
+            int owner = owners[i];
+            if (size == limit && owner >= best[size - 1]) {
+                continue;
+            }
+            int position = Arrays.binarySearch(best, 0, size, owner);
+            if (position >= 0) {
+                continue;
+            }
+            position = -position - 1;
+            int shifted = (size < limit ? size : limit - 1) - position;
+            System.arraycopy(best, position, best, position + 1, shifted);
+            best[position] = owner;
+            if (size < limit) {
+                size++;
+            }
+        }
+
+        List<JobSuggestion> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(suggestions[best[i]]);
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private record IndexKey(String key, int owner) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bloom filter of every job url, so ingestion only looks up urls that might already exist.
+ *
+ * Loaded at startup by streaming jobs.url, then updated by this node's inserts and url changes.
+ * Until the first load finishes every url counts as possibly present. Urls inserted by other
+ * nodes are missing until the next rebuild (jobs.ingest.url-filter.rebuild-interval-ms); an event
+ * for one skips the lookup and is then rejected by the url constraint, which ingestion treats as
+ * a duplicate. Deleted urls stay in the filter until the rebuild and only cost a lookup.
+ */
+@Service
+public class JobUrlFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobUrlFilter.class);
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final boolean enabled;
+    private final long expectedUrls;
+    private final double falsePositiveRate;
+
+    private volatile UrlBloomFilter filter;
+    // While a rebuild streams urls, inserts go to both filters so none is lost at the swap
+    private volatile UrlBloomFilter building;
+
+    private final Counter lookupsSaved;
+    private final Counter falsePositives;
+
+    public JobUrlFilter(DataSource dataSource,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${jobs.ingest.url-filter.enabled:true}") boolean enabled,
+                        @Value("${jobs.ingest.url-filter.expected-urls:2000000}") long expectedUrls,
+                        @Value("${jobs.ingest.url-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                        @Value("${jobs.ingest.url-filter.fetch-size:5000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedUrls = expectedUrls;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.lookupsSaved = Counter.builder("jobs.ingest.url.filter.lookups.saved")
+                .description("Ingested urls the url filter proved new, skipping the database lookup")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("jobs.ingest.url.filter.false.positives")
+                .description("Urls the url filter reported as possibly present that the database did not have")
+                .register(meterRegistry);
+        Gauge.builder("jobs.ingest.url.filter.size", this, urlFilter -> urlFilter.loaded(UrlBloomFilter::size))
+                .description("Urls added to the url filter")
+                .register(meterRegistry);
+        Gauge.builder("jobs.ingest.url.filter.bytes", this, urlFilter -> urlFilter.loaded(UrlBloomFilter::sizeInBytes))
+                .description("Memory held by the url filter bit array")
+                .register(meterRegistry);
+        Gauge.builder("jobs.ingest.url.filter.false.positive.rate", this,
+                        urlFilter -> urlFilter.loaded(UrlBloomFilter::expectedFalsePositiveRate))
+                .description("Expected false-positive rate of the url filter at its current size")
+                .register(meterRegistry);
+    }
+
+    /**
+     * False only when the url was never added, so the caller can skip the existence check.
+     * Always true while the filter is disabled or not loaded yet.
+     */
+    public boolean mightContain(String url) {
+        UrlBloomFilter current = filter;
+        if (current == null || url == null || current.mightContain(url)) {
+            return true;
+        }
+        lookupsSaved.increment();
+        return false;
+    }
+
+    // Called with the number of urls that passed mightContain but were not in the database
+    public void recordFalsePositives(int count) {
+        if (count > 0 && filter != null) {
+            falsePositives.increment(count);
+        }
+    }
+
+    // Added before commit: a rolled back insert only leaves a false positive behind
+    public void add(String url) {
+        if (!enabled || url == null) {
+            return;
+        }
+        // building before filter: a rebuild swapping in between still sees the url in the new filter
+        UrlBloomFilter next = building;
+        if (next != null) {
+            next.add(url);
+        }
+        UrlBloomFilter current = filter;
+        if (current != null && current != next) {
+            current.add(url);
+        }
+    }
+
+    public void addAll(Collection<String> urls) {
+        urls.forEach(this::add);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.ingest.url-filter.rebuild-interval-ms:21600000}",
+            initialDelayString = "${jobs.ingest.url-filter.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        UrlBloomFilter next = new UrlBloomFilter(expectedUrls, falsePositiveRate);
+        building = next;
+        try {
+            long started = System.currentTimeMillis();
+            // May read a lagging replica; urls it misses are caught by the url constraint
+            readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                    "SELECT url FROM jobs", resultSet -> {
+                        next.add(resultSet.getString(1));
+                    }));
+            filter = next;
+            logger.info("Loaded {} job urls into the url filter ({} KB) in {} ms",
+                    next.size(), next.sizeInBytes() / 1024, System.currentTimeMillis() - started);
+            if (next.size() > expectedUrls) {
+                logger.warn("Url filter holds {} urls, more than jobs.ingest.url-filter.expected-urls={}, "
+                        + "so its false-positive rate is above target", next.size(), expectedUrls);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to load job urls into the url filter, keeping the previous one: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private double loaded(ToDoubleFunction<UrlBloomFilter> value) {
+        UrlBloomFilter current = filter;
+        return current == null ? 0 : value.applyAsDouble(current);
+    }
+}
@@ -1,18 +1,43 @@
 package com.tribytegenius.CareerCompass.JobService.service.impl;
 
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import com.tribytegenius.CareerCompass.Events.event.EventDecoder;
+import com.tribytegenius.CareerCompass.Events.event.MalformedEventException;
+import com.tribytegenius.CareerCompass.Events.event.PythonJobEvent;
 import com.tribytegenius.CareerCompass.JobService.model.Job;
 import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Ingests jobs crawled by the Python service from the job-created queue.
+ *
+ * With jobs.ingest.batch.enabled (default) messages are consumed in batches of up to
+ * jobs.ingest.batch.size: one url lookup and one JDBC-batched insert per batch, and the whole
+ * batch is acked at once. Otherwise each message is looked up and saved on its own.
+ * Either way, urls that JobUrlFilter proves new skip the existence lookup. Messages are decoded
+ * by EventDecoder; malformed ones and events other than CREATED go to the dead-letter queue.
+ * Jobs that fail to store, e.g. while the database is unreachable, are retried through
+ * DeadLetterPublisher's delay tiers, so they neither block the queue nor get lost.
+ * Events carrying x-search-id are counted towards that search in SearchJobRegistry once they are
+ * stored, skipped or parked; retried ones count when they come back.
+ */
 @Service
 public class PythonJobEventListener {
 
@@ -21,65 +46,295 @@ public class PythonJobEventListener {
     @Autowired
     private JobRepository jobRepository;
 
-    @RabbitListener(queues = "${rabbitmq.queues.job-created}")
-    @Transactional
-    public void handlePythonJobCreated(Map<String, Object> event) {
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Autowired
+    private JobFacetCounter jobFacetCounter;
+
+    @Autowired
+    private JobSuggestionIndex jobSuggestionIndex;
+
+    @Autowired
+    private JobDeduplicator jobDeduplicator;
+
+    @Autowired
+    private JobUrlFilter jobUrlFilter;
+
+    @Autowired
+    private EventDecoder eventDecoder;
+
+    @Autowired
+    private DeadLetterPublisher deadLetterPublisher;
+
+    @Autowired
+    private IngestMetrics ingestMetrics;
+
+    @Autowired
+    private SearchJobRegistry searchJobRegistry;
+
+    @RabbitListener(queues = "${rabbitmq.queues.job-created}",
+            autoStartup = "#{!${jobs.ingest.batch.enabled:true}}")
+    public void handlePythonJobCreated(Message message) {
+        long started = System.nanoTime();
+        Map<String, SearchTally> searches = new HashMap<>();
+        PythonJobEvent event = decode(message);
+        if (event == null) {
+            tally(searches, message, false);
+            recordSearches(searches);
+            ingestMetrics.recordSingle(started);
+            return;
+        }
+        if (event.jobId() != null) {
+            ingestMetrics.recordMessages(IngestMetrics.Result.DUPLICATE, 1);
+            ingestMetrics.recordSingle(started);
+            return;
+        }
         try {
-            String eventType = (String) event.get("eventType");
-            
-            if ("CREATED".equals(eventType)) {
-                // Extract job data from event
-                String name = (String) event.get("name");
-                String company = (String) event.get("company");
-                String type = (String) event.get("type");
-                String location = (String) event.get("location");
-                String website = (String) event.get("website");
-                String url = (String) event.get("url");
-                String status = (String) event.get("status");
-                String timeStr = (String) event.get("time");
-                
-                // Parse time
-                LocalDateTime time = LocalDateTime.now();
-                if (timeStr != null && !timeStr.isEmpty()) {
-                    try {
-                        // Handle different time formats
-                        if (timeStr.contains("T")) {
-                            time = LocalDateTime.parse(timeStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                        } else {
-                            time = LocalDateTime.parse(timeStr, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-                        }
-                    } catch (Exception e) {
-                        logger.warn("Failed to parse time: {}, using current time", timeStr);
-                        time = LocalDateTime.now();
-                    }
-                }
-                
-                // Check if job already exists by URL
-                if (jobRepository.findByUrl(url).isPresent()) {
-                    logger.info("Job already exists with URL: {}", url);
-                    return;
-                }
-                
-                // Create new job
-                Job job = new Job();
-                job.setName(name);
-                job.setCompany(company);
-                job.setType(type);
-                job.setLocation(location);
-                job.setWebsite(website);
-                job.setUrl(url);
-                job.setStatus(status);
-                job.setTime(time);
-                
-                Job savedJob = jobRepository.save(job);
+            Job job = toJob(event);
+            Job savedJob = transactionTemplate.execute(status -> ingestOne(job));
+            if (savedJob != null) {
+                ingestMetrics.recordMessages(IngestMetrics.Result.ACCEPTED, 1);
                 logger.info("Created job from Python Service: {} at {}", savedJob.getName(), savedJob.getCompany());
-                
-            } else {
-                logger.warn("Received unknown event type: {}", eventType);
             }
-            
+            tally(searches, message, savedJob != null);
+
+        } catch (DataIntegrityViolationException e) {
+            // Another consumer stored the url after the filter or lookup said it was new
+            ingestMetrics.recordMessages(IngestMetrics.Result.DUPLICATE, 1);
+            logger.info("Job already exists with URL: {}", event.url());
+            tally(searches, message, false);
         } catch (Exception e) {
+            ingestMetrics.recordMessages(IngestMetrics.Result.FAILED, 1);
             logger.error("Error processing Python job event: {}", e.getMessage(), e);
+            if (!deadLetterPublisher.retry(message, e)) {
+                tally(searches, message, false);
+            }
+        } finally {
+            recordSearches(searches);
+            ingestMetrics.recordSingle(started);
+        }
+    }
+
+    // Null when the url exists or the job is a dropped near-duplicate
+    private Job ingestOne(Job job) {
+        // Check if job already exists by URL, unless the url filter proves it is new
+        if (jobUrlFilter.mightContain(job.getUrl())) {
+            if (ingestMetrics.lookupTimer().record(() -> jobRepository.findByUrl(job.getUrl())).isPresent()) {
+                ingestMetrics.recordMessages(IngestMetrics.Result.DUPLICATE, 1);
+                logger.info("Job already exists with URL: {}", job.getUrl());
+                return null;
+            }
+            jobUrlFilter.recordFalsePositives(1);
+        }
+
+        if (!linkOrDropDuplicate(job)) {
+            ingestMetrics.recordMessages(IngestMetrics.Result.NEAR_DUPLICATE, 1);
+            return null;
+        }
+
+        Job savedJob = ingestMetrics.insertTimer().record(() -> jobRepository.saveAndFlush(job));
+        jobUrlFilter.add(savedJob.getUrl());
+        jobCatalogVersion.bump();
+        jobFacetCounter.jobAdded(savedJob);
+        jobSuggestionIndex.jobAdded(savedJob);
+        jobDeduplicator.jobAdded(savedJob);
+        return savedJob;
+    }
+
+    /**
+     * Batch mode. Urls repeated within the batch or already stored, and our own CREATED events, count
+     * as duplicates. If another consumer commits one of the urls first, the batch insert fails on the
+     * url constraint and the batch is retried job by job, so only the conflicting jobs are skipped.
+     * When the batch fails otherwise every job in it is retried; in the job by job pass only the
+     * jobs that fail are.
+     */
+    @RabbitListener(queues = "${rabbitmq.queues.job-created}",
+            containerFactory = "jobBatchListenerContainerFactory",
+            autoStartup = "${jobs.ingest.batch.enabled:true}")
+    public void handlePythonJobsCreated(List<Message> messages) {
+        long started = System.nanoTime();
+        Map<String, Job> jobsByUrl = new LinkedHashMap<>();
+        Map<String, Message> messagesByUrl = new HashMap<>();
+        Map<String, SearchTally> searches = new HashMap<>();
+        int rejected = 0;
+        for (Message message : messages) {
+            PythonJobEvent event = decode(message);
+            if (event == null) {
+                rejected++;
+                tally(searches, message, false);
+            } else if (event.jobId() == null && jobsByUrl.putIfAbsent(event.url(), toJob(event)) == null) {
+                messagesByUrl.put(event.url(), message);
+            } else {
+                tally(searches, message, false);
+            }
+        }
+        List<Job> candidates = new ArrayList<>(jobsByUrl.values());
+        int repeated = messages.size() - rejected - candidates.size();
+
+        IngestResult result;
+        // Urls whose messages went back through the retry tiers
+        Set<String> retriedUrls = new HashSet<>();
+        try {
+            result = transactionTemplate.execute(status -> ingest(candidates));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Job batch conflicted with a concurrent insert, retrying job by job: {}",
+                    e.getMostSpecificCause().getMessage());
+            result = new IngestResult(0, 0, 0, 0, List.of());
+            for (Job job : candidates) {
+                job.setId(null);
+                try {
+                    result = result.plus(transactionTemplate.execute(status -> ingest(List.of(job))));
+                } catch (DataIntegrityViolationException conflict) {
+                    result = result.plus(new IngestResult(0, 1, 0, 0, List.of()));
+                } catch (Exception failure) {
+                    logger.error("Error ingesting Python job {}: {}", job.getUrl(), failure.getMessage());
+                    if (deadLetterPublisher.retry(messagesByUrl.get(job.getUrl()), failure)) {
+                        retriedUrls.add(job.getUrl());
+                    }
+                    result = result.plus(new IngestResult(0, 0, 0, 1, List.of()));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error processing Python job batch of {} events, retrying {} jobs: {}",
+                    messages.size(), candidates.size(), e.getMessage(), e);
+            for (Job job : candidates) {
+                if (deadLetterPublisher.retry(messagesByUrl.get(job.getUrl()), e)) {
+                    retriedUrls.add(job.getUrl());
+                }
+            }
+            result = new IngestResult(0, 0, 0, candidates.size(), List.of());
+        }
+
+        Set<String> acceptedUrls = new HashSet<>(result.acceptedUrls());
+        for (Job job : candidates) {
+            if (!retriedUrls.contains(job.getUrl())) {
+                tally(searches, messagesByUrl.get(job.getUrl()), acceptedUrls.contains(job.getUrl()));
+            }
+        }
+        recordSearches(searches);
+
+        ingestMetrics.recordMessages(IngestMetrics.Result.ACCEPTED, result.accepted());
+        ingestMetrics.recordMessages(IngestMetrics.Result.DUPLICATE, result.duplicates() + repeated);
+        ingestMetrics.recordMessages(IngestMetrics.Result.NEAR_DUPLICATE, result.nearDuplicates());
+        ingestMetrics.recordMessages(IngestMetrics.Result.FAILED, result.failed());
+        ingestMetrics.recordBatch(started, messages.size());
+        // Failed jobs either went to a retry tier or were parked after the last one
+        logger.info("Ingested Python job batch of {} events: {} accepted, {} duplicates, {} near-duplicates dropped, {} retried, {} parked, {} rejected",
+                messages.size(), result.accepted(), result.duplicates() + repeated, result.nearDuplicates(),
+                retriedUrls.size(), result.failed() - retriedUrls.size(), rejected);
+    }
+
+    // Null when the message was dead-lettered. Events with a jobId are our own and already stored
+    private PythonJobEvent decode(Message message) {
+        String reason;
+        try {
+            PythonJobEvent event = eventDecoder.decodePythonJob(message);
+            if ("CREATED".equals(event.eventType())) {
+                ingestMetrics.recordLag(event.timestamp());
+                return event;
+            }
+            reason = "Unexpected event type: " + event.eventType();
+        } catch (MalformedEventException e) {
+            reason = e.getMessage();
+        }
+        deadLetterPublisher.reject(message, reason);
+        ingestMetrics.recordMessages(IngestMetrics.Result.MALFORMED, 1);
+        return null;
+    }
+
+    // Runs inside the caller's transaction; cache and index updates apply after commit
+    private IngestResult ingest(List<Job> candidates) {
+        // Only urls the url filter cannot rule out are looked up
+        List<String> possiblyExisting = candidates.stream()
+                .map(Job::getUrl)
+                .filter(jobUrlFilter::mightContain)
+                .toList();
+        Set<String> existingUrls = possiblyExisting.isEmpty()
+                ? Set.of()
+                : ingestMetrics.lookupTimer().record(() -> jobRepository.findExistingUrls(possiblyExisting));
+        jobUrlFilter.recordFalsePositives(possiblyExisting.size() - existingUrls.size());
+
+        List<Job> newJobs = new ArrayList<>();
+        int nearDuplicates = 0;
+        for (Job job : candidates) {
+            if (existingUrls.contains(job.getUrl())) {
+                continue;
+            }
+            // Only compared against committed jobs, so near-duplicates within one batch are both kept
+            if (!linkOrDropDuplicate(job)) {
+                nearDuplicates++;
+                continue;
+            }
+            newJobs.add(job);
+        }
+
+        if (!newJobs.isEmpty()) {
+            ingestMetrics.insertTimer().record(() -> {
+                jobRepository.saveAll(newJobs);
+                jobRepository.flush();
+            });
+            jobUrlFilter.addAll(newJobs.stream().map(Job::getUrl).toList());
+            jobCatalogVersion.bump();
+            jobFacetCounter.jobsAdded(newJobs);
+            jobSuggestionIndex.jobsAdded(newJobs);
+            jobDeduplicator.jobsAdded(newJobs);
+        }
+        return new IngestResult(newJobs.size(), existingUrls.size(), nearDuplicates, 0,
+                newJobs.stream().map(Job::getUrl).toList());
+    }
+
+    // Same posting from another job board under a different url. False when it is dropped
+    private boolean linkOrDropDuplicate(Job job) {
+        Long duplicateOf = jobDeduplicator.findDuplicateOf(job);
+        if (duplicateOf != null && jobDeduplicator.dropsDuplicates()) {
+            logger.info("Dropped near-duplicate of job {}: {} at {}", duplicateOf, job.getName(), job.getCompany());
+            return false;
+        }
+        job.setDuplicateOf(duplicateOf);
+        return true;
+    }
+
+    private Job toJob(PythonJobEvent event) {
+        Job job = new Job();
+        job.setName(event.name());
+        job.setCompany(event.company());
+        job.setType(event.type());
+        job.setLocation(event.location());
+        job.setWebsite(event.website());
+        job.setUrl(event.url());
+        job.setStatus(event.status());
+        job.setTime(event.time() != null ? event.time() : LocalDateTime.now());
+        return job;
+    }
+
+    // Counts a message handled for good towards the search it came from, if any
+    private void tally(Map<String, SearchTally> searches, Message message, boolean ingested) {
+        Object searchId = message.getMessageProperties().getHeader(EventContract.SEARCH_ID_HEADER);
+        if (searchId != null) {
+            searches.merge(searchId.toString(), new SearchTally(ingested ? 1 : 0, 1), SearchTally::plus);
+        }
+    }
+
+    private void recordSearches(Map<String, SearchTally> searches) {
+        searches.forEach((searchId, tally) -> searchJobRegistry.recordIngestion(searchId, tally.ingested(), tally.processed()));
+    }
+
+    private record IngestResult(int accepted, int duplicates, int nearDuplicates, int failed, List<String> acceptedUrls) {
+        IngestResult plus(IngestResult other) {
+            List<String> urls = new ArrayList<>(acceptedUrls);
+            urls.addAll(other.acceptedUrls);
+            return new IngestResult(accepted + other.accepted, duplicates + other.duplicates,
+                    nearDuplicates + other.nearDuplicates, failed + other.failed, urls);
+        }
+    }
+
+    private record SearchTally(long ingested, long processed) {
+        SearchTally plus(SearchTally other) {
+            return new SearchTally(ingested + other.ingested, processed + other.processed);
         }
     }
 }
@@ -0,0 +1,87 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes DELETED events for the jobs migration V3 removed because an earlier job had the same
+ * url, so UserJobService drops favorites that point at them. Runs at startup until every row of
+ * removed_duplicate_jobs is announced. Each batch is marked in the transaction that writes its
+ * events to EventOutbox, and locked with SKIP LOCKED so replicas starting together split the work.
+ * The rows are kept afterwards as the mapping from each removed id to the job kept in its place.
+ */
+@Service
+public class RemovedDuplicateJobPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemovedDuplicateJobPublisher.class);
+
+    private static final String SELECT_SQL = "SELECT id, name, company, type, location, website, url"
+            + " FROM removed_duplicate_jobs WHERE announced_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobEventPublisher jobEventPublisher;
+
+    @Value("${jobs.partitions.event-batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishRemovedDuplicates() {
+        long announced = 0;
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> {
+                    List<JobEventDTO> batch = jdbcTemplate.query(SELECT_SQL, (resultSet, rowNum) -> new JobEventDTO(
+                            resultSet.getLong("id"),
+                            resultSet.getString("name"),
+                            resultSet.getString("company"),
+                            resultSet.getString("type"),
+                            resultSet.getString("location"),
+                            resultSet.getString("website"),
+                            resultSet.getString("url"),
+                            "DELETED"
+                    ), batchSize);
+                    if (batch.isEmpty()) {
+                        return 0;
+                    }
+                    if (!jobEventPublisher.publishJobsDeleted(batch)) {
+                        status.setRollbackOnly();
+                        return -1;
+                    }
+                    String ids = batch.stream().map(event -> event.getJobId().toString()).collect(Collectors.joining(","));
+                    jdbcTemplate.update("UPDATE removed_duplicate_jobs SET announced_at = now() WHERE id IN (" + ids + ")");
+                    return batch.size();
+                });
+                if (published != null && published > 0) {
+                    announced += published;
+                }
+            } while (published != null && published == batchSize);
+
+            if (published == null || published < 0) {
+                logger.warn("DELETED events for jobs removed as duplicate urls could not be published, retrying on next start");
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to publish DELETED events for jobs removed as duplicate urls: {}", e.getMessage());
+        }
+        if (announced > 0) {
+            logger.info("Published DELETED events for {} jobs removed as duplicate urls", announced);
+        }
+    }
+}
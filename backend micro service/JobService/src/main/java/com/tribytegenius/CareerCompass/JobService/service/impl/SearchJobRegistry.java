@@ -0,0 +1,292 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchProgress;
+import com.tribytegenius.CareerCompass.JobService.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tracks the crawls SearchTriggerDispatcher triggers, by ticket id, for GET /api/jobs/search/{id}
+ * and its server-sent event stream.
+ *
+ * The dispatcher records when a crawl is queued, starts and finishes, with the number of jobs the
+ * Python service found and published. PythonJobEventListener adds the jobs it ingests from events
+ * carrying the x-search-id header. A finished crawl is INGESTING until as many of its events were
+ * handled as were published, or for at most jobs.search.progress.settle-seconds, then COMPLETED.
+ *
+ * Searches live in Redis hashes (jobs:search:ticket:{id}) for jobs.search.progress.ttl-seconds, so
+ * any replica can report them whichever node crawled or ingested; without Redis they are per node.
+ * Subscribers are held by the node they connected to, which polls their searches every
+ * jobs.search.progress.push-interval-ms and sends an event whenever the progress changed.
+ */
+@Service
+public class SearchJobRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchJobRegistry.class);
+
+    private static final String KEY_PREFIX = "jobs:search:ticket:";
+
+    // Stored states; INGESTING and COMPLETED are derived from FINISHED when read
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String FINISHED = "FINISHED";
+    private static final String FAILED = "FAILED";
+    private static final String INGESTING = "INGESTING";
+    private static final String COMPLETED = "COMPLETED";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${jobs.search.trigger.redis-enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${jobs.search.progress.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${jobs.search.progress.settle-seconds:60}")
+    private long settleSeconds;
+
+    @Value("${jobs.search.progress.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    // Stand-in for the Redis hashes when Redis is disabled or unreachable
+    private Cache<String, Map<String, String>> localSearches;
+
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, SearchProgress> lastSent = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        localSearches = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public void queued(String id) {
+        write(id, Map.of("status", QUEUED, "createdAt", now()));
+    }
+
+    public void started(String id) {
+        write(id, Map.of("status", RUNNING, "startedAt", now()));
+    }
+
+    public void finished(String id, Integer jobsFound, Integer jobsPublished) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", FINISHED);
+        fields.put("finishedAt", now());
+        if (jobsFound != null) {
+            fields.put("jobsFound", jobsFound.toString());
+        }
+        if (jobsPublished != null) {
+            fields.put("jobsPublished", jobsPublished.toString());
+        }
+        write(id, fields);
+    }
+
+    public void failed(String id, String error) {
+        write(id, Map.of("status", FAILED, "finishedAt", now(), "error", error == null ? "" : error));
+    }
+
+    // A search that could not be queued was never handed out
+    public void discard(String id) {
+        localSearches.invalidate(id);
+        if (redisEnabled) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + id);
+            } catch (Exception e) {
+                logger.debug("Failed to discard search {} in Redis: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    // Called by ingestion once the events are handled for good; ignored for unknown or expired searches
+    public void recordIngestion(String id, long ingested, long processed) {
+        if (redisEnabled) {
+            try {
+                String key = KEY_PREFIX + id;
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                    redisTemplate.opsForHash().increment(key, "jobsIngested", ingested);
+                    redisTemplate.opsForHash().increment(key, "jobsProcessed", processed);
+                }
+                return;
+            } catch (Exception e) {
+                logger.debug("Failed to record ingestion of search {} in Redis: {}", id, e.getMessage());
+            }
+        }
+        Map<String, String> fields = localSearches.getIfPresent(id);
+        if (fields != null) {
+            fields.merge("jobsIngested", String.valueOf(ingested), (a, b) -> String.valueOf(Long.parseLong(a) + Long.parseLong(b)));
+            fields.merge("jobsProcessed", String.valueOf(processed), (a, b) -> String.valueOf(Long.parseLong(a) + Long.parseLong(b)));
+        }
+    }
+
+    public SearchProgress get(String id) {
+        Map<String, String> fields = read(id);
+        if (fields.isEmpty()) {
+            throw new ResourceNotFoundException("Search", "id", id);
+        }
+        return toProgress(id, fields);
+    }
+
+    // Sends the current progress right away, then every change until the search is done
+    public SseEmitter subscribe(String id) {
+        SearchProgress progress = get(id);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        if (!send(emitter, progress)) {
+            return emitter;
+        }
+        if (progress.isDone()) {
+            emitter.complete();
+            return emitter;
+        }
+        subscribers.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        lastSent.putIfAbsent(id, progress);
+        emitter.onCompletion(() -> unsubscribe(id, emitter));
+        emitter.onTimeout(() -> unsubscribe(id, emitter));
+        emitter.onError(error -> unsubscribe(id, emitter));
+        return emitter;
+    }
+
+    // One read per watched search, however many clients watch it
+    @Scheduled(fixedDelayString = "${jobs.search.progress.push-interval-ms:1000}")
+    public void pushProgress() {
+        subscribers.forEach((id, emitters) -> {
+            Map<String, String> fields = read(id);
+            SearchProgress progress = fields.isEmpty() ? null : toProgress(id, fields);
+            if (progress != null && progress.equals(lastSent.get(id))) {
+                return;
+            }
+            for (SseEmitter emitter : emitters) {
+                if (progress != null && !send(emitter, progress)) {
+                    continue;
+                }
+                // Expired searches end the stream too
+                if (progress == null || progress.isDone()) {
+                    emitter.complete();
+                }
+            }
+            if (progress == null || progress.isDone()) {
+                subscribers.remove(id);
+                lastSent.remove(id);
+            } else if (subscribers.containsKey(id)) {
+                lastSent.put(id, progress);
+            }
+        });
+    }
+
+    private boolean send(SseEmitter emitter, SearchProgress progress) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(progress));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the emitter's callbacks drop it
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(String id, SseEmitter emitter) {
+        subscribers.computeIfPresent(id, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        if (!subscribers.containsKey(id)) {
+            lastSent.remove(id);
+        }
+    }
+
+    private SearchProgress toProgress(String id, Map<String, String> fields) {
+        String status = fields.getOrDefault("status", QUEUED);
+        Integer jobsPublished = intField(fields, "jobsPublished");
+        long jobsProcessed = longField(fields, "jobsProcessed");
+        Long finishedAt = fields.containsKey("finishedAt") ? Long.valueOf(fields.get("finishedAt")) : null;
+        if (FINISHED.equals(status)) {
+            boolean settled = jobsPublished != null && jobsProcessed >= jobsPublished;
+            boolean waitedLongEnough = finishedAt != null
+                    && System.currentTimeMillis() - finishedAt >= Duration.ofSeconds(settleSeconds).toMillis();
+            status = settled || waitedLongEnough ? COMPLETED : INGESTING;
+        }
+        String error = fields.get("error");
+        return new SearchProgress(
+                id,
+                status,
+                COMPLETED.equals(status) || FAILED.equals(status),
+                intField(fields, "jobsFound"),
+                jobsPublished,
+                longField(fields, "jobsIngested"),
+                jobsProcessed,
+                error == null || error.isEmpty() ? null : error,
+                timeField(fields, "createdAt"),
+                timeField(fields, "startedAt"),
+                timeField(fields, "finishedAt")
+        );
+    }
+
+    private void write(String id, Map<String, String> fields) {
+        if (redisEnabled) {
+            try {
+                String key = KEY_PREFIX + id;
+                redisTemplate.opsForHash().putAll(key, fields);
+                redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
+                return;
+            } catch (Exception e) {
+                logger.warn("Failed to record search {} in Redis: {}", id, e.getMessage());
+            }
+        }
+        localSearches.asMap().computeIfAbsent(id, k -> new ConcurrentHashMap<>()).putAll(fields);
+    }
+
+    private Map<String, String> read(String id) {
+        if (redisEnabled) {
+            try {
+                Map<String, String> fields = new HashMap<>();
+                redisTemplate.opsForHash().entries(KEY_PREFIX + id)
+                        .forEach((field, value) -> fields.put(field.toString(), value.toString()));
+                return fields;
+            } catch (Exception e) {
+                logger.debug("Failed to read search {} from Redis: {}", id, e.getMessage());
+            }
+        }
+        Map<String, String> fields = localSearches.getIfPresent(id);
+        return fields == null ? Map.of() : new HashMap<>(fields);
+    }
+
+    private static String now() {
+        return String.valueOf(System.currentTimeMillis());
+    }
+
+    private static Integer intField(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private static long longField(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static LocalDateTime timeField(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value)), ZoneId.systemDefault());
+    }
+}
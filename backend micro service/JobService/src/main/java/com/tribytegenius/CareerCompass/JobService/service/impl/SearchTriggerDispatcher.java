@@ -0,0 +1,319 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchRequestBody;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchTicket;
+import com.tribytegenius.CareerCompass.JobService.exception.SearchRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triggers Python crawls for POST /api/jobs/search without launching one per request.
+ *
+ * Requests are normalized (trimmed, whitespace collapsed, job types de-duplicated and sorted,
+ * compared case-insensitively), and an identical search within jobs.search.trigger.coalesce-window-seconds
+ * gets the ticket of the one already triggered instead of a new crawl. Other searches count against
+ * the user's jobs.search.trigger.rate-limit.max-requests per rate-limit.window-seconds and wait in a
+ * queue of jobs.search.trigger.queue-capacity, from which at most max-in-flight crawls run at once.
+ * A request over its rate limit or finding the queue full is rejected (429 / 503) rather than dropped.
+ *
+ * Coalescing keys (jobs:search:coalesce:*) and rate-limit counters (jobs:search:rate:*) live in
+ * Redis so all replicas share them; without Redis they are per node. The queue is per node.
+ * SearchJobRegistry follows each ticket, whose id is sent along for the Python events to carry.
+ */
+@Service
+public class SearchTriggerDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchTriggerDispatcher.class);
+
+    private static final String COALESCE_PREFIX = "jobs:search:coalesce:";
+    private static final String RATE_PREFIX = "jobs:search:rate:";
+    private static final String ANONYMOUS = "anonymous";
+
+    @Autowired
+    @Qualifier("pythonServiceClient")
+    private WebClient pythonServiceClient;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SearchJobRegistry searchJobRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${jobs.search.trigger.redis-enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${jobs.search.trigger.coalesce-window-seconds:300}")
+    private long coalesceWindowSeconds;
+
+    @Value("${jobs.search.trigger.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${jobs.search.trigger.max-in-flight:2}")
+    private int maxInFlight;
+
+    @Value("${jobs.search.trigger.crawl-timeout-seconds:300}")
+    private long crawlTimeoutSeconds;
+
+    @Value("${jobs.search.trigger.rate-limit.max-requests:5}")
+    private int rateLimitMaxRequests;
+
+    @Value("${jobs.search.trigger.rate-limit.window-seconds:60}")
+    private long rateLimitWindowSeconds;
+
+    private BlockingQueue<SearchTask> queue;
+    private Semaphore inFlightPermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Stand-ins for the Redis keys when Redis is disabled or unreachable
+    private Cache<String, String> localCoalesced;
+    private Cache<String, AtomicInteger> localRateCounts;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        inFlightPermits = new Semaphore(maxInFlight);
+        localCoalesced = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(coalesceWindowSeconds))
+                .build();
+        localRateCounts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(rateLimitWindowSeconds))
+                .build();
+        Gauge.builder("jobs.search.queue.size", queue, BlockingQueue::size)
+                .description("Search crawls waiting for a free slot")
+                .register(meterRegistry);
+        Gauge.builder("jobs.search.in.flight", inFlight, AtomicInteger::get)
+                .description("Search crawls running in the Python service")
+                .register(meterRegistry);
+    }
+
+    public SearchTicket submit(SearchRequestBody searchRequestBody, String userEmail) {
+        SearchRequestBody normalized = normalize(searchRequestBody);
+        String coalesceKey = COALESCE_PREFIX + DigestUtils.md5DigestAsHex(
+                canonicalForm(normalized).getBytes(StandardCharsets.UTF_8));
+
+        String existing = findCoalesced(coalesceKey);
+        if (existing != null) {
+            countRequest("coalesced");
+            return new SearchTicket(existing, true);
+        }
+
+        checkRateLimit(userEmail == null || userEmail.isBlank() ? ANONYMOUS : userEmail.toLowerCase(Locale.ROOT));
+
+        String ticketId = UUID.randomUUID().toString();
+        String winner = claimCoalesced(coalesceKey, ticketId);
+        if (!ticketId.equals(winner)) {
+            // An identical search was claimed between the lookup and the claim
+            countRequest("coalesced");
+            return new SearchTicket(winner, true);
+        }
+
+        normalized.setSearchId(ticketId);
+        searchJobRegistry.queued(ticketId);
+        if (!queue.offer(new SearchTask(ticketId, coalesceKey, normalized))) {
+            searchJobRegistry.discard(ticketId);
+            releaseCoalesced(coalesceKey);
+            countRequest("rejected");
+            throw new SearchRejectedException("Too many searches in progress, try again later",
+                    HttpStatus.SERVICE_UNAVAILABLE, 0);
+        }
+        countRequest("queued");
+        dispatch();
+        return new SearchTicket(ticketId, false);
+    }
+
+    // Starts queued crawls while slots are free; called on submit and whenever a crawl ends
+    private void dispatch() {
+        while (inFlightPermits.tryAcquire()) {
+            SearchTask task = queue.poll();
+            if (task == null) {
+                inFlightPermits.release();
+                // A task offered after the poll but before the release would otherwise wait for the next crawl
+                if (queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            trigger(task);
+        }
+    }
+
+    private void trigger(SearchTask task) {
+        inFlight.incrementAndGet();
+        searchJobRegistry.started(task.ticketId());
+        // Python Service will publish events when new jobs are found
+        pythonServiceClient.post()
+                .bodyValue(task.body())
+                .retrieve()
+                .bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .timeout(Duration.ofSeconds(crawlTimeoutSeconds))
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    inFlightPermits.release();
+                    dispatch();
+                })
+                .subscribe(
+                        response -> {
+                            logger.info("Python Service search {} completed: {}", task.ticketId(), response);
+                            finished(task.ticketId(), response);
+                        },
+                        error -> {
+                            logger.warn("Python Service search {} failed: {}", task.ticketId(), error.getMessage());
+                            searchJobRegistry.failed(task.ticketId(), error.getMessage());
+                            // Let the next identical search try again instead of joining a failed one
+                            releaseCoalesced(task.coalesceKey());
+                        });
+    }
+
+    // The Python service answers {"message", "total_found", "published"}; older versions omit published
+    private void finished(String ticketId, String response) {
+        Integer found = null;
+        Integer published = null;
+        try {
+            JsonNode body = objectMapper.readTree(response);
+            if (body != null) {
+                found = body.hasNonNull("total_found") ? body.get("total_found").asInt() : null;
+                published = body.hasNonNull("published") ? body.get("published").asInt() : null;
+            }
+        } catch (Exception e) {
+            logger.debug("Unexpected Python Service search response: {}", response);
+        }
+        searchJobRegistry.finished(ticketId, found, published);
+    }
+
+    private String findCoalesced(String coalesceKey) {
+        if (redisEnabled) {
+            try {
+                return redisTemplate.opsForValue().get(coalesceKey);
+            } catch (Exception e) {
+                logger.debug("Failed to read search coalescing key from Redis: {}", e.getMessage());
+            }
+        }
+        return localCoalesced.getIfPresent(coalesceKey);
+    }
+
+    // Returns the ticket id that now owns the key, ticketId when this call claimed it
+    private String claimCoalesced(String coalesceKey, String ticketId) {
+        if (redisEnabled) {
+            try {
+                Duration window = Duration.ofSeconds(coalesceWindowSeconds);
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(coalesceKey, ticketId, window))) {
+                    return ticketId;
+                }
+                String owner = redisTemplate.opsForValue().get(coalesceKey);
+                // The key can expire in between; the search is then simply not coalesced
+                return owner != null ? owner : ticketId;
+            } catch (Exception e) {
+                logger.debug("Failed to claim search coalescing key in Redis: {}", e.getMessage());
+            }
+        }
+        return localCoalesced.asMap().putIfAbsent(coalesceKey, ticketId) == null
+                ? ticketId
+                : localCoalesced.getIfPresent(coalesceKey);
+    }
+
+    private void releaseCoalesced(String coalesceKey) {
+        localCoalesced.invalidate(coalesceKey);
+        if (redisEnabled) {
+            try {
+                redisTemplate.delete(coalesceKey);
+            } catch (Exception e) {
+                logger.debug("Failed to release search coalescing key in Redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Fixed windows of rate-limit.window-seconds, counted per user
+    private void checkRateLimit(String user) {
+        long now = System.currentTimeMillis() / 1000;
+        long window = now / rateLimitWindowSeconds;
+        String key = RATE_PREFIX + user + ":" + window;
+        long count = -1;
+        if (redisEnabled) {
+            try {
+                Long incremented = redisTemplate.opsForValue().increment(key);
+                if (incremented != null) {
+                    count = incremented;
+                    if (count == 1) {
+                        redisTemplate.expire(key, Duration.ofSeconds(rateLimitWindowSeconds));
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Failed to count search rate limit in Redis: {}", e.getMessage());
+            }
+        }
+        if (count < 0) {
+            count = localRateCounts.get(key, k -> new AtomicInteger()).incrementAndGet();
+        }
+        if (count > rateLimitMaxRequests) {
+            countRequest("rate_limited");
+            throw new SearchRejectedException("Search rate limit of " + rateLimitMaxRequests + " per "
+                    + rateLimitWindowSeconds + " seconds exceeded", HttpStatus.TOO_MANY_REQUESTS,
+                    (window + 1) * rateLimitWindowSeconds - now);
+        }
+    }
+
+    private void countRequest(String result) {
+        meterRegistry.counter("jobs.search.requests", "result", result).increment();
+    }
+
+    // What is sent to the Python service: the first spelling of each job type is kept
+    private static SearchRequestBody normalize(SearchRequestBody body) {
+        Set<String> types = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (body.getType() != null) {
+            for (String type : body.getType()) {
+                String cleaned = clean(type);
+                if (!cleaned.isEmpty()) {
+                    types.add(cleaned);
+                }
+            }
+        }
+        return new SearchRequestBody(clean(body.getWebsite()), new ArrayList<>(types),
+                clean(body.getLocation()), body.getTime(), null);
+    }
+
+    private static String canonicalForm(SearchRequestBody normalized) {
+        return String.join("\n", normalized.getWebsite(), String.join(",", normalized.getType()),
+                normalized.getLocation(), String.valueOf(normalized.getTime())).toLowerCase(Locale.ROOT);
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+
+    private record SearchTask(String ticketId, String coalesceKey, SearchRequestBody body) {
+    }
+}
@@ -0,0 +1,13 @@
+-- Baseline jobs table. IF NOT EXISTS so databases created by ddl-auto or
+-- database/init.sql before migrations were introduced are adopted as-is
+CREATE TABLE IF NOT EXISTS jobs (
+    id BIGSERIAL PRIMARY KEY,
+    name TEXT NOT NULL,
+    company TEXT NOT NULL,
+    type TEXT NOT NULL,
+    location TEXT NOT NULL,
+    time TIMESTAMP NOT NULL,
+    status TEXT NOT NULL,
+    url TEXT NOT NULL,
+    website TEXT NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Weighted full-text search document for keyword queries (name > company > type > location).
+-- A stored generated column keeps it in sync on every insert/update without triggers.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(type, '')), 'C') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(location, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_search_vector ON jobs USING GIN (search_vector);
@@ -0,0 +1,34 @@
+-- Ingestion dedupes on url (findByUrl). Older databases may already hold duplicates: the
+-- earliest row of each url is kept so the unique index can be built, and the others are moved
+-- to removed_duplicate_jobs with the id kept in their place. RemovedDuplicateJobPublisher
+-- publishes DELETED events for them at startup, so UserJobService drops its copies
+CREATE TABLE IF NOT EXISTS removed_duplicate_jobs (
+    id BIGINT PRIMARY KEY,
+    kept_id BIGINT NOT NULL,
+    name TEXT NOT NULL,
+    company TEXT NOT NULL,
+    type TEXT NOT NULL,
+    location TEXT NOT NULL,
+    website TEXT NOT NULL,
+    url TEXT NOT NULL,
+    removed_at TIMESTAMP NOT NULL DEFAULT now(),
+    announced_at TIMESTAMP
+);
+
+INSERT INTO removed_duplicate_jobs (id, kept_id, name, company, type, location, website, url)
+SELECT a.id, kept.id, a.name, a.company, a.type, a.location, a.website, a.url
+FROM jobs a
+JOIN (SELECT url, min(id) AS id FROM jobs GROUP BY url HAVING count(*) > 1) kept
+    ON kept.url = a.url AND a.id > kept.id;
+
+DELETE FROM jobs a
+    USING removed_duplicate_jobs r
+    WHERE a.id = r.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_jobs_url ON jobs (url);
+
+-- status/website equality filters with the default newest-first sort
+CREATE INDEX IF NOT EXISTS idx_jobs_status_website_time ON jobs (status, website, time DESC);
+
+-- Unfiltered newest-first listing and the (time, id) keyset cursor
+CREATE INDEX IF NOT EXISTS idx_jobs_time_id ON jobs (time DESC, id DESC);
@@ -0,0 +1,12 @@
+-- Job ids move from IDENTITY to a pooled sequence (allocationSize 50 on Job.id) so Hibernate
+-- can batch inserts. The sequence increment must match the allocation size. jobs.id may be
+-- SERIAL (database/init.sql), BIGSERIAL (V1) or an identity column (old ddl-auto schemas)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'jobs' AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE jobs ALTER COLUMN id SET INCREMENT BY 50;
+    ELSE
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence('jobs', 'id'));
+    END IF;
+END $$;
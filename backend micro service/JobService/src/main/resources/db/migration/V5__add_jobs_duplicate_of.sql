@@ -0,0 +1,6 @@
+-- Near-duplicate postings (same job from another board under a different url) point at
+-- the canonical job. No foreign key: deletes re-link or clear the links themselves (JobServiceImpl.deleteJob)
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS duplicate_of BIGINT;
+
+-- Only linked rows are indexed; used when the canonical job is deleted
+CREATE INDEX IF NOT EXISTS idx_jobs_duplicate_of ON jobs (duplicate_of) WHERE duplicate_of IS NOT NULL;
@@ -0,0 +1,99 @@
+-- Monthly range partitioning of jobs on time, so timeInDays filters only scan the partitions
+-- inside the window and old months can be dropped whole (JobPartitionMaintainer creates
+-- upcoming partitions and applies retention). The table is rebuilt once: rows are copied into
+-- a partitioned table with the same columns and the old table is dropped.
+--
+-- Unique indexes on a partitioned table must include the partition key, so url uniqueness
+-- (ingestion dedupes on url) moves to job_urls, kept in sync by a trigger on jobs.
+
+ALTER TABLE jobs RENAME TO jobs_unpartitioned;
+
+-- The old id sequence belongs to the old table (SERIAL, BIGSERIAL or identity). Start a fresh
+-- pooled sequence above every id already handed out, including blocks held by running instances
+DO $$
+DECLARE
+    old_sequence text := pg_get_serial_sequence('jobs_unpartitioned', 'id');
+    next_id bigint;
+BEGIN
+    EXECUTE format('SELECT last_value + 50 FROM %s', old_sequence) INTO next_id;
+    next_id := GREATEST(next_id, (SELECT COALESCE(max(id), 0) + 50 FROM jobs_unpartitioned));
+    EXECUTE format('ALTER SEQUENCE %s RENAME TO jobs_unpartitioned_id_seq', old_sequence);
+    EXECUTE format('CREATE SEQUENCE jobs_id_seq INCREMENT BY 50 START WITH %s', next_id);
+END $$;
+
+CREATE TABLE jobs (
+    id BIGINT NOT NULL DEFAULT nextval('jobs_id_seq'),
+    name TEXT NOT NULL,
+    company TEXT NOT NULL,
+    type TEXT NOT NULL,
+    location TEXT NOT NULL,
+    time TIMESTAMP NOT NULL,
+    status TEXT NOT NULL,
+    url TEXT NOT NULL,
+    website TEXT NOT NULL,
+    duplicate_of BIGINT,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(type, '')), 'C') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(location, '')), 'D')
+    ) STORED,
+    PRIMARY KEY (id, time)
+) PARTITION BY RANGE (time);
+
+ALTER SEQUENCE jobs_id_seq OWNED BY jobs.id;
+
+-- Times beyond the premade months land here instead of failing the insert
+CREATE TABLE jobs_default PARTITION OF jobs DEFAULT;
+
+-- One partition per month from the oldest job to three months ahead
+DO $$
+DECLARE
+    part_month date := date_trunc('month', LEAST((SELECT min(time) FROM jobs_unpartitioned), now()))::date;
+    last_month date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE part_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF jobs FOR VALUES FROM (%L) TO (%L)',
+                       'jobs_p' || to_char(part_month, 'YYYYMM'), part_month, (part_month + interval '1 month')::date);
+        part_month := (part_month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO jobs (id, name, company, type, location, time, status, url, website, duplicate_of)
+SELECT id, name, company, type, location, time, status, url, website, duplicate_of
+FROM jobs_unpartitioned;
+
+DROP TABLE jobs_unpartitioned;
+
+-- Same indexes as before (V2, V3, V5), created once the rows are in, now partitioned indexes
+CREATE INDEX idx_jobs_search_vector ON jobs USING GIN (search_vector);
+CREATE INDEX idx_jobs_status_website_time ON jobs (status, website, time DESC);
+CREATE INDEX idx_jobs_time_id ON jobs (time DESC, id DESC);
+CREATE INDEX idx_jobs_duplicate_of ON jobs (duplicate_of) WHERE duplicate_of IS NOT NULL;
+-- findByUrl / findExistingUrls lookups; uniqueness itself is enforced by job_urls
+CREATE INDEX idx_jobs_url ON jobs (url);
+
+CREATE TABLE job_urls (
+    url TEXT PRIMARY KEY
+);
+
+INSERT INTO job_urls (url)
+SELECT url FROM jobs;
+
+-- A second job with the same url fails on job_urls_pkey, as it did on ux_jobs_url.
+-- Dropping a partition fires no triggers, JobPartitionMaintainer removes its urls itself
+CREATE FUNCTION jobs_sync_urls() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM job_urls WHERE url = OLD.url;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO job_urls (url) VALUES (NEW.url);
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_jobs_sync_urls
+    AFTER INSERT OR DELETE OR UPDATE OF url ON jobs
+    FOR EACH ROW EXECUTE FUNCTION jobs_sync_urls();
@@ -0,0 +1,140 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag_ms";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+    // Nothing is known about the replicas until the first lag check
+    @Test
+    void readsGoToThePrimaryBeforeTheFirstCheck() throws Exception {
+        replicas.put("replica-0", replica(10L));
+
+        assertThat(route(dataSource(), 2)).containsExactly("primary", "primary");
+    }
+
+    @Test
+    void replicasWithinTheLagLimitAreRoundRobined() throws Exception {
+        replicas.put("replica-0", replica(10L));
+        replicas.put("replica-1", replica(1000L));
+        ReplicaRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicaLag();
+
+        assertThat(route(dataSource, 4)).containsExactly("replica-0", "replica-1", "replica-0", "replica-1");
+        assertThat(routes("replica-0")).isEqualTo(2);
+    }
+
+    @Test
+    void laggingAndUnreachableReplicasAreSkipped() throws Exception {
+        replicas.put("replica-0", replica(5001L));
+        replicas.put("replica-1", unreachable());
+        replicas.put("replica-2", replica(0L));
+        ReplicaRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicaLag();
+
+        assertThat(route(dataSource, 2)).containsExactly("replica-2", "replica-2");
+        assertThat(lag("replica-0")).isEqualTo(5001);
+        assertThat(lag("replica-1")).isEqualTo(-1);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsUsable() throws Exception {
+        replicas.put("replica-0", replica(60000L));
+        replicas.put("replica-1", replica(null));
+        ReplicaRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicaLag();
+
+        assertThat(route(dataSource, 2)).containsExactly("primary", "primary");
+        assertThat(routes("primary")).isEqualTo(2);
+        assertThat(lag("replica-1")).isEqualTo(-1);
+    }
+
+    // A replica that catches up is used again at the next check
+    @Test
+    void replicasRejoinOnceTheyCatchUp() throws Exception {
+        DataSource replica = mock(DataSource.class);
+        ResultSet resultSet = givenLagQuery(replica);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(9000L, 200L);
+        replicas.put("replica-0", replica);
+        ReplicaRoutingDataSource dataSource = dataSource();
+
+        dataSource.checkReplicaLag();
+        String whileLagging = (String) dataSource.determineCurrentLookupKey();
+        dataSource.checkReplicaLag();
+
+        assertThat(whileLagging).isEqualTo("primary");
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    private ReplicaRoutingDataSource dataSource() {
+        return new ReplicaRoutingDataSource(mock(DataSource.class), replicas, LAG_QUERY, 5000, meterRegistry);
+    }
+
+    private static List<String> route(ReplicaRoutingDataSource dataSource, int reads) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < reads; i++) {
+            keys.add((String) dataSource.determineCurrentLookupKey());
+        }
+        return keys;
+    }
+
+    // A null lag means the query returned no row
+    private static DataSource replica(Long lagMillis) throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        ResultSet resultSet = givenLagQuery(replica);
+        when(resultSet.next()).thenReturn(lagMillis != null);
+        if (lagMillis != null) {
+            when(resultSet.getLong(1)).thenReturn(lagMillis);
+        }
+        return replica;
+    }
+
+    private static ResultSet givenLagQuery(DataSource replica) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+        return resultSet;
+    }
+
+    private static DataSource unreachable() throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        return replica;
+    }
+
+    private double routes(String target) {
+        return meterRegistry.counter("jobs.datasource.read.routes", "target", target).count();
+    }
+
+    private double lag(String replica) {
+        return meterRegistry.get("jobs.datasource.replica.lag").tag("replica", replica).gauge().value();
+    }
+}
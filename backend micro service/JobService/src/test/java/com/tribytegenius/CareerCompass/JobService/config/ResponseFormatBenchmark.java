@@ -0,0 +1,120 @@
+package com.tribytegenius.CareerCompass.JobService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and serialization CPU of one GET /api/jobs page per response format,
+ * with and without gzip (as applied by server.compression). Prints a size table, then
+ * runs the JMH timings. Not run by surefire. To run:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.tribytegenius.CareerCompass.JobService.config.ResponseFormatBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+
+    private static final String[] FORMATS = {"json", "cbor", "smile"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private JobResponse page;
+
+    @Setup
+    public void setUp() {
+        mapper = mapper(format);
+        page = page(pageSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(page));
+    }
+
+    // Same construction as ResponseFormatConfig and Boot's JSON mapper
+    private static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+    }
+
+    private static JobResponse page(int pageSize) {
+        List<JobDTO> jobs = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            jobs.add(new JobDTO(String.valueOf(100000 + i), "Senior Software Engineer " + i, "Company " + (i % 7),
+                    "Full-time", "Sydney NSW", LocalDateTime.now().minusHours(i), "active",
+                    "https://www.seek.com.au/job/" + (80000000 + i) + "?type=standout&ref=search-standalone"
+                            + "&origin=cardTitle#sol=" + Long.toHexString(i * 0x9E3779B97F4A7C15L),
+                    "seek", null));
+        }
+        return new JobResponse(jobs, 0, pageSize, 12345L, 12345 / pageSize + 1, false, false, null);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        System.out.printf("%-6s %5s %8s %8s%n", "format", "jobs", "bytes", "gzip");
+        for (int pageSize : new int[]{20, 100}) {
+            for (String format : FORMATS) {
+                byte[] bytes = mapper(format).writeValueAsBytes(page(pageSize));
+                System.out.printf("%-6s %5d %8d %8d%n", format, pageSize, bytes.length, gzip(bytes).length);
+            }
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(ResponseFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.tribytegenius.CareerCompass.JobService.controller;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import com.tribytegenius.CareerCompass.JobService.service.JobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag / 304 handling of job listing polls, with the service mocked
+@ExtendWith(MockitoExtension.class)
+class JobControllerTest {
+
+    private static final String ETAG = "W/\"42-5d41402abc4b2a76b9719d911017c592\"";
+
+    @Mock
+    private JobService jobService;
+
+    @InjectMocks
+    private JobController jobController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(jobController).build();
+    }
+
+    @Test
+    void unchangedListingsAnswer304WithoutLoadingThePage() throws Exception {
+        givenETag("application/json");
+
+        mockMvc.perform(get("/api/jobs").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(content().string(""));
+
+        verify(jobService, never()).getAllJobs(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void changedListingsAreLoadedAndMustBeRevalidated() throws Exception {
+        givenETag("application/json");
+        when(jobService.getAllJobs(0, 20, "time", "desc", null, null, null, null, "exact"))
+                .thenReturn(new JobResponse(List.of(), 0, 20, 3L, 1, true, false, null));
+
+        mockMvc.perform(get("/api/jobs").header(HttpHeaders.IF_NONE_MATCH, "W/\"41-5d41402abc4b2a76b9719d911017c592\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    // A CBOR page must not be answered 304 against the ETag of a JSON one
+    @Test
+    void theETagIsKeyedOnTheNegotiatedFormat() throws Exception {
+        givenETag("application/cbor");
+
+        mockMvc.perform(get("/api/jobs")
+                        .header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unparseableAcceptFallsBackToJson() throws Exception {
+        givenETag("application/json");
+
+        mockMvc.perform(get("/api/jobs")
+                        .header(HttpHeaders.ACCEPT, "not a media type")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+    }
+
+    private void givenETag(String mediaType) {
+        when(jobService.getJobsETag(anyInt(), anyInt(), anyString(), anyString(), isNull(), isNull(), isNull(),
+                isNull(), anyString(), isNull(), eq(mediaType)))
+                .thenReturn(ETAG);
+    }
+}
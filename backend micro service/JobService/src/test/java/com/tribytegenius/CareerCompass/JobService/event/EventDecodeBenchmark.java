@@ -0,0 +1,123 @@
+package com.tribytegenius.CareerCompass.JobService.event;
+
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import com.tribytegenius.CareerCompass.Events.event.EventDecoder;
+import com.tribytegenius.CareerCompass.Events.event.PythonJobEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode throughput of a job.created message from the Python crawler: EventDecoder's streaming
+ * parse into PythonJobEvent against the previous path, Jackson2JsonMessageConverter into a Map
+ * followed by casts and the format-by-format time parse. Both produce the same PythonJobEvent.
+ * Not run by surefire. To run (-prof gc adds allocation per decode):
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.tribytegenius.CareerCompass.JobService.event.EventDecodeBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDecodeBenchmark {
+
+    private static final int MESSAGES = 1024;
+
+    private final EventDecoder eventDecoder = new EventDecoder();
+    private Jackson2JsonMessageConverter mapConverter;
+    private Message[] messages;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapConverter = new Jackson2JsonMessageConverter();
+        mapConverter.setAlwaysConvertToInferredType(true);
+
+        messages = new Message[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            String body = "{\"name\": \"Senior Java Engineer " + i + "\", \"company\": \"Company " + (i % 97)
+                    + "\", \"type\": \"Full time\", \"location\": \"Sydney NSW\", \"website\": \"seek\", "
+                    + "\"url\": \"https://www.seek.com.au/job/" + (80_000_000 + i) + "\", "
+                    + "\"time\": \"2026-10-" + String.format("%02d", 1 + i % 28) + " 09:30:00\", "
+                    + "\"status\": \"new\", \"eventType\": \"CREATED\", "
+                    + "\"timestamp\": \"2026-10-18T15:14:48.093675\"}";
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            properties.setHeader(EventContract.SCHEMA_VERSION_HEADER, EventContract.SCHEMA_VERSION);
+            messages[i] = new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+        }
+    }
+
+    @Benchmark
+    public PythonJobEvent streamingDecoder() {
+        return eventDecoder.decodePythonJob(nextMessage());
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public PythonJobEvent mapPath() {
+        Map<String, Object> event = (Map<String, Object>) mapConverter.fromMessage(nextMessage());
+        return new PythonJobEvent(
+                (String) event.get("eventType"),
+                event.get("jobId") == null ? null : Long.valueOf(event.get("jobId").toString()),
+                (String) event.get("name"),
+                (String) event.get("company"),
+                (String) event.get("type"),
+                (String) event.get("location"),
+                (String) event.get("website"),
+                (String) event.get("url"),
+                (String) event.get("status"),
+                parseTime((String) event.get("time")),
+                parseTime((String) event.get("timestamp")));
+    }
+
+    private Message nextMessage() {
+        Message message = messages[next];
+        next = (next + 1) & (MESSAGES - 1);
+        return message;
+    }
+
+    // As PythonJobEventListener parsed times before EventDecoder
+    private static LocalDateTime parseTime(String timeStr) {
+        if (timeStr == null || timeStr.isEmpty()) {
+            return LocalDateTime.now();
+        }
+        try {
+            if (timeStr.contains("T")) {
+                return LocalDateTime.parse(timeStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            }
+            return LocalDateTime.parse(timeStr, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        } catch (Exception e) {
+            return LocalDateTime.now();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
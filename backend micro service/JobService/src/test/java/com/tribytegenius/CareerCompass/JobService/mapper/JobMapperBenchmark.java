@@ -0,0 +1,85 @@
+package com.tribytegenius.CareerCompass.JobService.mapper;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JobMapper with ModelMapper when mapping one listing page of jobs.
+ * Not run by surefire. To run:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.tribytegenius.CareerCompass.JobService.mapper.JobMapperBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobMapperBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final JobMapper jobMapper = new JobMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private List<Job> jobs;
+    private List<JobDTO> jobDTOs;
+
+    @Setup
+    public void setUp() {
+        jobs = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            jobs.add(new Job(i, "Software Engineer " + i, "Company " + i, "Full-time", "Sydney",
+                    LocalDateTime.now().minusHours(i), "active", "https://example.com/jobs/" + i, "seek", null));
+        }
+        jobDTOs = jobs.stream().map(jobMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<JobDTO> toDTOJobMapper() {
+        return jobs.stream().map(jobMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<JobDTO> toDTOModelMapper() {
+        return jobs.stream().map(job -> modelMapper.map(job, JobDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<Job> toEntityJobMapper() {
+        return jobDTOs.stream().map(jobMapper::toEntity).toList();
+    }
+
+    @Benchmark
+    public List<Job> toEntityModelMapper() {
+        return jobDTOs.stream().map(jobDTO -> modelMapper.map(jobDTO, Job.class)).toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JobMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
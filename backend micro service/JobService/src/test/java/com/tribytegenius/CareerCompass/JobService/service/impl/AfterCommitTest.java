@@ -0,0 +1,52 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterCommitTest {
+
+    private final List<String> ran = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runsRightAwayOutsideATransaction() {
+        AfterCommit.run(() -> ran.add("update"));
+
+        assertThat(ran).containsExactly("update");
+    }
+
+    @Test
+    void waitsForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCommit.run(() -> ran.add("update"));
+        assertThat(ran).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(ran).containsExactly("update");
+    }
+
+    @Test
+    void rollbackSkipsIt() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCommit.run(() -> ran.add("update"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(ran).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+
+import java.net.ConnectException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IngestMetricsTest {
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IngestMetrics ingestMetrics;
+
+    @BeforeEach
+    void setUp() {
+        ingestMetrics = new IngestMetrics(meterRegistry, amqpAdmin,
+                "job-created", 2, "job.ingest.", "job-service.dead-letter");
+    }
+
+    // Every outcome is registered up front, so dashboards see zeros rather than missing series
+    @Test
+    void messagesAreCountedByOutcome() {
+        ingestMetrics.recordMessages(IngestMetrics.Result.ACCEPTED, 3);
+        ingestMetrics.recordMessages(IngestMetrics.Result.NEAR_DUPLICATE, 1);
+        ingestMetrics.recordMessages(IngestMetrics.Result.FAILED, 0);
+
+        assertThat(count("accepted")).isEqualTo(3);
+        assertThat(count("near_duplicate")).isEqualTo(1);
+        assertThat(count("failed")).isZero();
+        assertThat(meterRegistry.get("jobs.ingest.messages").counters()).hasSize(IngestMetrics.Result.values().length);
+    }
+
+    @Test
+    void batchesRecordTheirDurationAndSize() {
+        ingestMetrics.recordBatch(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(20), 50);
+        ingestMetrics.recordSingle(System.nanoTime());
+
+        assertThat(meterRegistry.get("jobs.ingest.processing").tag("mode", "batch").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+        assertThat(meterRegistry.get("jobs.ingest.processing").tag("mode", "single").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobs.ingest.batch.size").summary().totalAmount()).isEqualTo(50);
+    }
+
+    // A publisher clock ahead of ours would give a negative lag
+    @Test
+    void lagSkipsMissingAndFutureTimestamps() {
+        ingestMetrics.recordLag(LocalDateTime.now().minusSeconds(30));
+        ingestMetrics.recordLag(LocalDateTime.now().plusMinutes(5));
+        ingestMetrics.recordLag(null);
+
+        assertThat(meterRegistry.get("jobs.ingest.lag").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobs.ingest.lag").timer().totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    void dbTimersAreTaggedByOperation() {
+        ingestMetrics.lookupTimer().record(() -> { });
+        ingestMetrics.insertTimer().record(() -> { });
+
+        assertThat(meterRegistry.get("jobs.ingest.db").tag("operation", "lookup").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobs.ingest.db").tag("operation", "insert").timer().count()).isEqualTo(1);
+    }
+
+    // The main queue, each partition queue and the dead-letter queue are polled; a failed poll keeps the last values
+    @Test
+    void queueGaugesFollowTheBroker() {
+        when(amqpAdmin.getQueueInfo("job-created")).thenReturn(new QueueInformation("job-created", 12, 4));
+        when(amqpAdmin.getQueueInfo("job.ingest.0")).thenReturn(new QueueInformation("job.ingest.0", 7, 1));
+        when(amqpAdmin.getQueueInfo("job.ingest.1")).thenReturn(null);
+        when(amqpAdmin.getQueueInfo("job-service.dead-letter"))
+                .thenReturn(new QueueInformation("job-service.dead-letter", 2, 0))
+                .thenThrow(new AmqpConnectException(new ConnectException("Connection refused")));
+
+        ingestMetrics.pollQueues();
+        ingestMetrics.pollQueues();
+
+        assertThat(depth("job-created")).isEqualTo(12);
+        assertThat(consumers("job-created")).isEqualTo(4);
+        assertThat(depth("job.ingest.0")).isEqualTo(7);
+        assertThat(depth("job.ingest.1")).isZero();
+        assertThat(depth("job-service.dead-letter")).isEqualTo(2);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("jobs.ingest.messages", "result", result).count();
+    }
+
+    private double depth(String queue) {
+        return meterRegistry.get("jobs.ingest.queue.depth").tag("queue", queue).gauge().value();
+    }
+
+    private double consumers(String queue) {
+        return meterRegistry.get("jobs.ingest.queue.consumers").tag("queue", queue).gauge().value();
+    }
+}
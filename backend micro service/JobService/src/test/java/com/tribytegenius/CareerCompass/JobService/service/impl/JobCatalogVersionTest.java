@@ -0,0 +1,95 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Without Redis, so the version is this node's own, unless a test enables it
+class JobCatalogVersionTest {
+
+    private JobCatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new JobCatalogVersion();
+        ReflectionTestUtils.setField(catalogVersion, "redisEnabled", false);
+        ReflectionTestUtils.setField(catalogVersion, "versionRefreshMillis", 1000L);
+    }
+
+    @Test
+    void bumpIncreasesTheVersion() {
+        long before = catalogVersion.current();
+
+        catalogVersion.bump();
+
+        assertThat(catalogVersion.current()).isGreaterThan(before);
+    }
+
+    @Test
+    void bumpIsRememberedAsARecentChange() {
+        assertThat(catalogVersion.changedWithin(60000)).isFalse();
+
+        catalogVersion.bump();
+
+        assertThat(catalogVersion.changedWithin(60000)).isTrue();
+        assertThat(catalogVersion.changedWithin(0)).isFalse();
+    }
+
+    // ETags from before a restart must not match the versions after it
+    @Test
+    void restartedNodeStartsAboveThePreviousProcess() throws InterruptedException {
+        assertThat(catalogVersion.current()).isGreaterThan(0);
+        for (int i = 0; i < 100; i++) {
+            catalogVersion.bump();
+        }
+        Thread.sleep(2);
+
+        JobCatalogVersion restarted = new JobCatalogVersion();
+        ReflectionTestUtils.setField(restarted, "redisEnabled", false);
+
+        assertThat(restarted.current()).isGreaterThan(catalogVersion.current());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void firstReadAdoptsTheSharedVersion() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ReflectionTestUtils.setField(catalogVersion, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(catalogVersion, "redisEnabled", true);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jobs:catalog:version")), anyString(), eq("1")))
+                .thenReturn("42");
+
+        assertThat(catalogVersion.current()).isEqualTo(42);
+    }
+
+    // As after Redis lost the key: later reads pass this node's version up rather than going back
+    @Test
+    @SuppressWarnings("unchecked")
+    void laterReadsOnlyMoveTheVersionUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ReflectionTestUtils.setField(catalogVersion, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(catalogVersion, "redisEnabled", true);
+        ReflectionTestUtils.setField(catalogVersion, "versionRefreshMillis", 0L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jobs:catalog:version")), anyString(), eq("1")))
+                .thenReturn("42");
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("jobs:catalog:version")), anyString(), eq("0")))
+                .thenReturn("7", "50");
+        catalogVersion.current();
+
+        assertThat(catalogVersion.current()).isEqualTo(42);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("jobs:catalog:version")), eq("42"), eq("0"));
+        assertThat(catalogVersion.current()).isEqualTo(50);
+    }
+}
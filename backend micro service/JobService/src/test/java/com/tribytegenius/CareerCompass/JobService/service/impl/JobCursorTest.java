@@ -0,0 +1,90 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.exception.APIException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobCursorTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_000_000);
+
+    @Test
+    void encodedCursorDecodesToTheSameTypedPosition() {
+        String encoded = JobCursor.of("time", "desc", position("time", TIME, 4_000_000_000L)).encode();
+
+        JobCursor decoded = JobCursor.decode(encoded);
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(decoded.sortBy()).isEqualTo("time");
+        assertThat(decoded.sortOrder()).isEqualTo("desc");
+        KeysetScrollPosition scroll = (KeysetScrollPosition) decoded.toScrollPosition();
+        assertThat(scroll.getKeys()).containsEntry("time", TIME).containsEntry("id", 4_000_000_000L);
+        assertThat(scroll.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+    }
+
+    @Test
+    void textColumnsRoundTripAsStringsAndSmallIdsAsLongs() {
+        JobCursor decoded = JobCursor.decode(JobCursor.of("company", "asc", position("company", "Acme", 42L)).encode());
+
+        KeysetScrollPosition scroll = (KeysetScrollPosition) decoded.toScrollPosition();
+        assertThat(scroll.getKeys()).containsEntry("company", "Acme").containsEntry("id", 42L);
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotBase64Json() {
+        assertThatThrownBy(() -> JobCursor.decode("not a cursor!")).isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> JobCursor.decode(encode("[1, 2]"))).isInstanceOf(APIException.class);
+    }
+
+    @Test
+    void rejectsCursorsWhoseKeysDoNotMatchTheirSort() {
+        String missingId = encode("{\"sortBy\":\"time\",\"sortOrder\":\"desc\",\"keys\":{\"time\":\"2024-05-01T09:30:00\"}}");
+        String otherColumn = encode("{\"sortBy\":\"time\",\"sortOrder\":\"desc\",\"keys\":{\"name\":\"a\",\"id\":1}}");
+        String noOrder = encode("{\"sortBy\":\"time\",\"keys\":{\"time\":\"2024-05-01T09:30:00\",\"id\":1}}");
+
+        assertThatThrownBy(() -> JobCursor.decode(missingId)).isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> JobCursor.decode(otherColumn)).isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> JobCursor.decode(noOrder)).isInstanceOf(APIException.class);
+    }
+
+    @Test
+    void rejectsUnparseableKeyValues() {
+        JobCursor cursor = JobCursor.decode(encode(
+                "{\"sortBy\":\"time\",\"sortOrder\":\"desc\",\"keys\":{\"time\":\"yesterday\",\"id\":1}}"));
+
+        assertThatThrownBy(cursor::toScrollPosition).isInstanceOf(APIException.class);
+    }
+
+    @Test
+    void isOnlyValidForTheSortItWasIssuedFor() {
+        JobCursor cursor = JobCursor.decode(JobCursor.of("time", "desc", position("time", TIME, 1L)).encode());
+
+        assertThatCode(() -> cursor.requireSort("time", "DESC")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> cursor.requireSort("name", "desc"))
+                .isInstanceOf(APIException.class)
+                .hasMessageContaining("sortBy=time&sortOrder=desc");
+        assertThatThrownBy(() -> cursor.requireSort("time", "asc")).isInstanceOf(APIException.class);
+    }
+
+    private static KeysetScrollPosition position(String column, Object value, long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(column, value);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
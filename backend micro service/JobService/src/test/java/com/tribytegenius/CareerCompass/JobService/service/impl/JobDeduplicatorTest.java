@@ -0,0 +1,241 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobDeduplicatorTest {
+
+    private JobDeduplicator jobDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        jobDeduplicator = new JobDeduplicator();
+        ReflectionTestUtils.setField(jobDeduplicator, "mode", JobDeduplicator.MODE_LINK);
+        ReflectionTestUtils.setField(jobDeduplicator, "similarityThreshold", 0.85);
+        ReflectionTestUtils.setField(jobDeduplicator, "windowDays", 30);
+    }
+
+    @Test
+    void sameTextHasTheSameSignature() {
+        int[] first = JobDeduplicator.signature("Senior Java Developer", "Atlassian", "Sydney NSW");
+        int[] second = JobDeduplicator.signature("senior java-developer", "ATLASSIAN", "  Sydney, NSW ");
+
+        assertThat(JobDeduplicator.similarity(first, second)).isEqualTo(1.0);
+    }
+
+    @Test
+    void jobsWithoutTextHaveNoSignature() {
+        assertThat(JobDeduplicator.signature(null, " ", "--")).isNull();
+    }
+
+    @Test
+    void similarityAtLeastGivesUpBelowTheMinimum() {
+        int[] first = JobDeduplicator.signature("Senior Java Developer", "Atlassian", "Sydney NSW");
+        int[] second = JobDeduplicator.signature("Java Developer", "Atlassian", "Sydney NSW");
+        double similarity = JobDeduplicator.similarity(first, second);
+
+        assertThat(JobDeduplicator.similarityAtLeast(first, second, similarity)).isEqualTo(similarity);
+        assertThat(JobDeduplicator.similarityAtLeast(first, second, similarity + 1.0 / JobDeduplicator.HASHES)).isZero();
+    }
+
+    @Test
+    void repostUnderALongerCompanyNameIsADuplicate() {
+        jobDeduplicator.jobAdded(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Atlassian Pty Ltd", "Sydney NSW")))
+                .isEqualTo(1L);
+    }
+
+    // Estimated at 0.84, just under the default threshold of 0.85
+    @Test
+    void differentSeniorityIsNotADuplicate() {
+        int[] senior = JobDeduplicator.signature("Senior Java Developer", "Atlassian", "Sydney NSW");
+        int[] plain = JobDeduplicator.signature("Java Developer", "Atlassian", "Sydney NSW");
+        assertThat(JobDeduplicator.similarity(senior, plain)).isGreaterThanOrEqualTo(0.8).isLessThan(0.85);
+
+        jobDeduplicator.jobAdded(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Java Developer", "Atlassian", "Sydney NSW"))).isNull();
+    }
+
+    @Test
+    void lowerThresholdLinksDifferentSeniority() {
+        ReflectionTestUtils.setField(jobDeduplicator, "similarityThreshold", 0.8);
+        jobDeduplicator.jobAdded(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Java Developer", "Atlassian", "Sydney NSW"))).isEqualTo(1L);
+    }
+
+    @Test
+    void otherCompaniesAndRolesAreNotDuplicates() {
+        jobDeduplicator.jobAdded(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Canva", "Sydney NSW"))).isNull();
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Python Developer", "Atlassian", "Sydney NSW"))).isNull();
+    }
+
+    @Test
+    void closestCanonicalJobWins() {
+        jobDeduplicator.jobsAdded(List.of(
+                job(1L, "Senior Java Developer", "Atlassian Pty Ltd", "Sydney NSW"),
+                job(2L, "Senior Java Developer", "Atlassian", "Sydney NSW")));
+
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Atlassian", "Sydney NSW")))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void duplicatesAndOldJobsAreNotIndexed() {
+        Job duplicate = job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW");
+        duplicate.setDuplicateOf(7L);
+        Job old = job(2L, "Senior Java Developer", "Atlassian", "Sydney NSW");
+        old.setTime(LocalDateTime.now().minusDays(31));
+
+        jobDeduplicator.jobsAdded(List.of(duplicate, old));
+
+        assertThat(jobDeduplicator.size()).isZero();
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Atlassian", "Sydney NSW"))).isNull();
+    }
+
+    @Test
+    void removedAndUpdatedJobsLeaveTheirOldBuckets() {
+        jobDeduplicator.jobsAdded(List.of(
+                job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"),
+                job(2L, "Data Engineer", "Canva", "Melbourne VIC")));
+
+        jobDeduplicator.jobRemoved(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+        jobDeduplicator.jobsUpdated(List.of(job(2L, "Senior Java Developer", "Atlassian", "Sydney NSW")));
+
+        assertThat(jobDeduplicator.size()).isEqualTo(1);
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Data Engineer", "Canva", "Melbourne VIC"))).isNull();
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Atlassian", "Sydney NSW")))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void pruneDropsJobsThatLeftTheWindow() {
+        jobDeduplicator.jobAdded(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+        ReflectionTestUtils.setField(jobDeduplicator, "windowDays", -1);
+
+        jobDeduplicator.prune();
+
+        assertThat(jobDeduplicator.size()).isZero();
+    }
+
+    @Test
+    void offModeFindsNothing() {
+        jobDeduplicator.jobAdded(job(1L, "Senior Java Developer", "Atlassian", "Sydney NSW"));
+        ReflectionTestUtils.setField(jobDeduplicator, "mode", JobDeduplicator.MODE_OFF);
+
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Atlassian", "Sydney NSW"))).isNull();
+    }
+
+    // Jobs 1 and 2 are deleted; job 12 is deleted with them and cannot take over
+    @Test
+    void oldestRemainingDuplicateTakesOverAndTheOthersRelink() {
+        JobRepository jobRepository = mock(JobRepository.class);
+        ReflectionTestUtils.setField(jobDeduplicator, "jobRepository", jobRepository);
+        Job deletedToo = linked(12L, 1L, "Senior Java Developer", "Atlassian");
+        Job oldest = linked(11L, 1L, "Senior Java Developer", "Atlassian");
+        Job newer = linked(13L, 1L, "Senior Java Developer", "Atlassian Pty Ltd");
+        Job other = linked(21L, 2L, "Data Engineer", "Canva");
+        when(jobRepository.findByDuplicateOfInOrderByTimeAscIdAsc(eq(Set.of(1L, 2L, 12L))))
+                .thenReturn(List.of(deletedToo, oldest, other, newer));
+
+        List<Job> promoted = jobDeduplicator.promoteDuplicates(List.of(1L, 2L, 12L));
+
+        assertThat(promoted).containsExactlyInAnyOrder(oldest, other);
+        assertThat(oldest.getDuplicateOf()).isNull();
+        assertThat(other.getDuplicateOf()).isNull();
+        assertThat(newer.getDuplicateOf()).isEqualTo(11L);
+        assertThat(deletedToo.getDuplicateOf()).isEqualTo(1L);
+        verify(jobRepository).flush();
+        // Outside a transaction the promoted jobs are indexed right away
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Senior Java Developer", "Atlassian", "Sydney NSW")))
+                .isEqualTo(11L);
+    }
+
+    // Each catch-up reads again from where the previous one started, for ids committed out of order
+    @Test
+    void catchUpIndexesJobsStoredByOtherNodes() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(jobDeduplicator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(jobDeduplicator, "transactionManager", transactionManager);
+        List<Object> scannedFrom = new ArrayList<>();
+        List<List<Job>> rows = new ArrayList<>(List.of(
+                List.of(job(5L, "Senior Java Developer", "Atlassian", "Sydney NSW")),
+                List.of(job(7L, "Data Engineer", "Canva", "Sydney NSW")),
+                List.of(job(6L, "Site Reliability Engineer", "Canva", "Sydney NSW")),
+                List.of()));
+        doAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            if (args.length > 3) {
+                scannedFrom.add(args[2]);
+            }
+            for (Job job : rows.remove(0)) {
+                invocation.<RowCallbackHandler>getArgument(1).processRow(row(job));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        jobDeduplicator.initialize();
+        jobDeduplicator.catchUp();
+        jobDeduplicator.catchUp();
+        jobDeduplicator.catchUp();
+
+        assertThat(scannedFrom).containsExactly(5L, 5L, 7L);
+        assertThat(jobDeduplicator.size()).isEqualTo(3);
+        assertThat(jobDeduplicator.findDuplicateOf(job(null, "Data engineer", "CANVA", "Sydney, NSW"))).isEqualTo(7L);
+    }
+
+    private static Job linked(Long id, Long duplicateOf, String name, String company) {
+        Job job = job(id, name, company, "Sydney NSW");
+        job.setDuplicateOf(duplicateOf);
+        return job;
+    }
+
+    private static ResultSet row(Job job) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(job.getId());
+        when(resultSet.getString("name")).thenReturn(job.getName());
+        when(resultSet.getString("company")).thenReturn(job.getCompany());
+        when(resultSet.getString("location")).thenReturn(job.getLocation());
+        when(resultSet.getTimestamp("time")).thenReturn(Timestamp.valueOf(job.getTime()));
+        return resultSet;
+    }
+
+    private static Job job(Long id, String name, String company, String location) {
+        Job job = new Job();
+        job.setId(id);
+        job.setName(name);
+        job.setCompany(company);
+        job.setLocation(location);
+        job.setTime(LocalDateTime.now());
+        return job;
+    }
+}
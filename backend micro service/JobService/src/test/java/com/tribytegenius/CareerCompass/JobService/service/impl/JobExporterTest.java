@@ -0,0 +1,106 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobExporterTest {
+
+    private final DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:job-export;DB_CLOSE_DELAY=-1");
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private JobExporter jobExporter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE jobs (id BIGINT PRIMARY KEY, name VARCHAR(255), company VARCHAR(255),
+                    type VARCHAR(255), location VARCHAR(255), time TIMESTAMP, status VARCHAR(255),
+                    url VARCHAR(255), website VARCHAR(255), duplicate_of BIGINT)
+                """);
+        jdbcTemplate.update("INSERT INTO jobs VALUES (2, 'Java Developer', 'Atlassian', 'Full time', 'Sydney, NSW', "
+                + "TIMESTAMP '2026-10-01 09:30:00', 'Active', 'https://jobs.example/2', 'seek', NULL)");
+        jdbcTemplate.update("INSERT INTO jobs VALUES (1, 'Lead \"Platform\" Engineer', 'Canva', NULL, 'Remote', "
+                + "TIMESTAMP '2026-09-30 18:00:05', 'Active', 'https://jobs.example/1', 'linkedin', NULL)");
+        jdbcTemplate.update("INSERT INTO jobs VALUES (3, 'Java Developer', 'Atlassian Pty Ltd', 'Full time', 'Sydney NSW', "
+                + "TIMESTAMP '2026-10-02 08:00:00', 'Expired', 'https://jobs.example/3', 'indeed', 2)");
+        jobExporter = new JobExporter(dataSource, new DataSourceTransactionManager(dataSource), objectMapper, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP TABLE jobs");
+    }
+
+    // Rows come out in id order, with RFC 4180 quoting and empty cells for nulls
+    @Test
+    void csvHasAHeaderAndOneQuotedRowPerJob() throws Exception {
+        String csv = export(JobExporter.FORMAT_CSV, JobSqlFilter.of(null, null, false, null, null, null));
+
+        assertThat(csv.split("\n", -1)).containsExactly(
+                "id,name,company,type,location,time,status,url,website,duplicateOf",
+                "1,\"Lead \"\"Platform\"\" Engineer\",Canva,,Remote,2026-09-30T18:00:05,Active,https://jobs.example/1,linkedin,",
+                "2,Java Developer,Atlassian,Full time,\"Sydney, NSW\",2026-10-01T09:30:00,Active,https://jobs.example/2,seek,",
+                "3,Java Developer,Atlassian Pty Ltd,Full time,Sydney NSW,2026-10-02T08:00:00,Expired,https://jobs.example/3,indeed,2",
+                "");
+    }
+
+    @Test
+    void ndjsonWritesOneJobPerLine() throws Exception {
+        String ndjson = export(JobExporter.FORMAT_NDJSON, JobSqlFilter.of(null, null, false, null, null, null));
+
+        assertThat(ndjson).endsWith("\n");
+        List<JsonNode> jobs = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            // No root value separator in front of later lines
+            assertThat(line).startsWith("{");
+            jobs.add(objectMapper.readTree(line));
+        }
+        assertThat(jobs).extracting(job -> job.get("id").asText()).containsExactly("1", "2", "3");
+        assertThat(jobs.get(0).get("name").asText()).isEqualTo("Lead \"Platform\" Engineer");
+        assertThat(jobs.get(1).get("time").asText()).isEqualTo("2026-10-01T09:30:00");
+        assertThat(jobs.get(2).get("duplicateOf").asText()).isEqualTo("2");
+    }
+
+    @Test
+    void filtersApplyToTheExport() throws Exception {
+        String csv = export(JobExporter.FORMAT_CSV, JobSqlFilter.of("atlassian", null, false, "Active", null, null));
+
+        assertThat(csv.split("\n")).hasSize(2);
+        assertThat(csv).contains("\n2,Java Developer,Atlassian,");
+    }
+
+    // A keyword with nothing searchable in it skips the query
+    @Test
+    void unsearchableKeywordExportsNoRows() throws Exception {
+        JobSqlFilter nothing = JobSqlFilter.of("--", null, true, null, null, null);
+
+        assertThat(export(JobExporter.FORMAT_CSV, nothing))
+                .isEqualTo("id,name,company,type,location,time,status,url,website,duplicateOf\n");
+        assertThat(export(JobExporter.FORMAT_NDJSON, nothing)).isEmpty();
+    }
+
+    private String export(String format, JobSqlFilter filter) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jobExporter.export(format, filter, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
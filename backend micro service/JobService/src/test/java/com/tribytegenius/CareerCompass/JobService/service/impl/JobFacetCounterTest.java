@@ -0,0 +1,217 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobFacetsResponse;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobFacetCounterTest {
+
+    private static final LocalDateTime TODAY = LocalDate.now().atTime(9, 0);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private JobFacetCounter jobFacetCounter;
+
+    // Sum of the HINCRBY deltas the counter pipelined, by field
+    private final Map<String, Long> applied = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+        lenient().when(connection.hashCommands()).thenReturn(hashCommands);
+        lenient().doAnswer(invocation -> {
+            String field = new String(invocation.<byte[]>getArgument(1), StandardCharsets.UTF_8);
+            applied.merge(field, invocation.<Long>getArgument(2), Long::sum);
+            return 0L;
+        }).when(hashCommands).hIncrBy(any(byte[].class), any(byte[].class), anyLong());
+        lenient().when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void addedJobsIncrementTheirBucketsInOneRoundTrip() {
+        jobFacetCounter.jobsAdded(List.of(job("linkedin", "open", TODAY), job("indeed", "open", TODAY)));
+
+        assertThat(applied).containsOnly(
+                Map.entry("total", 2L),
+                Map.entry("website:linkedin", 1L),
+                Map.entry("website:indeed", 1L),
+                Map.entry("status:open", 2L),
+                Map.entry("day:" + TODAY.toLocalDate(), 2L));
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void removedJobsDecrementTheirBuckets() {
+        jobFacetCounter.jobRemoved(job("linkedin", "closed", null));
+
+        assertThat(applied).containsOnly(
+                Map.entry("total", -1L),
+                Map.entry("website:linkedin", -1L),
+                Map.entry("status:closed", -1L));
+    }
+
+    @Test
+    void updatesOnlyMoveTheBucketsThatChanged() {
+        jobFacetCounter.jobsUpdated(List.of(
+                new JobFacetCounter.JobChange("linkedin", "open", job("indeed", "open", TODAY)),
+                new JobFacetCounter.JobChange("linkedin", "open", job("linkedin", "closed", TODAY))));
+
+        assertThat(applied).containsOnly(
+                Map.entry("website:linkedin", -1L),
+                Map.entry("website:indeed", 1L),
+                Map.entry("status:open", -1L),
+                Map.entry("status:closed", 1L));
+    }
+
+    @Test
+    void changesThatCancelOutSendNothing() {
+        jobFacetCounter.jobsUpdated(List.of(
+                new JobFacetCounter.JobChange("linkedin", "open", job("indeed", "open", TODAY)),
+                new JobFacetCounter.JobChange("indeed", "open", job("linkedin", "open", TODAY))));
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void deltasWaitForTheTransactionToCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        jobFacetCounter.jobAdded(job("linkedin", "open", TODAY));
+
+        assertThat(applied).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(applied).containsEntry("total", 1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readSkipsDrainedBucketsAndCountsOnlyThisWeek() {
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        LocalDate today = LocalDate.now();
+        Map<Object, Object> fields = new HashMap<>();
+        fields.put("total", "12");
+        fields.put("website:linkedin", "9");
+        fields.put("website:indeed", "0");
+        fields.put("status:open", "12");
+        fields.put("status:closed", "-1");
+        fields.put("day:" + today, "2");
+        fields.put("day:" + today.minusDays(6), "3");
+        fields.put("day:" + today.minusDays(7), "5");
+        when(hashOperations.entries("jobs:facets")).thenReturn(fields);
+
+        JobFacetsResponse facets = jobFacetCounter.read();
+
+        assertThat(facets.getTotal()).isEqualTo(12);
+        assertThat(facets.getWebsites()).containsOnly(Map.entry("linkedin", 9L));
+        assertThat(facets.getStatuses()).containsOnly(Map.entry("open", 12L));
+        assertThat(facets.getNewThisWeek()).isEqualTo(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcileReplacesTheHashWithARecount() {
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(eq("SELECT website AS facet, count(*) AS jobs FROM jobs GROUP BY website")))
+                .thenReturn(List.of(Map.of("facet", "linkedin", "jobs", 4L), Map.of("facet", "indeed", "jobs", 3L)));
+        when(jdbcTemplate.queryForList(eq("SELECT status AS facet, count(*) AS jobs FROM jobs GROUP BY status")))
+                .thenReturn(List.of(Map.of("facet", "open", "jobs", 7L)));
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class)))
+                .thenReturn(List.of(Map.of("facet", LocalDate.now(), "jobs", 2L)));
+        ReflectionTestUtils.setField(jobFacetCounter, "reconcileIntervalMillis", 600000L);
+
+        jobFacetCounter.reconcile();
+
+        verify(redisTemplate).delete("jobs:facets:staging");
+        verify(hashOperations).putAll("jobs:facets:staging", Map.of(
+                "total", "7",
+                "website:linkedin", "4",
+                "website:indeed", "3",
+                "status:open", "7",
+                "day:" + LocalDate.now(), "2"));
+        verify(redisTemplate).rename("jobs:facets:staging", "jobs:facets");
+    }
+
+    @Test
+    void reconcileIsSkippedWhileAnotherReplicaHoldsTheLock() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        jobFacetCounter.reconcile();
+
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        verify(jdbcTemplate, never()).queryForList(anyString());
+    }
+
+    private static Job job(String website, String status, LocalDateTime time) {
+        Job job = new Job();
+        job.setWebsite(website);
+        job.setStatus(status);
+        job.setTime(time);
+        return job;
+    }
+}
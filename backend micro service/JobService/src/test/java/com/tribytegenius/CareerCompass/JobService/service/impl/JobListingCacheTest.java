@@ -0,0 +1,138 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobListingCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private JobCatalogVersion catalogVersion;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(catalogVersion.current()).thenReturn(7L);
+    }
+
+    @Test
+    void sameVersionAndQueryIsServedLocally() {
+        JobListingCache cache = cache(false);
+
+        JobResponse first = cache.get("page=0", this::load);
+        JobResponse second = cache.get("page=0", this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(count("local", "hit")).isEqualTo(1);
+        assertThat(count("local", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void otherQueriesAreLoadedSeparately() {
+        JobListingCache cache = cache(false);
+
+        cache.get("page=0", this::load);
+        cache.get("page=1", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // A job write bumps the version, which leaves every older entry behind without deleting it
+    @Test
+    void bumpedVersionMissesTheOldEntries() {
+        JobListingCache cache = cache(false);
+        cache.get("page=0", this::load);
+
+        when(catalogVersion.current()).thenReturn(8L);
+        JobResponse reloaded = cache.get("page=0", this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void localMissesAreFilledFromRedis() throws Exception {
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("jobs:listing:7:page=0"))
+                .thenReturn(objectMapper.writeValueAsString(response(41L)));
+        JobListingCache cache = cache(true);
+
+        JobResponse cached = cache.get("page=0", this::load);
+        cache.get("page=0", this::load);
+
+        assertThat(cached.getTotalElements()).isEqualTo(41);
+        assertThat(loads).hasValue(0);
+        assertThat(count("redis", "hit")).isEqualTo(1);
+        assertThat(count("local", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadedPagesAreWrittenToRedisUnderTheVersion() {
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        JobListingCache cache = cache(true);
+
+        cache.get("page=0", this::load);
+
+        verify(valueOperations).set(eq("jobs:listing:7:page=0"), anyString(), eq(Duration.ofSeconds(120)));
+        assertThat(count("redis", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheFirstPagesAreCacheable() {
+        JobListingCache cache = cache(false);
+
+        assertThat(cache.isCacheable(4)).isTrue();
+        assertThat(cache.isCacheable(5)).isFalse();
+    }
+
+    private JobListingCache cache(boolean redisEnabled) {
+        return new JobListingCache(redisTemplate, objectMapper, catalogVersion, meterRegistry,
+                true, redisEnabled, 4, 100, 30, 120);
+    }
+
+    private JobResponse load() {
+        return response(loads.incrementAndGet());
+    }
+
+    private static JobResponse response(long totalElements) {
+        return new JobResponse(List.of(), 0, 10, totalElements, 1, true, false, null);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.counter("jobs.listing.cache", "tier", tier, "result", result).count();
+    }
+}
@@ -0,0 +1,196 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// jobs is taken to be partitioned; the SQL itself is only checked against PostgreSQL
+@ExtendWith(MockitoExtension.class)
+class JobPartitionMaintainerTest {
+
+    private static final YearMonth NOW = YearMonth.now();
+    private static final String EXPIRED = JobPartitionMaintainer.partitionName(NOW.minusMonths(13));
+    private static final String KEPT = JobPartitionMaintainer.partitionName(NOW.minusMonths(12));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobEventPublisher jobEventPublisher;
+
+    @Mock
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Mock
+    private JobFacetCounter jobFacetCounter;
+
+    @Mock
+    private JobSuggestionIndex jobSuggestionIndex;
+
+    @Mock
+    private JobDeduplicator jobDeduplicator;
+
+    @InjectMocks
+    private JobPartitionMaintainer maintainer;
+
+    private ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(maintainer, "partitioned", true);
+        ReflectionTestUtils.setField(maintainer, "premakeMonths", 2);
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 12);
+        ReflectionTestUtils.setField(maintainer, "dropExpired", true);
+        ReflectionTestUtils.setField(maintainer, "eventBatchSize", 500);
+        ReflectionTestUtils.setField(maintainer, "detachLockTimeoutMs", 5000L);
+        valueOperations = mock(ValueOperations.class);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void partitionNamesFollowTheMonth() {
+        assertThat(JobPartitionMaintainer.partitionName(YearMonth.of(2026, 3))).isEqualTo("jobs_p202603");
+        assertThat(JobPartitionMaintainer.partitionMonth("jobs_p202603")).isEqualTo(YearMonth.of(2026, 3));
+        assertThat(JobPartitionMaintainer.partitionMonth("jobs_default")).isNull();
+        assertThat(JobPartitionMaintainer.partitionMonth("jobs_p2026")).isNull();
+    }
+
+    @Test
+    void currentAndUpcomingMonthsAreCreated() {
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 0);
+
+        maintainer.maintain();
+
+        for (int ahead = 0; ahead <= 2; ahead++) {
+            YearMonth month = NOW.plusMonths(ahead);
+            verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS " + JobPartitionMaintainer.partitionName(month)
+                    + " PARTITION OF jobs FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+                    + month.plusMonths(1).atDay(1) + "')");
+        }
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    void nothingExpiresWhileAnotherReplicaHoldsTheLock() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+        verify(jobCatalogVersion, never()).bump();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiredPartitionIsEmptiedWithItsEventsThenDetachedAndDropped() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(EXPIRED, KEPT, "jobs_default"));
+        when(jdbcTemplate.query(startsWith("SELECT id, name"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).contains(EXPIRED)
+                        ? List.of(deleted(1L), deleted(2L))
+                        : List.of());
+        when(jobEventPublisher.publishJobsDeleted(anyList())).thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("inhdetachpending"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("partdefid"), eq(Boolean.class))).thenReturn(true);
+
+        maintainer.maintain();
+
+        var order = inOrder(jdbcTemplate, jobEventPublisher, jobDeduplicator);
+        order.verify(jobEventPublisher).publishJobsDeleted(anyList());
+        order.verify(jobDeduplicator).promoteDuplicates(List.of(1L, 2L));
+        order.verify(jdbcTemplate).update("DELETE FROM " + EXPIRED + " WHERE id IN (1,2)");
+        order.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 5000");
+        order.verify(jdbcTemplate).execute("ALTER TABLE jobs DETACH PARTITION " + EXPIRED);
+        order.verify(jdbcTemplate).execute("DROP TABLE " + EXPIRED);
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + KEPT);
+        verify(jobCatalogVersion).bump();
+        verify(jobFacetCounter).reconcile();
+        verify(jobSuggestionIndex).reload();
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("jobs:partitions:maintenance-lock")), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void partitionIsKeptWhenItsEventsCannotBePublished() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(EXPIRED));
+        when(jdbcTemplate.query(startsWith("SELECT id, name"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).contains(EXPIRED)
+                        ? List.of(deleted(1L))
+                        : List.of());
+        when(jobEventPublisher.publishJobsDeleted(anyList())).thenReturn(false);
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"));
+        verify(jobDeduplicator, never()).promoteDuplicates(anyList());
+        verify(jdbcTemplate, never()).execute(contains("DETACH"));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP"));
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+        verify(jobCatalogVersion, never()).bump();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void interruptedConcurrentDetachIsFinalized() {
+        ReflectionTestUtils.setField(maintainer, "dropExpired", false);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(EXPIRED));
+        when(jdbcTemplate.query(startsWith("SELECT id, name"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("inhdetachpending"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(true);
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE jobs DETACH PARTITION " + EXPIRED + " FINALIZE");
+        verify(jdbcTemplate, never()).execute(startsWith("DROP"));
+        verify(jobCatalogVersion).bump();
+    }
+
+    private static JobEventDTO deleted(Long id) {
+        return new JobEventDTO(id, "Java Developer", "Atlassian", "Full-time", "Sydney NSW", "linkedin",
+                "https://example.com/jobs/" + id, "DELETED");
+    }
+}
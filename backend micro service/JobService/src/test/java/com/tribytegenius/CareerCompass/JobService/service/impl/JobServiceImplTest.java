@@ -0,0 +1,419 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.JobService.dto.JobEventDTO;
+import com.tribytegenius.CareerCompass.JobService.dto.JobResponse;
+import com.tribytegenius.CareerCompass.JobService.exception.APIException;
+import com.tribytegenius.CareerCompass.JobService.exception.ResourceNotFoundException;
+import com.tribytegenius.CareerCompass.JobService.mapper.JobMapper;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// getAllJobs' totals modes and datasource choice, and bulk writes, with the listing cache bypassed and the repository mocked
+@ExtendWith(MockitoExtension.class)
+class JobServiceImplTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobMapper jobMapper;
+
+    @Mock
+    private JobFullTextSearch fullTextSearch;
+
+    @Mock
+    private JobCountEstimator jobCountEstimator;
+
+    @Mock
+    private JobListingCache jobListingCache;
+
+    @Mock
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobEventPublisher jobEventPublisher;
+
+    @Mock
+    private JobFacetCounter jobFacetCounter;
+
+    @Mock
+    private JobSuggestionIndex jobSuggestionIndex;
+
+    @Mock
+    private JobDeduplicator jobDeduplicator;
+
+    @Mock
+    private JobUrlFilter jobUrlFilter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private JobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        JobCountCache jobCountCache = new JobCountCache();
+        ReflectionTestUtils.setField(jobCountCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(jobCountCache, "maxEntries", 100);
+        ReflectionTestUtils.setField(jobService, "jobCountCache", jobCountCache);
+        ReflectionTestUtils.setField(jobService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(jobService, "bulkMaxSize", 5);
+        ReflectionTestUtils.setField(jobService, "bulkFlushSize", 2);
+        jobService.init();
+        lenient().when(jobMapper.toDTO(any(Job.class))).thenReturn(new JobDTO());
+    }
+
+    @Test
+    void exactCountsEveryPage() {
+        when(jobRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(jobs(PAGE_SIZE), PageRequest.of(1, PAGE_SIZE), 57));
+
+        JobResponse response = getPage(1, null);
+
+        assertThat(response.getTotalElements()).isEqualTo(57);
+        assertThat(response.getTotalPages()).isEqualTo(6);
+        assertThat(response.isApproximate()).isFalse();
+    }
+
+    @Test
+    void noneLeavesTotalsOutUntilTheLastPage() {
+        givenSlice(1, PAGE_SIZE, true);
+
+        JobResponse response = getPage(1, "none");
+
+        assertThat(response.getTotalElements()).isNull();
+        assertThat(response.getTotalPages()).isNull();
+        assertThat(response.isLastPage()).isFalse();
+        verify(jobRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void theLastPageReportsTheExactTotalWithoutCounting() {
+        givenSlice(2, 3, false);
+
+        JobResponse response = getPage(2, "NONE");
+
+        assertThat(response.getTotalElements()).isEqualTo(23);
+        assertThat(response.getTotalPages()).isEqualTo(3);
+        assertThat(response.isLastPage()).isTrue();
+    }
+
+    @Test
+    void cachedCountsOncePerFilterCombination() {
+        givenSlice(0, PAGE_SIZE, true);
+        when(jobRepository.count(any(Specification.class))).thenReturn(120L);
+
+        getPage(0, "cached");
+        JobResponse response = getPage(0, "cached");
+
+        assertThat(response.getTotalElements()).isEqualTo(120);
+        assertThat(response.getTotalPages()).isEqualTo(12);
+        verify(jobRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    void estimateIsApproximateAndNeverBelowTheRowsSeen() {
+        givenSlice(4, PAGE_SIZE, true);
+        when(jobCountEstimator.estimate(isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(20L);
+
+        JobResponse response = getPage(4, "estimate");
+
+        // Page 4 is full and has a next page, so at least 51 rows exist whatever the planner says
+        assertThat(response.getTotalElements()).isEqualTo(51);
+        assertThat(response.isApproximate()).isTrue();
+        verify(jobRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void estimateFallsBackToACachedCountWithoutStatistics() {
+        givenSlice(0, PAGE_SIZE, true);
+        when(jobCountEstimator.estimate(isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(null);
+        when(jobRepository.count(any(Specification.class))).thenReturn(33L);
+
+        JobResponse response = getPage(0, "estimate");
+
+        assertThat(response.getTotalElements()).isEqualTo(33);
+        assertThat(response.isApproximate()).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownModes() {
+        assertThatThrownBy(() -> getPage(0, "roughly"))
+                .isInstanceOf(APIException.class)
+                .hasMessageContaining("exact, none, cached, estimate");
+    }
+
+    // A replica may not have replayed the write yet, and its page would be cached under the new version
+    @Test
+    void listingsRightAfterAWriteAreReadFromThePrimary() {
+        givenReplicas();
+        when(jobCatalogVersion.changedWithin(10000L)).thenReturn(true);
+        givenSlice(0, PAGE_SIZE, true);
+
+        getPage(0, "none");
+
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    @Test
+    void settledListingsAreReadFromReplicas() {
+        givenReplicas();
+        when(jobCatalogVersion.changedWithin(10000L)).thenReturn(false);
+        givenSlice(0, PAGE_SIZE, true);
+
+        getPage(0, "none");
+
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+    }
+
+    @Test
+    void withoutReplicasTheCatalogVersionIsNotConsulted() {
+        givenSlice(0, PAGE_SIZE, true);
+
+        getPage(0, "none");
+
+        verify(jobCatalogVersion, never()).changedWithin(anyLong());
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+    }
+
+    // "the" keeps no lexeme after stop word removal, and an empty tsquery would match no job
+    @Test
+    void stopWordOnlyKeywordsAreDropped() {
+        when(fullTextSearch.isEnabled()).thenReturn(true);
+        when(fullTextSearch.hasNoLexemes("the:*")).thenReturn(true);
+        givenSlice(1, PAGE_SIZE, true);
+
+        jobService.getAllJobs(1, PAGE_SIZE, "time", "desc", "The", null, null, null, "estimate");
+
+        verify(jobCountEstimator).estimate(isNull(), isNull(), isNull(), isNull(), isNull());
+    }
+
+    @Test
+    void keywordsWithSearchableTermsKeepTheirTsQuery() {
+        when(fullTextSearch.isEnabled()).thenReturn(true);
+        when(fullTextSearch.hasNoLexemes("the:* & java:*")).thenReturn(false);
+        givenSlice(1, PAGE_SIZE, true);
+
+        jobService.getAllJobs(1, PAGE_SIZE, "time", "desc", "the java", null, null, null, "estimate");
+
+        verify(jobCountEstimator).estimate(eq("the java"), eq("the:* & java:*"), isNull(), isNull(), isNull());
+    }
+
+    // Without full-text search keywords are LIKE-matched and stop words are not looked up
+    @Test
+    void likeMatchingKeepsEveryKeyword() {
+        givenSlice(1, PAGE_SIZE, true);
+
+        jobService.getAllJobs(1, PAGE_SIZE, "time", "desc", "the", null, null, null, "estimate");
+
+        verify(fullTextSearch, never()).hasNoLexemes(any());
+        verify(jobCountEstimator).estimate(eq("the"), isNull(), isNull(), isNull(), isNull());
+    }
+
+    // Polls revalidate against the catalog version, so any write changes every listing ETag
+    @Test
+    void listingETagsFollowTheCatalogVersion() {
+        when(jobCatalogVersion.current()).thenReturn(7L, 7L, 8L);
+
+        String first = eTag(0, "application/json");
+        String same = eTag(0, "application/json");
+        String afterAWrite = eTag(0, "application/json");
+
+        assertThat(first).startsWith("W/\"7-").isEqualTo(same);
+        assertThat(afterAWrite).startsWith("W/\"8-").isNotEqualTo(first);
+    }
+
+    @Test
+    void listingETagsDifferPerQueryAndFormat() {
+        when(jobCatalogVersion.current()).thenReturn(7L);
+
+        assertThat(List.of(eTag(0, "application/json"), eTag(1, "application/json"), eTag(0, "application/cbor")))
+                .doesNotHaveDuplicates();
+    }
+
+    // Urls already stored or repeated within the request are skipped, like Python ingestion
+    @Test
+    void bulkCreateSkipsExistingAndRepeatedUrls() {
+        givenMappedEntities();
+        when(jobRepository.findExistingUrls(anyCollection())).thenReturn(Set.of("https://jobs.example/b"));
+        List<List<String>> savedUrls = new ArrayList<>();
+        doAnswer(invocation -> {
+            savedUrls.add(invocation.<List<Job>>getArgument(0).stream().map(Job::getUrl).toList());
+            return null;
+        }).when(jobRepository).saveAll(anyCollection());
+
+        List<JobDTO> created = jobService.createJobs(List.of(
+                dto(null, "a"), dto(null, "b"), dto(null, "a"), dto(null, "c"), dto(null, "d")));
+
+        assertThat(created).hasSize(3);
+        // Flushed and cleared every bulkFlushSize rows
+        assertThat(savedUrls).containsExactly(
+                List.of("https://jobs.example/a", "https://jobs.example/c"),
+                List.of("https://jobs.example/d"));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        assertThat(publishedUrls(true)).containsExactly(
+                "https://jobs.example/a", "https://jobs.example/c", "https://jobs.example/d");
+        verify(jobDeduplicator).jobsAdded(argThat(jobs -> jobs.size() == 3));
+    }
+
+    @Test
+    void bulkCreateOfOnlyKnownUrlsStoresNothing() {
+        when(jobRepository.findExistingUrls(anyCollection())).thenReturn(Set.of("https://jobs.example/a"));
+
+        assertThat(jobService.createJobs(List.of(dto(null, "a"), dto(null, "a")))).isEmpty();
+
+        verify(jobRepository, never()).saveAll(anyCollection());
+        assertThat(publishedUrls(true)).isEmpty();
+    }
+
+    // A repeated id keeps its last entry, and every job is updated and published once
+    @Test
+    void bulkUpdateKeepsTheLastEntryForARepeatedId() {
+        Job first = stored(1L, "a");
+        Job second = stored(2L, "b");
+        when(jobRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+        JobDTO last = dto("1", "a2");
+        last.setName("Lead Java Developer");
+
+        List<JobDTO> updated = jobService.updateJobs(List.of(dto("1", "a1"), dto(" 2 ", "b1"), last));
+
+        assertThat(updated).hasSize(2);
+        assertThat(first.getUrl()).isEqualTo("https://jobs.example/a2");
+        assertThat(first.getName()).isEqualTo("Lead Java Developer");
+        assertThat(second.getUrl()).isEqualTo("https://jobs.example/b1");
+        assertThat(publishedUrls(false)).containsExactly("https://jobs.example/a2", "https://jobs.example/b1");
+        verify(jobDeduplicator).jobsUpdated(List.of(first, second));
+    }
+
+    @Test
+    void bulkUpdateOfAnUnknownIdFails() {
+        when(jobRepository.findAllById(anyCollection())).thenReturn(List.of(stored(1L, "a")));
+
+        assertThatThrownBy(() -> jobService.updateJobs(List.of(dto("1", "a1"), dto("9", "z"))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(jobEventPublisher, never()).publishJobsUpdated(any());
+    }
+
+    @Test
+    void bulkRequestsAreValidated() {
+        assertThatThrownBy(() -> jobService.createJobs(List.of()))
+                .isInstanceOf(APIException.class)
+                .hasMessage("No jobs provided");
+        assertThatThrownBy(() -> jobService.createJobs(List.of(
+                dto(null, "a"), dto(null, "b"), dto(null, "c"), dto(null, "d"), dto(null, "e"), dto(null, "f"))))
+                .isInstanceOf(APIException.class)
+                .hasMessageContaining("maximum is 5");
+        assertThatThrownBy(() -> jobService.updateJobs(List.of(dto(null, "a"))))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Every job in a bulk update needs an id");
+        assertThatThrownBy(() -> jobService.updateJobs(List.of(dto("x1", "a"))))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Invalid job id: x1");
+    }
+
+    private String eTag(int pageNumber, String mediaType) {
+        return jobService.getJobsETag(pageNumber, PAGE_SIZE, "time", "desc", null, null, null, null, "exact", null, mediaType);
+    }
+
+    private void givenMappedEntities() {
+        when(jobMapper.toEntity(any(JobDTO.class))).thenAnswer(invocation -> {
+            JobDTO jobDTO = invocation.getArgument(0);
+            Job job = new Job();
+            job.setName(jobDTO.getName());
+            job.setUrl(jobDTO.getUrl());
+            return job;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> publishedUrls(boolean created) {
+        ArgumentCaptor<List<JobEventDTO>> events = ArgumentCaptor.forClass(List.class);
+        if (created) {
+            verify(jobEventPublisher).publishJobsCreated(events.capture());
+        } else {
+            verify(jobEventPublisher).publishJobsUpdated(events.capture());
+        }
+        return events.getValue().stream().map(JobEventDTO::getUrl).toList();
+    }
+
+    private static JobDTO dto(String id, String path) {
+        JobDTO jobDTO = new JobDTO();
+        jobDTO.setId(id);
+        jobDTO.setName("Java Developer");
+        jobDTO.setUrl("https://jobs.example/" + path);
+        return jobDTO;
+    }
+
+    private static Job stored(Long id, String path) {
+        Job job = new Job();
+        job.setId(id);
+        job.setName("Java Developer");
+        job.setUrl("https://jobs.example/" + path);
+        return job;
+    }
+
+    private void givenReplicas() {
+        ReflectionTestUtils.setField(jobService, "replicasEnabled", true);
+        ReflectionTestUtils.setField(jobService, "replicaCatchUpMillis", 10000L);
+    }
+
+    private JobResponse getPage(int pageNumber, String totals) {
+        return jobService.getAllJobs(pageNumber, PAGE_SIZE, "time", "desc", null, null, null, null, totals);
+    }
+
+    private void givenSlice(int pageNumber, int rows, boolean hasNext) {
+        when(jobRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(jobs(rows), PageRequest.of(pageNumber, PAGE_SIZE), hasNext));
+    }
+
+    private List<Job> jobs(int count) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            jobs.add(new Job());
+        }
+        return jobs;
+    }
+}
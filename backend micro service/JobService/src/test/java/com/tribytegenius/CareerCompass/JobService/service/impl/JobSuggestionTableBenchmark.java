@@ -0,0 +1,91 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency distribution (p50/p99 in the SampleTime output) of GET /api/jobs/suggest
+ * over a synthetic catalog of titles and companies, with typed prefixes of 1 to 8 characters.
+ * Not run by surefire. To run:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.tribytegenius.CareerCompass.JobService.service.impl.JobSuggestionTableBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JobSuggestionTableBenchmark {
+
+    private static final String[] LEVELS = {"", "Junior ", "Senior ", "Lead ", "Principal ", "Graduate "};
+    private static final String[] SKILLS = {"Java", "Python", "JavaScript", "Data", "Cloud", "Frontend", "Backend",
+            "Full Stack", "Mobile", "Security", "Platform", "Machine Learning", "DevOps", "QA", "Site Reliability"};
+    private static final String[] ROLES = {"Engineer", "Developer", "Analyst", "Architect", "Consultant", "Manager",
+            "Specialist", "Scientist", "Administrator", "Tester"};
+
+    @Param({"10000", "100000"})
+    private int suggestions;
+
+    private JobSuggestionTable table;
+    private List<String> prefixes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<JobSuggestion> catalog = new ArrayList<>(suggestions);
+        for (int i = 0; i < suggestions; i++) {
+            // Zipf-like counts: a few very common entries, a long tail of single jobs
+            long count = Math.max(1, (long) (1000 / Math.pow(i + 1, 0.8)));
+            if (i % 3 == 0) {
+                catalog.add(new JobSuggestion("Company " + Long.toString(random.nextLong() & 0xffffffL, 36) + " Pty Ltd",
+                        JobSuggestionIndex.TYPE_COMPANY, count));
+            } else {
+                catalog.add(new JobSuggestion(LEVELS[random.nextInt(LEVELS.length)] + SKILLS[random.nextInt(SKILLS.length)]
+                        + " " + ROLES[random.nextInt(ROLES.length)] + " " + i, JobSuggestionIndex.TYPE_TITLE, count));
+            }
+        }
+        table = JobSuggestionTable.build(catalog, 10);
+
+        prefixes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String text = JobSuggestionTable.normalize(catalog.get(random.nextInt(catalog.size())).getText());
+            String[] words = text.split(" ");
+            String word = words[random.nextInt(words.length)];
+            prefixes.add(word.substring(0, Math.min(word.length(), 1 + random.nextInt(8))));
+        }
+    }
+
+    @Benchmark
+    public List<JobSuggestion> suggest() {
+        return table.suggest(prefixes.get(ThreadLocalRandom.current().nextInt(prefixes.size())), 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JobSuggestionTableBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
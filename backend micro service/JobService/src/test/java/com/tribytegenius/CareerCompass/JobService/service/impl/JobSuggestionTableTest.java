@@ -0,0 +1,110 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.JobSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobSuggestionTableTest {
+
+    private static final List<JobSuggestion> CATALOG = List.of(
+            title("Senior Java Developer", 5),
+            title("Java Developer", 9),
+            title("JavaScript Engineer", 4),
+            title("Python  Developer", 9),
+            company("Atlassian", 50),
+            company("Canva", 20));
+
+    @Test
+    void matchesTheStartOfAnyWord() {
+        JobSuggestionTable table = JobSuggestionTable.build(CATALOG, 10);
+
+        assertThat(texts(table.suggest("dev", 10)))
+                .containsExactly("Java Developer", "Python  Developer", "Senior Java Developer");
+        assertThat(texts(table.suggest("java d", 10))).containsExactly("Java Developer", "Senior Java Developer");
+        assertThat(table.suggest("eveloper", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksByCountThenLengthThenText() {
+        JobSuggestionTable table = JobSuggestionTable.build(CATALOG, 10);
+
+        assertThat(texts(table.suggest("java", 10)))
+                .containsExactly("Java Developer", "Senior Java Developer", "JavaScript Engineer");
+    }
+
+    @Test
+    void trailingSpaceEndsTheWord() {
+        JobSuggestionTable table = JobSuggestionTable.build(CATALOG, 10);
+
+        assertThat(JobSuggestionTable.normalizePrefix("  Java ")).isEqualTo("java ");
+        assertThat(JobSuggestionTable.normalizePrefix("JAVA")).isEqualTo("java");
+        assertThat(texts(table.suggest(JobSuggestionTable.normalizePrefix("Java "), 10)))
+                .containsExactly("Java Developer", "Senior Java Developer");
+    }
+
+    @Test
+    void resultsAreCappedByLimitAndMaxResults() {
+        JobSuggestionTable table = JobSuggestionTable.build(CATALOG, 2);
+
+        assertThat(texts(table.suggest("java", 10))).containsExactly("Java Developer", "Senior Java Developer");
+        assertThat(texts(table.suggest("java", 1))).containsExactly("Java Developer");
+        assertThat(table.suggest("java", 0)).isEmpty();
+        assertThat(table.suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    void eachSuggestionIsReturnedOnce() {
+        JobSuggestionTable table = JobSuggestionTable.build(List.of(title("Java Java Developer", 3)), 10);
+
+        assertThat(texts(table.suggest("java", 10))).containsExactly("Java Java Developer");
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    // Enough keys that common prefixes are answered from the precomputed results
+    @Test
+    void heavyPrefixesMatchAFullScan() {
+        Random random = new Random(7);
+        String[] skills = {"Java", "JavaScript", "Python", "Go", "Data", "DevOps"};
+        String[] roles = {"Developer", "Engineer", "Lead", "Architect"};
+        List<JobSuggestion> catalog = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            catalog.add(title(skills[random.nextInt(skills.length)] + " " + roles[random.nextInt(roles.length)] + " " + i,
+                    1 + random.nextInt(100)));
+        }
+        JobSuggestionTable table = JobSuggestionTable.build(catalog, 10);
+
+        for (String prefix : List.of("j", "java", "java ", "javas", "d", "de", "developer", "engineer 4", "1")) {
+            assertThat(table.suggest(prefix, 10)).as(prefix).isEqualTo(scan(catalog, prefix, 10));
+            assertThat(table.suggest(prefix, 3)).as(prefix).isEqualTo(scan(catalog, prefix, 3));
+        }
+    }
+
+    private static List<JobSuggestion> scan(List<JobSuggestion> catalog, String prefix, int limit) {
+        return catalog.stream()
+                // Word starts are the positions right after a space
+                .filter(suggestion -> (" " + JobSuggestionTable.normalize(suggestion.getText())).contains(" " + prefix))
+                .sorted(Comparator.comparingLong(JobSuggestion::getCount).reversed()
+                        .thenComparingInt(suggestion -> suggestion.getText().length())
+                        .thenComparing(JobSuggestion::getText))
+                .limit(limit)
+                .toList();
+    }
+
+    private static List<String> texts(List<JobSuggestion> suggestions) {
+        return suggestions.stream().map(JobSuggestion::getText).toList();
+    }
+
+    private static JobSuggestion title(String text, long count) {
+        return new JobSuggestion(text, JobSuggestionIndex.TYPE_TITLE, count);
+    }
+
+    private static JobSuggestion company(String text, long count) {
+        return new JobSuggestion(text, JobSuggestionIndex.TYPE_COMPANY, count);
+    }
+}
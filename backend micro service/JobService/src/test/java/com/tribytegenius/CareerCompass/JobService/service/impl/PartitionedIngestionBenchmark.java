@@ -0,0 +1,278 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import com.tribytegenius.CareerCompass.Events.event.EventDecoder;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.JobService.config.IngestPartitionConfig;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Load test of partitioned ingestion with a stubbed broker and store.
+ *
+ * The queues, their weights and the hashed header come from IngestPartitionConfig's declarations.
+ * A crawl of 20,000 job.created messages, shaped like the Python service's (JSON body, job-url and
+ * x-schema-version headers, a third of them re-crawled urls), is routed by its job-url header onto
+ * a hash ring of those queues, then drained by one consumer per partition calling
+ * PythonJobEventListener.handlePythonJobsCreated with batches of 500. The listener runs with its
+ * real decoder, url filter (not loaded, so every batch is looked up) and metrics; near-duplicate
+ * detection is off. The repository is a stub whose url lookup costs one round trip and whose batch
+ * insert costs a round trip plus a per-row cost, and which fails on a url already stored like the
+ * url constraint would. The ring hash stands in for the plugin's, so only the spread is comparable.
+ *
+ * Time per crawl should fall with partitions while the store is not the bottleneck. The teardown
+ * fails if two consumers ever handled the same url at once, or a batch hit the url constraint.
+ * Not run by surefire. To run:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.tribytegenius.CareerCompass.JobService.service.impl.PartitionedIngestionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartitionedIngestionBenchmark {
+
+    private static final int EVENTS = 20_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int RING_POINTS_PER_WEIGHT = 100;
+
+    // Stub store latencies: a round trip per statement plus a per-row cost for the insert
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long ROW_NANOS = TimeUnit.MICROSECONDS.toNanos(5);
+
+    @Param({"1", "2", "4", "8"})
+    private int partitions;
+
+    private PythonJobEventListener listener;
+    private Map<String, List<Message>> queues;
+    private ExecutorService consumers;
+
+    private final Set<String> storedUrls = ConcurrentHashMap.newKeySet();
+    private final Map<String, Thread> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong overlaps = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        listener = listener();
+
+        IngestPartitionConfig partitionConfig = new IngestPartitionConfig();
+        ReflectionTestUtils.setField(partitionConfig, "jobEventsExchange", "job.events");
+        ReflectionTestUtils.setField(partitionConfig, "jobCreatedRoutingKey", "job.created");
+        ReflectionTestUtils.setField(partitionConfig, "partitionCount", partitions);
+        ReflectionTestUtils.setField(partitionConfig, "ingestExchange", "job.ingest");
+        ReflectionTestUtils.setField(partitionConfig, "queuePrefix", "job.ingest.");
+        ReflectionTestUtils.setField(partitionConfig, "hashHeader", "job-url");
+        String hashHeader = null;
+        TreeMap<Long, String> ring = new TreeMap<>();
+        queues = new LinkedHashMap<>();
+        for (Object declarable : partitionConfig.ingestPartitionDeclarables().getDeclarables()) {
+            if (declarable instanceof CustomExchange exchange) {
+                hashHeader = (String) exchange.getArguments().get("hash-header");
+            } else if (declarable instanceof Queue queue) {
+                queues.put(queue.getName(), new ArrayList<>());
+            } else if (declarable instanceof Binding binding && binding.isDestinationQueue()) {
+                // Stubbed x-consistent-hash exchange: the binding's routing key is its weight
+                int points = Integer.parseInt(binding.getRoutingKey()) * RING_POINTS_PER_WEIGHT;
+                for (int point = 0; point < points; point++) {
+                    ring.put(hash(binding.getDestination() + "-" + point), binding.getDestination());
+                }
+            }
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < EVENTS; i++) {
+            int id = i % 3 == 0 && i > 0 ? random.nextInt(i) : i;
+            Message message = crawled("https://www.seek.com.au/job/" + (80_000_000 + id));
+            String key = String.valueOf((Object) message.getMessageProperties().getHeader(hashHeader));
+            Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+            queues.get(owner == null ? ring.firstEntry().getValue() : owner.getValue()).add(message);
+        }
+
+        consumers = Executors.newFixedThreadPool(partitions);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStore() {
+        storedUrls.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        consumers.shutdownNow();
+        if (overlaps.get() > 0) {
+            throw new IllegalStateException(overlaps.get() + " urls were ingested by two consumers at once");
+        }
+        if (conflicts.get() > 0) {
+            throw new IllegalStateException(conflicts.get() + " batches conflicted on the url constraint");
+        }
+    }
+
+    @Benchmark
+    public int ingestCrawl() throws Exception {
+        List<Future<?>> results = new ArrayList<>();
+        for (List<Message> queue : queues.values()) {
+            results.add(consumers.submit(() -> drain(queue)));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        return storedUrls.size();
+    }
+
+    // One partition's consumer: the batch listener container hands the listener BATCH_SIZE messages at a time
+    private void drain(List<Message> queue) {
+        for (int from = 0; from < queue.size(); from += BATCH_SIZE) {
+            List<Message> batch = queue.subList(from, Math.min(from + BATCH_SIZE, queue.size()));
+            List<String> urls = batch.stream()
+                    .map(message -> String.valueOf((Object) message.getMessageProperties().getHeader("job-url")))
+                    .toList();
+            for (String url : urls) {
+                Thread owner = inFlight.putIfAbsent(url, Thread.currentThread());
+                if (owner != null && owner != Thread.currentThread()) {
+                    overlaps.incrementAndGet();
+                }
+            }
+            listener.handlePythonJobsCreated(batch);
+            for (String url : urls) {
+                inFlight.remove(url, Thread.currentThread());
+            }
+        }
+    }
+
+    private PythonJobEventListener listener() {
+        JobRepository jobRepository = stub(JobRepository.class);
+        when(jobRepository.findExistingUrls(anyCollection())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return invocation.<Collection<String>>getArgument(0).stream()
+                    .filter(storedUrls::contains)
+                    .collect(Collectors.toSet());
+        });
+        when(jobRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Job> jobs = invocation.getArgument(0);
+            LockSupport.parkNanos(ROUND_TRIP_NANOS + ROW_NANOS * jobs.size());
+            for (Job job : jobs) {
+                if (!storedUrls.add(job.getUrl())) {
+                    conflicts.incrementAndGet();
+                    throw new DataIntegrityViolationException("duplicate key value violates unique constraint on url");
+                }
+            }
+            return jobs;
+        });
+
+        PlatformTransactionManager transactionManager = stub(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JobDeduplicator jobDeduplicator = new JobDeduplicator();
+        ReflectionTestUtils.setField(jobDeduplicator, "mode", JobDeduplicator.MODE_OFF);
+
+        PythonJobEventListener listener = new PythonJobEventListener();
+        ReflectionTestUtils.setField(listener, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(listener, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(listener, "jobCatalogVersion", stub(JobCatalogVersion.class));
+        ReflectionTestUtils.setField(listener, "jobFacetCounter", stub(JobFacetCounter.class));
+        ReflectionTestUtils.setField(listener, "jobSuggestionIndex", stub(JobSuggestionIndex.class));
+        ReflectionTestUtils.setField(listener, "jobDeduplicator", jobDeduplicator);
+        ReflectionTestUtils.setField(listener, "jobUrlFilter", new JobUrlFilter(stub(DataSource.class),
+                transactionManager, meterRegistry, true, EVENTS, 0.01, 5000));
+        ReflectionTestUtils.setField(listener, "eventDecoder", new EventDecoder());
+        ReflectionTestUtils.setField(listener, "deadLetterPublisher", stub(DeadLetterPublisher.class));
+        ReflectionTestUtils.setField(listener, "ingestMetrics", new IngestMetrics(meterRegistry, stub(AmqpAdmin.class),
+                "job-created", partitions, "job.ingest.", "job-service.dead-letter"));
+        ReflectionTestUtils.setField(listener, "searchJobRegistry", stub(SearchJobRegistry.class));
+        return listener;
+    }
+
+    // Same body and headers as the Python service's publish_job_event
+    private static Message crawled(String url) {
+        String body = "{\"name\":\"Java Developer\",\"company\":\"Atlassian\",\"type\":\"Full-time\","
+                + "\"location\":\"Sydney NSW\",\"website\":\"seek\",\"url\":\"" + url + "\","
+                + "\"time\":\"2026-10-01 09:30:00\",\"status\":\"Active\",\"eventType\":\"CREATED\","
+                + "\"timestamp\":\"2026-10-01T09:30:00.000000\"}";
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("job-url", url);
+        properties.setHeader(EventContract.SCHEMA_VERSION_HEADER, 1);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    // Mocks that keep no invocation history, which would grow without bound over a run
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    // FNV-1a with a SplitMix64 finish, standing in for the plugin's hash of the job-url header
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PartitionedIngestionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,271 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
+import com.tribytegenius.CareerCompass.Events.event.EventDecoder;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.JobService.model.Job;
+import com.tribytegenius.CareerCompass.JobService.repository.JobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Batch and single ingestion with a real decoder and metrics, and the database mocked
+@ExtendWith(MockitoExtension.class)
+class PythonJobEventListenerTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Mock
+    private JobFacetCounter jobFacetCounter;
+
+    @Mock
+    private JobSuggestionIndex jobSuggestionIndex;
+
+    @Mock
+    private JobDeduplicator jobDeduplicator;
+
+    @Mock
+    private JobUrlFilter jobUrlFilter;
+
+    @Mock
+    private DeadLetterPublisher deadLetterPublisher;
+
+    @Mock
+    private SearchJobRegistry searchJobRegistry;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Urls of every saveAll call, in order
+    private final List<List<String>> savedBatches = new ArrayList<>();
+
+    private PythonJobEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        // The url filter cannot rule anything out, so every url is looked up
+        lenient().when(jobUrlFilter.mightContain(anyString())).thenReturn(true);
+
+        listener = new PythonJobEventListener();
+        ReflectionTestUtils.setField(listener, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(listener, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(listener, "jobCatalogVersion", jobCatalogVersion);
+        ReflectionTestUtils.setField(listener, "jobFacetCounter", jobFacetCounter);
+        ReflectionTestUtils.setField(listener, "jobSuggestionIndex", jobSuggestionIndex);
+        ReflectionTestUtils.setField(listener, "jobDeduplicator", jobDeduplicator);
+        ReflectionTestUtils.setField(listener, "jobUrlFilter", jobUrlFilter);
+        ReflectionTestUtils.setField(listener, "eventDecoder", new EventDecoder());
+        ReflectionTestUtils.setField(listener, "deadLetterPublisher", deadLetterPublisher);
+        ReflectionTestUtils.setField(listener, "ingestMetrics", new IngestMetrics(meterRegistry, mock(AmqpAdmin.class),
+                "job-created", 0, "job.ingest.", "job-service.dead-letter"));
+        ReflectionTestUtils.setField(listener, "searchJobRegistry", searchJobRegistry);
+    }
+
+    // One lookup and one insert for the batch; stored, repeated and malformed events are not inserted
+    @Test
+    void batchStoresOnlyNewUrlsInOneInsert() {
+        when(jobRepository.findExistingUrls(anyCollection())).thenReturn(Set.of("https://jobs.example/b"));
+        givenSaveAll();
+        Message malformed = message("{\"name\":", "https://jobs.example/x");
+
+        listener.handlePythonJobsCreated(List.of(
+                crawled("a"), crawled("b"), crawled("a"), malformed, crawled("c")));
+
+        assertThat(savedBatches).containsExactly(List.of("https://jobs.example/a", "https://jobs.example/c"));
+        verify(deadLetterPublisher).reject(eq(malformed), anyString());
+        verify(jobDeduplicator).jobsAdded(any());
+        assertThat(count("accepted")).isEqualTo(2);
+        assertThat(count("duplicate")).isEqualTo(2);
+        assertThat(count("malformed")).isEqualTo(1);
+        assertThat(meterRegistry.get("jobs.ingest.batch.size").summary().totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void batchOfKnownUrlsInsertsNothing() {
+        when(jobRepository.findExistingUrls(anyCollection()))
+                .thenReturn(Set.of("https://jobs.example/a", "https://jobs.example/b"));
+
+        listener.handlePythonJobsCreated(List.of(crawled("a"), crawled("b")));
+
+        verify(jobRepository, never()).saveAll(anyList());
+        verify(jobCatalogVersion, never()).bump();
+        assertThat(count("duplicate")).isEqualTo(2);
+    }
+
+    // Another consumer committed b first: the batch is retried job by job and only b is skipped
+    @Test
+    void urlConflictFallsBackToJobByJob() {
+        when(jobRepository.findExistingUrls(anyCollection())).thenReturn(Set.of());
+        givenSaveAll("https://jobs.example/b", "https://jobs.example/b");
+
+        listener.handlePythonJobsCreated(List.of(crawled("a"), crawled("b"), crawled("c")));
+
+        assertThat(savedBatches).containsExactly(
+                List.of("https://jobs.example/a", "https://jobs.example/b", "https://jobs.example/c"),
+                List.of("https://jobs.example/a"),
+                List.of("https://jobs.example/b"),
+                List.of("https://jobs.example/c"));
+        verify(deadLetterPublisher, never()).retry(any(), any());
+        assertThat(count("accepted")).isEqualTo(2);
+        assertThat(count("duplicate")).isEqualTo(1);
+        assertThat(count("failed")).isZero();
+    }
+
+    // In the job by job pass only the job that fails for another reason is retried
+    @Test
+    void jobByJobFailuresAreRetriedOnTheirOwn() {
+        when(jobRepository.findExistingUrls(anyCollection())).thenReturn(Set.of());
+        when(deadLetterPublisher.retry(any(), any())).thenReturn(true);
+        Message failing = crawled("b");
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            int call = calls.incrementAndGet();
+            if (call == 1) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint on url");
+            }
+            if (call == 3) {
+                throw new DataAccessResourceFailureException("connection reset");
+            }
+            return invocation.getArgument(0);
+        }).when(jobRepository).saveAll(anyList());
+
+        listener.handlePythonJobsCreated(List.of(crawled("a"), failing, crawled("c")));
+
+        verify(deadLetterPublisher).retry(eq(failing), any(DataAccessResourceFailureException.class));
+        assertThat(count("accepted")).isEqualTo(2);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchRetriesEveryJob() {
+        when(jobRepository.findExistingUrls(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("database unreachable"));
+        when(deadLetterPublisher.retry(any(), any())).thenReturn(true);
+        Message first = crawled("a");
+        Message second = crawled("b");
+
+        listener.handlePythonJobsCreated(List.of(first, second, crawled("a")));
+
+        verify(deadLetterPublisher).retry(eq(first), any());
+        verify(deadLetterPublisher).retry(eq(second), any());
+        assertThat(count("failed")).isEqualTo(2);
+        // The repeated url counts as a duplicate, not as a third failure
+        assertThat(count("duplicate")).isEqualTo(1);
+    }
+
+    // Retried events are counted towards their search when they come back, not now
+    @Test
+    void searchesCountStoredSkippedAndParkedEvents() {
+        when(jobRepository.findExistingUrls(anyCollection())).thenReturn(Set.of("https://jobs.example/b"));
+        givenSaveAll();
+
+        listener.handlePythonJobsCreated(List.of(
+                forSearch(crawled("a"), "s1"), forSearch(crawled("b"), "s1"),
+                forSearch(message("not json", "https://jobs.example/x"), "s1"), forSearch(crawled("c"), "s2")));
+
+        verify(searchJobRegistry).recordIngestion("s1", 1, 3);
+        verify(searchJobRegistry).recordIngestion("s2", 1, 1);
+    }
+
+    // Single mode: a url stored by another consumer since the lookup is a duplicate, not a failure
+    @Test
+    void singleModeTreatsAUrlConflictAsADuplicate() {
+        when(jobRepository.saveAndFlush(any(Job.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint on url"));
+
+        listener.handlePythonJobCreated(crawled("a"));
+
+        verify(deadLetterPublisher, never()).retry(any(), any());
+        assertThat(count("duplicate")).isEqualTo(1);
+        assertThat(count("failed")).isZero();
+    }
+
+    @Test
+    void singleModeRetriesOtherFailures() {
+        Message message = crawled("a");
+        when(jobRepository.saveAndFlush(any(Job.class))).thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        listener.handlePythonJobCreated(message);
+
+        verify(deadLetterPublisher).retry(eq(message), any(DataAccessResourceFailureException.class));
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    // saveAll records each batch's urls, failing with a url conflict when a batch contains a conflicting url
+    private void givenSaveAll(String... conflictingUrls) {
+        List<String> conflicts = new ArrayList<>(List.of(conflictingUrls));
+        doAnswer(invocation -> {
+            List<String> urls = invocation.<Collection<Job>>getArgument(0).stream().map(Job::getUrl).toList();
+            savedBatches.add(urls);
+            if (!conflicts.isEmpty() && urls.contains(conflicts.get(0))) {
+                conflicts.remove(0);
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint on url");
+            }
+            return invocation.getArgument(0);
+        }).when(jobRepository).saveAll(anyList());
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("jobs.ingest.messages", "result", result).count();
+    }
+
+    // Same body and headers as the Python service's publish_job_event
+    private static Message crawled(String path) {
+        String url = "https://jobs.example/" + path;
+        return message("{\"name\":\"Java Developer\",\"company\":\"Atlassian\",\"type\":\"Full-time\","
+                + "\"location\":\"Sydney NSW\",\"website\":\"seek\",\"url\":\"" + url + "\","
+                + "\"time\":\"2026-10-01 09:30:00\",\"status\":\"Active\",\"eventType\":\"CREATED\","
+                + "\"timestamp\":\"2026-10-01T09:30:00.000000\"}", url);
+    }
+
+    private static Message message(String body, String url) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("job-url", url);
+        properties.setHeader(EventContract.SCHEMA_VERSION_HEADER, 1);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private static Message forSearch(Message message, String searchId) {
+        message.getMessageProperties().setHeader(EventContract.SEARCH_ID_HEADER, searchId);
+        return message;
+    }
+}
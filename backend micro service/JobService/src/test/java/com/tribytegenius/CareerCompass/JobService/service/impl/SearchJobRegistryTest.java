@@ -0,0 +1,126 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.tribytegenius.CareerCompass.JobService.dto.SearchProgress;
+import com.tribytegenius.CareerCompass.JobService.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Without Redis, so searches live in the registry's local cache
+class SearchJobRegistryTest {
+
+    private SearchJobRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SearchJobRegistry();
+        ReflectionTestUtils.setField(registry, "redisEnabled", false);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(registry, "settleSeconds", 60L);
+        registry.init();
+    }
+
+    @Test
+    void queuedSearchIsNotDone() {
+        registry.queued("s1");
+
+        SearchProgress progress = registry.get("s1");
+        assertThat(progress.getStatus()).isEqualTo("QUEUED");
+        assertThat(progress.isDone()).isFalse();
+        assertThat(progress.getCreatedAt()).isNotNull();
+        assertThat(progress.getStartedAt()).isNull();
+    }
+
+    @Test
+    void startedSearchIsRunning() {
+        registry.queued("s1");
+        registry.started("s1");
+
+        SearchProgress progress = registry.get("s1");
+        assertThat(progress.getStatus()).isEqualTo("RUNNING");
+        assertThat(progress.isDone()).isFalse();
+        assertThat(progress.getStartedAt()).isNotNull();
+    }
+
+    @Test
+    void finishedSearchIsIngestingUntilEveryPublishedEventWasHandled() {
+        registry.queued("s1");
+        registry.started("s1");
+        registry.finished("s1", 12, 3);
+        registry.recordIngestion("s1", 1, 2);
+
+        SearchProgress progress = registry.get("s1");
+        assertThat(progress.getStatus()).isEqualTo("INGESTING");
+        assertThat(progress.isDone()).isFalse();
+        assertThat(progress.getJobsFound()).isEqualTo(12);
+        assertThat(progress.getJobsPublished()).isEqualTo(3);
+        assertThat(progress.getJobsIngested()).isEqualTo(1);
+        assertThat(progress.getJobsProcessed()).isEqualTo(2);
+
+        registry.recordIngestion("s1", 1, 1);
+
+        progress = registry.get("s1");
+        assertThat(progress.getStatus()).isEqualTo("COMPLETED");
+        assertThat(progress.isDone()).isTrue();
+        assertThat(progress.getJobsIngested()).isEqualTo(2);
+    }
+
+    @Test
+    void searchPublishingNothingCompletesRightAway() {
+        registry.queued("s1");
+        registry.finished("s1", 0, 0);
+
+        assertThat(registry.get("s1").getStatus()).isEqualTo("COMPLETED");
+    }
+
+    // Older Python services do not report what they published
+    @Test
+    void finishedSearchWithoutAPublishedCountCompletesAfterTheSettleTime() {
+        registry.queued("s1");
+        registry.finished("s1", 12, null);
+        assertThat(registry.get("s1").getStatus()).isEqualTo("INGESTING");
+
+        ReflectionTestUtils.setField(registry, "settleSeconds", 0L);
+
+        assertThat(registry.get("s1").getStatus()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void failedSearchIsDoneWithItsError() {
+        registry.queued("s1");
+        registry.started("s1");
+        registry.failed("s1", "crawler down");
+
+        SearchProgress progress = registry.get("s1");
+        assertThat(progress.getStatus()).isEqualTo("FAILED");
+        assertThat(progress.isDone()).isTrue();
+        assertThat(progress.getError()).isEqualTo("crawler down");
+        assertThat(progress.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void failedSearchWithoutAMessageHasNoError() {
+        registry.queued("s1");
+        registry.failed("s1", null);
+
+        assertThat(registry.get("s1").getError()).isNull();
+    }
+
+    @Test
+    void ingestionOfUnknownSearchesIsIgnored() {
+        registry.recordIngestion("unknown", 5, 5);
+
+        assertThatThrownBy(() -> registry.get("unknown")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void discardedSearchIsGone() {
+        registry.queued("s1");
+        registry.discard("s1");
+
+        assertThatThrownBy(() -> registry.get("s1")).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
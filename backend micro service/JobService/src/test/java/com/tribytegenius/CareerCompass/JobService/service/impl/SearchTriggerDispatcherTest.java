@@ -0,0 +1,192 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchRequestBody;
+import com.tribytegenius.CareerCompass.JobService.dto.SearchTicket;
+import com.tribytegenius.CareerCompass.JobService.exception.SearchRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchTriggerDispatcherTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SearchJobRegistry searchJobRegistry;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SearchTriggerDispatcher dispatcher;
+
+    // Crawls the Python service was asked for; they never finish unless response is set
+    private final List<Object> crawls = new ArrayList<>();
+    private Mono<ClientResponse> response = Mono.never();
+
+    @BeforeEach
+    void setUp() {
+        WebClient pythonServiceClient = WebClient.builder()
+                .baseUrl("http://python-service/search")
+                .exchangeFunction(request -> {
+                    crawls.add(request);
+                    return response;
+                })
+                .build();
+        dispatcher = new SearchTriggerDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "pythonServiceClient", pythonServiceClient);
+        ReflectionTestUtils.setField(dispatcher, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "searchJobRegistry", searchJobRegistry);
+        ReflectionTestUtils.setField(dispatcher, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(dispatcher, "redisEnabled", false);
+        ReflectionTestUtils.setField(dispatcher, "coalesceWindowSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxInFlight", 1);
+        ReflectionTestUtils.setField(dispatcher, "crawlTimeoutSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "rateLimitMaxRequests", 5);
+        ReflectionTestUtils.setField(dispatcher, "rateLimitWindowSeconds", 60L);
+    }
+
+    @Test
+    void identicalSearchesJoinTheFirstTicket() {
+        dispatcher.init();
+
+        SearchTicket first = dispatcher.submit(search("LinkedIn", List.of("Full-time", "Contract"), "Sydney"), "a@x.com");
+        SearchTicket second = dispatcher.submit(
+                search("  linkedin ", List.of("contract", "full-time", "Contract"), "sydney  "), "b@x.com");
+
+        assertThat(first.isCoalesced()).isFalse();
+        assertThat(second.isCoalesced()).isTrue();
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(crawls).hasSize(1);
+        assertThat(meterRegistry.counter("jobs.search.requests", "result", "coalesced").count()).isEqualTo(1);
+    }
+
+    @Test
+    void differentSearchesGetTheirOwnTickets() {
+        dispatcher.init();
+
+        SearchTicket first = dispatcher.submit(search("LinkedIn", List.of("Full-time"), "Sydney"), "a@x.com");
+        SearchTicket second = dispatcher.submit(search("LinkedIn", List.of("Full-time"), "Melbourne"), "a@x.com");
+
+        assertThat(second.isCoalesced()).isFalse();
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    void coalescedTicketsAreSharedThroughRedis() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn("ticket-from-another-node");
+        ReflectionTestUtils.setField(dispatcher, "redisEnabled", true);
+        dispatcher.init();
+
+        SearchTicket ticket = dispatcher.submit(search("LinkedIn", List.of("Full-time"), "Sydney"), "a@x.com");
+
+        assertThat(ticket.getId()).isEqualTo("ticket-from-another-node");
+        assertThat(ticket.isCoalesced()).isTrue();
+        assertThat(crawls).isEmpty();
+    }
+
+    @Test
+    void searchesOverTheRateLimitAreRejectedWith429() {
+        ReflectionTestUtils.setField(dispatcher, "rateLimitMaxRequests", 2);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 10);
+        dispatcher.init();
+
+        dispatcher.submit(search("LinkedIn", List.of(), "Sydney"), "a@x.com");
+        dispatcher.submit(search("LinkedIn", List.of(), "Melbourne"), "A@X.com");
+
+        assertThatThrownBy(() -> dispatcher.submit(search("LinkedIn", List.of(), "Perth"), "a@x.com"))
+                .isInstanceOfSatisfying(SearchRejectedException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getRetryAfterSeconds()).isBetween(1L, 60L);
+                });
+        // Other users and coalesced searches are not held back
+        dispatcher.submit(search("LinkedIn", List.of(), "Perth"), "b@x.com");
+        assertThat(dispatcher.submit(search("LinkedIn", List.of(), "Sydney"), "a@x.com").isCoalesced()).isTrue();
+    }
+
+    @Test
+    void searchesFindingTheQueueFullAreRejectedWith503() {
+        dispatcher.init();
+        // One crawl in flight and two queued behind it
+        dispatcher.submit(search("LinkedIn", List.of(), "Sydney"), "a@x.com");
+        dispatcher.submit(search("LinkedIn", List.of(), "Melbourne"), "b@x.com");
+        dispatcher.submit(search("LinkedIn", List.of(), "Perth"), "c@x.com");
+
+        assertThatThrownBy(() -> dispatcher.submit(search("LinkedIn", List.of(), "Hobart"), "d@x.com"))
+                .isInstanceOfSatisfying(SearchRejectedException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(crawls).hasSize(1);
+        verify(searchJobRegistry).discard(anyString());
+
+        // The rejected search was not left claiming its coalescing key
+        assertThatThrownBy(() -> dispatcher.submit(search("LinkedIn", List.of(), "Hobart"), "d@x.com"))
+                .isInstanceOf(SearchRejectedException.class);
+    }
+
+    @Test
+    void finishedCrawlsReportTheirCountsAndStartTheNext() {
+        response = Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"message\":\"ok\",\"total_found\":12,\"published\":9}")
+                .build());
+        dispatcher.init();
+
+        SearchTicket first = dispatcher.submit(search("LinkedIn", List.of(), "Sydney"), "a@x.com");
+        SearchTicket second = dispatcher.submit(search("LinkedIn", List.of(), "Melbourne"), "a@x.com");
+
+        assertThat(crawls).hasSize(2);
+        verify(searchJobRegistry).started(first.getId());
+        verify(searchJobRegistry).finished(first.getId(), 12, 9);
+        verify(searchJobRegistry).finished(second.getId(), 12, 9);
+    }
+
+    @Test
+    void failedCrawlsReleaseTheirSearchForARetry() {
+        response = Mono.error(new IllegalStateException("crawler down"));
+        dispatcher.init();
+
+        SearchTicket first = dispatcher.submit(search("LinkedIn", List.of(), "Sydney"), "a@x.com");
+        SearchTicket retry = dispatcher.submit(search("LinkedIn", List.of(), "Sydney"), "a@x.com");
+
+        verify(searchJobRegistry).failed(eq(first.getId()), anyString());
+        verify(searchJobRegistry, never()).finished(eq(first.getId()), any(), any());
+        assertThat(retry.isCoalesced()).isFalse();
+        assertThat(retry.getId()).isNotEqualTo(first.getId());
+    }
+
+    private static SearchRequestBody search(String website, List<String> types, String location) {
+        return new SearchRequestBody(website, types, location, 7, null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.tribytegenius.CareerCompass.JobService.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlBloomFilterTest {
+
+    private static final int URLS = 100_000;
+
+    @Test
+    void addedUrlsAreAlwaysFound() {
+        UrlBloomFilter filter = filled(0.01);
+
+        for (int i = 0; i < URLS; i++) {
+            assertThat(filter.mightContain(url(i))).as(url(i)).isTrue();
+        }
+        assertThat(filter.size()).isEqualTo(URLS);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        UrlBloomFilter filter = filled(0.01);
+
+        int falsePositives = 0;
+        for (int i = URLS; i < 2 * URLS; i++) {
+            if (filter.mightContain(url(i))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / URLS;
+        assertThat(rate).isBetween(0.005, 0.015);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void lowerRateTakesMoreSpace() {
+        assertThat(new UrlBloomFilter(URLS, 0.001).sizeInBytes())
+                .isGreaterThan(new UrlBloomFilter(URLS, 0.01).sizeInBytes());
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        UrlBloomFilter filter = new UrlBloomFilter(URLS, 0.01);
+
+        assertThat(filter.mightContain(url(0))).isFalse();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    void overfilledFilterDegradesGracefully() {
+        UrlBloomFilter filter = new UrlBloomFilter(10, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(url(i));
+        }
+
+        assertThat(filter.mightContain(url(999))).isTrue();
+        assertThat(filter.expectedFalsePositiveRate()).isGreaterThan(0.5);
+    }
+
+    private static UrlBloomFilter filled(double falsePositiveRate) {
+        UrlBloomFilter filter = new UrlBloomFilter(URLS, falsePositiveRate);
+        for (int i = 0; i < URLS; i++) {
+            filter.add(url(i));
+        }
+        return filter;
+    }
+
+    private static String url(int i) {
+        return "https://www.linkedin.com/jobs/view/" + (3_900_000_000L + i);
+    }
+}
@@ -2,8 +2,10 @@ package com.tribytegenius.CareerCompass.UserJobService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class UserJobServiceApplication {
 
 	public static void main(String[] args) {
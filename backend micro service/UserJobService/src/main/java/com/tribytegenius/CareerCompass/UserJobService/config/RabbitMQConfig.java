@@ -1,5 +1,9 @@
 package com.tribytegenius.CareerCompass.UserJobService.config;
 
+import com.tribytegenius.CareerCompass.Events.config.DeadLetterConfig;
+import com.tribytegenius.CareerCompass.Events.config.EventPublishingConfig;
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,8 +12,13 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
+@Import({DeadLetterConfig.class, EventPublishingConfig.class})
 public class RabbitMQConfig {
 
     @Value("${rabbitmq.exchanges.userjob-events}")
@@ -27,6 +36,15 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.queues.job-events}")
     private String jobEventsQueue;
 
+    @Value("${rabbitmq.exchanges.dead-letter:events.dead-letter}")
+    private String deadLetterExchange;
+
+    @Value("${rabbitmq.queues.dead-letter}")
+    private String deadLetterQueue;
+
+    @Value("${rabbitmq.exchanges.retry}")
+    private String retryExchange;
+
     // Exchanges
     @Bean
     public TopicExchange userJobEventsExchange() {
@@ -54,6 +72,47 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(jobEventsQueue).build();
     }
 
+    // Parking lot: messages DeadLetterPublisher rejected or gave up retrying, routed by queue name
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(deadLetterExchange);
+    }
+
+    @Bean
+    public Queue deadLetterQueue() {
+        return QueueBuilder.durable(deadLetterQueue).build();
+    }
+
+    @Bean
+    public Binding deadLetterBinding() {
+        return BindingBuilder
+                .bind(deadLetterQueue())
+                .to(deadLetterExchange())
+                .with(deadLetterQueue);
+    }
+
+    // Retry tiers: DeadLetterPublisher sends a failed message to the headers exchange with its
+    // x-retry-delay, keyed by the queue it came from. The tier queue holds it for that delay and
+    // then dead-letters it through the default exchange, which delivers it back to that queue.
+    // Tier queues are named by their delay, so changing events.retry.* adds queues instead of
+    // redeclaring existing ones with a different TTL
+    @Bean
+    public Declarables retryDeclarables(DeadLetterPublisher deadLetterPublisher) {
+        List<Declarable> declarables = new ArrayList<>();
+        HeadersExchange exchange = new HeadersExchange(retryExchange);
+        declarables.add(exchange);
+        for (long delay : deadLetterPublisher.retryDelays().stream().distinct().toList()) {
+            Queue queue = QueueBuilder.durable(retryExchange + "." + delay + "ms")
+                    .ttl((int) delay)
+                    .deadLetterExchange("")
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange)
+                    .where(EventContract.RETRY_DELAY_HEADER).matches(String.valueOf(delay)));
+        }
+        return new Declarables(declarables);
+    }
+
     // Bindings for external events
     @Bean
     public Binding userEventsBinding() {
@@ -82,6 +141,7 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        template.setBeforePublishPostProcessors(EventContract.schemaVersionStamp());
         return template;
     }
 }
@@ -0,0 +1,27 @@
+package com.tribytegenius.CareerCompass.UserJobService.config;
+
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier;
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier.ExpectedIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+public class SchemaIndexConfig {
+
+    @Value("${schema.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    // Created by the migrations in db/migration
+    @Bean
+    public SchemaIndexVerifier schemaIndexVerifier(JdbcTemplate jdbcTemplate) {
+        return new SchemaIndexVerifier(jdbcTemplate, verifyIndexes, List.of(
+                new ExpectedIndex("user_jobs", List.of("user_id", "job_id"), true),
+                new ExpectedIndex("user_jobs", List.of("user_id", "status"), false),
+                new ExpectedIndex("user_roles_cache", List.of("user_id"), false)
+        ));
+    }
+}
@@ -0,0 +1,47 @@
+package com.tribytegenius.CareerCompass.UserJobService.mapper;
+
+import com.tribytegenius.CareerCompass.UserJobService.dto.JobDTO;
+import com.tribytegenius.CareerCompass.UserJobService.dto.UserJobDTO;
+import com.tribytegenius.CareerCompass.UserJobService.model.Job;
+import com.tribytegenius.CareerCompass.UserJobService.model.User;
+import com.tribytegenius.CareerCompass.UserJobService.model.UserJob;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field conversions for favorites listings, replacing ModelMapper.
+ * Keep in sync with the fields of Job/JobDTO and UserJob/UserJobDTO.
+ */
+@Component
+public class JobMapper {
+
+    public JobDTO toDTO(Job job) {
+        if (job == null) {
+            return null;
+        }
+        return new JobDTO(
+                job.getId() != null ? job.getId().toString() : null,
+                job.getName(),
+                job.getCompany(),
+                job.getType(),
+                job.getLocation(),
+                job.getTime(),
+                job.getStatus(),
+                job.getUrl(),
+                job.getWebsite()
+        );
+    }
+
+    public UserJobDTO toDTO(UserJob userJob, User user, Job job) {
+        if (userJob == null) {
+            return null;
+        }
+        return new UserJobDTO(
+                userJob.getId(),
+                userJob.getUserId(),
+                user != null ? user.getUserName() : null,
+                toDTO(job),
+                userJob.getStatus(),
+                userJob.getStatusChangedAt()
+        );
+    }
+}
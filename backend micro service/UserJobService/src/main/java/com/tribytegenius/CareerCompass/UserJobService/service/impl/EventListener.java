@@ -1,5 +1,10 @@
 package com.tribytegenius.CareerCompass.UserJobService.service.impl;
 
+import com.tribytegenius.CareerCompass.Events.service.DeadLetterPublisher;
+import com.tribytegenius.CareerCompass.Events.event.EventDecoder;
+import com.tribytegenius.CareerCompass.Events.event.JobEvent;
+import com.tribytegenius.CareerCompass.Events.event.MalformedEventException;
+import com.tribytegenius.CareerCompass.Events.event.UserEvent;
 import com.tribytegenius.CareerCompass.UserJobService.model.Job;
 import com.tribytegenius.CareerCompass.UserJobService.model.User;
 import com.tribytegenius.CareerCompass.UserJobService.repository.JobRepository;
@@ -7,14 +12,21 @@ import com.tribytegenius.CareerCompass.UserJobService.repository.UserJobReposito
 import com.tribytegenius.CareerCompass.UserJobService.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
+/**
+ * Keeps the local user and job copies in sync with UserService and JobService events. Messages are
+ * decoded by EventDecoder; malformed ones and unknown event types go to the dead-letter queue.
+ * Each event is applied in its own transaction. If that fails, commit included, DeadLetterPublisher
+ * retries the event after a delay instead of blocking the queue behind it.
+ */
 @Service
 public class EventListener {
 
@@ -29,74 +41,144 @@ public class EventListener {
     @Autowired
     private UserJobRepository userJobRepository;
 
+    @Autowired
+    private EventDecoder eventDecoder;
+
+    @Autowired
+    private DeadLetterPublisher deadLetterPublisher;
+
+    @Autowired
+    private EventMetrics eventMetrics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${rabbitmq.queues.user-events}")
+    private String userEventsQueue;
+
+    @Value("${rabbitmq.queues.job-events}")
+    private String jobEventsQueue;
+
     @RabbitListener(queues = "${rabbitmq.queues.user-events}")
-    @Transactional
-    public void handleUserEvent(Map<String, Object> event) {
+    public void handleUserEvent(Message message) {
+        long started = System.nanoTime();
+        UserEvent event;
         try {
-            String eventType = (String) event.get("eventType");
-            Long userId = Long.valueOf(event.get("userId").toString());
-
-            logger.info("Received user event: {} for user ID: {}", eventType, userId);
-
-            switch (eventType) {
-                case "CREATED":
-                case "UPDATED":
-                    User user = new User();
-                    user.setId(userId);
-                    user.setUserName((String) event.get("username"));
-                    user.setEmail((String) event.get("email"));
-                    user.setRoles((java.util.List<String>) event.get("roles"));
-                    user.setCreatedAt(LocalDateTime.now());
-                    user.setUpdatedAt(LocalDateTime.now());
-                    userRepository.save(user);
-                    logger.info("User cache updated for user ID: {}", userId);
-                    break;
-
-                case "DELETED":
-                    userRepository.deleteById(userId);
-                    userJobRepository.deleteByUserId(userId);
-                    logger.info("User cache and related UserJobs deleted for user ID: {}", userId);
-                    break;
-            }
+            event = eventDecoder.decodeUserEvent(message);
+        } catch (MalformedEventException e) {
+            deadLetterPublisher.reject(message, e.getMessage());
+            eventMetrics.recordConsumed(userEventsQueue, "malformed", started);
+            return;
+        }
+        eventMetrics.recordLag(userEventsQueue, event.timestamp());
+        String result = "failed";
+        try {
+            result = transactionTemplate.execute(status -> applyUserEvent(event, message));
         } catch (Exception e) {
             logger.error("Error processing user event: {}", e.getMessage(), e);
+            result = deadLetterPublisher.retry(message, e) ? "retried" : "parked";
+        } finally {
+            eventMetrics.recordConsumed(userEventsQueue, result, started);
+        }
+    }
+
+    private String applyUserEvent(UserEvent event, Message message) {
+        String eventType = event.eventType();
+        Long userId = event.userId();
+
+        logger.info("Received user event: {} for user ID: {}", eventType, userId);
+
+        switch (eventType) {
+            case "CREATED":
+            case "UPDATED":
+                User user = new User();
+                user.setId(userId);
+                user.setUserName(event.username());
+                user.setEmail(event.email());
+                user.setRoles(event.roles());
+                user.setCreatedAt(LocalDateTime.now());
+                user.setUpdatedAt(LocalDateTime.now());
+                userRepository.save(user);
+                logger.info("User cache updated for user ID: {}", userId);
+                return "applied";
+
+            case "DELETED":
+                userRepository.deleteById(userId);
+                userJobRepository.deleteByUserId(userId);
+                logger.info("User cache and related UserJobs deleted for user ID: {}", userId);
+                return "applied";
+
+            default:
+                deadLetterPublisher.reject(message, "Unexpected event type: " + eventType);
+                return "malformed";
         }
     }
 
     @RabbitListener(queues = "${rabbitmq.queues.job-events}")
-    @Transactional
-    public void handleJobEvent(Map<String, Object> event) {
+    public void handleJobEvent(Message message) {
+        long started = System.nanoTime();
+        JobEvent event;
         try {
-            String eventType = (String) event.get("eventType");
-            Long jobId = Long.valueOf(event.get("jobId").toString());
-
-            logger.info("Received job event: {} for job ID: {}", eventType, jobId);
-
-            switch (eventType) {
-                case "CREATED":
-                case "UPDATED":
-                    Job job = new Job();
-                    job.setId(jobId);
-                    job.setName((String) event.get("name"));
-                    job.setCompany((String) event.get("company"));
-                    job.setType((String) event.get("type"));
-                    job.setLocation((String) event.get("location"));
-                    job.setWebsite((String) event.get("website"));
-                    job.setUrl((String) event.get("url"));
-                    job.setStatus("new");
-                    job.setTime(LocalDateTime.now());
-                    jobRepository.save(job);
-                    logger.info("Job cache updated for job ID: {}", jobId);
-                    break;
-
-                case "DELETED":
-                    jobRepository.deleteById(jobId);
-                    userJobRepository.deleteByJobId(jobId);
-                    logger.info("Job cache and related UserJobs deleted for job ID: {}", jobId);
-                    break;
+            event = eventDecoder.decodeJobEvent(message);
+        } catch (MalformedEventException e) {
+            deadLetterPublisher.reject(message, e.getMessage());
+            eventMetrics.recordConsumed(jobEventsQueue, "malformed", started);
+            return;
+        }
+        eventMetrics.recordLag(jobEventsQueue, event.timestamp());
+        if (event.jobId() == null) {
+            // The crawler's job.created; JobService has not assigned an id yet
+            if (!"CREATED".equals(event.eventType())) {
+                deadLetterPublisher.reject(message, "Missing jobId");
+                eventMetrics.recordConsumed(jobEventsQueue, "malformed", started);
+            } else {
+                eventMetrics.recordConsumed(jobEventsQueue, "ignored", started);
             }
+            return;
+        }
+        String result = "failed";
+        try {
+            result = transactionTemplate.execute(status -> applyJobEvent(event, message));
         } catch (Exception e) {
             logger.error("Error processing job event: {}", e.getMessage(), e);
+            result = deadLetterPublisher.retry(message, e) ? "retried" : "parked";
+        } finally {
+            eventMetrics.recordConsumed(jobEventsQueue, result, started);
+        }
+    }
+
+    private String applyJobEvent(JobEvent event, Message message) {
+        String eventType = event.eventType();
+        Long jobId = event.jobId();
+
+        logger.info("Received job event: {} for job ID: {}", eventType, jobId);
+
+        switch (eventType) {
+            case "CREATED":
+            case "UPDATED":
+                Job job = new Job();
+                job.setId(jobId);
+                job.setName(event.name());
+                job.setCompany(event.company());
+                job.setType(event.type());
+                job.setLocation(event.location());
+                job.setWebsite(event.website());
+                job.setUrl(event.url());
+                job.setStatus("new");
+                job.setTime(LocalDateTime.now());
+                jobRepository.save(job);
+                logger.info("Job cache updated for job ID: {}", jobId);
+                return "applied";
+
+            case "DELETED":
+                jobRepository.deleteById(jobId);
+                userJobRepository.deleteByJobId(jobId);
+                logger.info("Job cache and related UserJobs deleted for job ID: {}", jobId);
+                return "applied";
+
+            default:
+                deadLetterPublisher.reject(message, "Unexpected event type: " + eventType);
+                return "malformed";
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.tribytegenius.CareerCompass.UserJobService.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the user and job event listeners (EventListener), scraped from /actuator/prometheus.
+ *
+ * events.consumed{queue,result} counts messages by outcome (applied, ignored, malformed, and
+ * retried or parked when processing failed), events.processing{queue} times each message including
+ * its commit, and events.lag{queue} is the time from the event's timestamp to its consumption.
+ * events.queue.depth{queue} and events.queue.consumers{queue} are polled from the broker every
+ * events.metrics.queue-poll-interval-ms, for both event queues and the dead-letter queue.
+ */
+@Component
+public class EventMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final AmqpAdmin amqpAdmin;
+
+    private final Map<String, AtomicLong> queueDepths = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> queueConsumers = new LinkedHashMap<>();
+
+    public EventMetrics(MeterRegistry meterRegistry,
+                        AmqpAdmin amqpAdmin,
+                        @Value("${rabbitmq.queues.user-events}") String userEventsQueue,
+                        @Value("${rabbitmq.queues.job-events}") String jobEventsQueue,
+                        @Value("${rabbitmq.queues.dead-letter}") String deadLetterQueue) {
+        this.meterRegistry = meterRegistry;
+        this.amqpAdmin = amqpAdmin;
+
+        for (String queue : List.of(userEventsQueue, jobEventsQueue, deadLetterQueue)) {
+            AtomicLong depth = new AtomicLong();
+            AtomicLong consumers = new AtomicLong();
+            queueDepths.put(queue, depth);
+            queueConsumers.put(queue, consumers);
+            Gauge.builder("events.queue.depth", depth, AtomicLong::get)
+                    .description("Messages ready in an event queue")
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+            Gauge.builder("events.queue.consumers", consumers, AtomicLong::get)
+                    .description("Consumers attached to an event queue")
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordConsumed(String queue, String result, long startNanos) {
+        meterRegistry.counter("events.consumed", "queue", queue, "result", result).increment();
+        Timer.builder("events.processing")
+                .description("Time to process and commit one event")
+                .tag("queue", queue)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Publishers stamp timestamp with their local clock; skewed or missing ones are not recorded
+    public void recordLag(String queue, LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        Duration behind = Duration.between(timestamp, LocalDateTime.now());
+        if (!behind.isNegative()) {
+            Timer.builder("events.lag")
+                    .description("Time from an event's timestamp to its consumption")
+                    .tag("queue", queue)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofHours(6))
+                    .register(meterRegistry)
+                    .record(behind);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.metrics.queue-poll-interval-ms:15000}")
+    public void pollQueues() {
+        queueDepths.forEach((queue, depth) -> {
+            try {
+                QueueInformation information = amqpAdmin.getQueueInfo(queue);
+                if (information != null) {
+                    depth.set(information.getMessageCount());
+                    queueConsumers.get(queue).set(information.getConsumerCount());
+                }
+            } catch (Exception e) {
+                logger.debug("Failed to read depth of queue {}: {}", queue, e.getMessage());
+            }
+        });
+    }
+}
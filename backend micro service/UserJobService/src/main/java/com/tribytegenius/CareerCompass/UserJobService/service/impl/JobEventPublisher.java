@@ -1,6 +1,9 @@
 package com.tribytegenius.CareerCompass.UserJobService.service.impl;
 
+import com.tribytegenius.CareerCompass.Events.service.EventPublishBuffer;
 import com.tribytegenius.CareerCompass.UserJobService.dto.JobEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,6 +11,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes job events. With events.publish.mode=async (default) they are handed to
+ * EventPublishBuffer and published off the caller's thread with confirms, and only
+ * events.publish.messages{event,result} is recorded, once each event is confirmed or given up.
+ * Synchronously, every publish is timed as events.publish{event,result} and counted in
+ * events.publish.messages{event,result}, result being success or failure.
+ */
 @Service
 public class JobEventPublisher {
 
@@ -16,6 +28,12 @@ public class JobEventPublisher {
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventPublishBuffer eventPublishBuffer;
+
     @Value("${rabbitmq.exchanges.job-events}")
     private String jobEventsExchange;
 
@@ -29,32 +47,64 @@ public class JobEventPublisher {
     private String jobDeletedRoutingKey;
 
     public void publishJobCreated(JobEventDTO jobEvent) {
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(jobEventsExchange, jobCreatedRoutingKey, jobEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing job created event for job ID: {}", jobEvent.getJobId());
             rabbitTemplate.convertAndSend(jobEventsExchange, jobCreatedRoutingKey, jobEvent);
+            recordPublish(jobCreatedRoutingKey, started, true);
             logger.info("Successfully published job created event");
         } catch (Exception e) {
+            recordPublish(jobCreatedRoutingKey, started, false);
             logger.error("Failed to publish job created event: {}", e.getMessage(), e);
         }
     }
 
     public void publishJobUpdated(JobEventDTO jobEvent) {
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(jobEventsExchange, jobUpdatedRoutingKey, jobEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing job updated event for job ID: {}", jobEvent.getJobId());
             rabbitTemplate.convertAndSend(jobEventsExchange, jobUpdatedRoutingKey, jobEvent);
+            recordPublish(jobUpdatedRoutingKey, started, true);
             logger.info("Successfully published job updated event");
         } catch (Exception e) {
+            recordPublish(jobUpdatedRoutingKey, started, false);
             logger.error("Failed to publish job updated event: {}", e.getMessage(), e);
         }
     }
 
     public void publishJobDeleted(JobEventDTO jobEvent) {
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(jobEventsExchange, jobDeletedRoutingKey, jobEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing job deleted event for job ID: {}", jobEvent.getJobId());
             rabbitTemplate.convertAndSend(jobEventsExchange, jobDeletedRoutingKey, jobEvent);
+            recordPublish(jobDeletedRoutingKey, started, true);
             logger.info("Successfully published job deleted event");
         } catch (Exception e) {
+            recordPublish(jobDeletedRoutingKey, started, false);
             logger.error("Failed to publish job deleted event: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private void recordPublish(String routingKey, long startNanos, boolean success) {
+        String result = success ? "success" : "failure";
+        Timer.builder("events.publish")
+                .description("Time to hand an event to the broker")
+                .tags("event", routingKey, "result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("events.publish.messages", "event", routingKey, "result", result).increment();
+    }
+}
@@ -1,9 +1,9 @@
 package com.tribytegenius.CareerCompass.UserJobService.service.impl;
 
-import com.tribytegenius.CareerCompass.UserJobService.dto.JobDTO;
 import com.tribytegenius.CareerCompass.UserJobService.dto.UserJobDTO;
 import com.tribytegenius.CareerCompass.UserJobService.exception.APIException;
 import com.tribytegenius.CareerCompass.UserJobService.exception.ResourceNotFoundException;
+import com.tribytegenius.CareerCompass.UserJobService.mapper.JobMapper;
 import com.tribytegenius.CareerCompass.UserJobService.model.Job;
 import com.tribytegenius.CareerCompass.UserJobService.model.User;
 import com.tribytegenius.CareerCompass.UserJobService.model.UserJob;
@@ -11,7 +11,6 @@ import com.tribytegenius.CareerCompass.UserJobService.repository.JobRepository;
 import com.tribytegenius.CareerCompass.UserJobService.repository.UserJobRepository;
 import com.tribytegenius.CareerCompass.UserJobService.repository.UserRepository;
 import com.tribytegenius.CareerCompass.UserJobService.service.UserJobService;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,7 +37,7 @@ public class UserJobServiceImpl implements UserJobService {
     private UserRepository userRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private JobMapper jobMapper;
 
     @Override
     public UserJobDTO toggleFavorite(Long userId, Long jobId) {
@@ -67,7 +66,7 @@ public class UserJobServiceImpl implements UserJobService {
 
             UserJob savedUserJob = userJobRepository.save(userJob);
             logger.info("User {} favorited job {}", userId, jobId);
-            return convertToDTO(savedUserJob, user, job);
+            return jobMapper.toDTO(savedUserJob, user, job);
         }
     }
 
@@ -90,7 +89,7 @@ public class UserJobServiceImpl implements UserJobService {
 
         UserJob updatedUserJob = userJobRepository.save(userJob);
         logger.info("Updated job {} status to {} for user {}", jobId, status, userId);
-        return convertToDTO(updatedUserJob, user, job);
+        return jobMapper.toDTO(updatedUserJob, user, job);
     }
 
     @Override
@@ -105,7 +104,7 @@ public class UserJobServiceImpl implements UserJobService {
                 .map(userJob -> {
                     User user = userRepository.findById(userJob.getUserId()).orElse(null);
                     Job job = jobRepository.findById(userJob.getJobId()).orElse(null);
-                    return convertToDTO(userJob, user, job);
+                    return jobMapper.toDTO(userJob, user, job);
                 })
                 .toList();
     }
@@ -125,35 +124,11 @@ public class UserJobServiceImpl implements UserJobService {
                 .map(userJob -> {
                     User user = userRepository.findById(userJob.getUserId()).orElse(null);
                     Job job = jobRepository.findById(userJob.getJobId()).orElse(null);
-                    return convertToDTO(userJob, user, job);
+                    return jobMapper.toDTO(userJob, user, job);
                 })
                 .toList();
     }
 
-    // Helper method to convert entity to DTO
-    private UserJobDTO convertToDTO(UserJob userJob, User user, Job job) {
-        if (userJob == null) {
-            return null;
-        }
-
-        UserJobDTO userJobDTO = new UserJobDTO();
-        userJobDTO.setId(userJob.getId());
-        userJobDTO.setUserId(userJob.getUserId());
-        userJobDTO.setStatus(userJob.getStatus());
-        userJobDTO.setStatusChangedAt(userJob.getStatusChangedAt());
-
-        if (user != null) {
-            userJobDTO.setUserName(user.getUserName());
-        }
-
-        if (job != null) {
-            JobDTO jobDTO = modelMapper.map(job, JobDTO.class);
-            userJobDTO.setJob(jobDTO);
-        }
-
-        return userJobDTO;
-    }
-
     // Helper method to validate status
     private void validateStatus(String status) {
         List<String> validStatuses = List.of("new", "applied", "interview", "offer", "rejected");
@@ -0,0 +1,39 @@
+-- Baseline tables. IF NOT EXISTS so databases created by ddl-auto before
+-- migrations were introduced are adopted as-is
+
+-- Local copy of jobs, kept in sync from JobService events
+CREATE TABLE IF NOT EXISTS jobs_cache (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    company VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    time TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    website VARCHAR(255) NOT NULL
+);
+
+-- Local copy of users, kept in sync from UserService events
+CREATE TABLE IF NOT EXISTS users_cache (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(255),
+    email VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles_cache (
+    user_id BIGINT NOT NULL REFERENCES users_cache (id),
+    role VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    job_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    status_changed_at TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
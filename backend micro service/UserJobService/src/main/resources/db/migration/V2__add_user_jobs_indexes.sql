@@ -0,0 +1,16 @@
+-- One favorite per user and job. Older databases may already hold duplicates,
+-- keep the earliest row of each pair so the unique index can be built
+DELETE FROM user_jobs a
+    USING user_jobs b
+    WHERE a.user_id = b.user_id
+      AND a.job_id = b.job_id
+      AND a.id > b.id;
+
+-- findByUserIdAndJobId, and findByUserId through its leading column
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_jobs_user_job ON user_jobs (user_id, job_id);
+
+-- findByUserIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_user_jobs_user_status ON user_jobs (user_id, status);
+
+-- Role lookups when loading cached users
+CREATE INDEX IF NOT EXISTS idx_user_roles_cache_user ON user_roles_cache (user_id);
@@ -1,5 +1,8 @@
 package com.tribytegenius.CareerCompass.UserService.config;
 
+import com.tribytegenius.CareerCompass.Events.config.EventOutboxConfig;
+import com.tribytegenius.CareerCompass.Events.config.EventPublishingConfig;
+import com.tribytegenius.CareerCompass.Events.event.EventContract;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,8 +11,10 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
+@Import({EventOutboxConfig.class, EventPublishingConfig.class})
 public class RabbitMQConfig {
 
     @Value("${rabbitmq.exchanges.user-events}")
@@ -91,6 +96,7 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        template.setBeforePublishPostProcessors(EventContract.schemaVersionStamp());
         return template;
     }
 }
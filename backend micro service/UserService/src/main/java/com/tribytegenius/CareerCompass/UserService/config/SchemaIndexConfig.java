@@ -0,0 +1,27 @@
+package com.tribytegenius.CareerCompass.UserService.config;
+
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier;
+import com.tribytegenius.CareerCompass.Events.service.SchemaIndexVerifier.ExpectedIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+public class SchemaIndexConfig {
+
+    @Value("${schema.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    // Created by the migrations in db/migration
+    @Bean
+    public SchemaIndexVerifier schemaIndexVerifier(JdbcTemplate jdbcTemplate) {
+        return new SchemaIndexVerifier(jdbcTemplate, verifyIndexes, List.of(
+                new ExpectedIndex("users", List.of("username"), true),
+                new ExpectedIndex("users", List.of("email"), true),
+                new ExpectedIndex("event_outbox", List.of("sent_at", "id"), false)
+        ));
+    }
+}
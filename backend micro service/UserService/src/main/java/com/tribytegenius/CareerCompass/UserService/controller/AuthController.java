@@ -25,6 +25,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -51,6 +52,9 @@ public class AuthController {
     @Autowired
     UserEventPublisher userEventPublisher;
 
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
         Authentication authentication;
@@ -119,21 +123,23 @@ public class AuthController {
             });
         }
         user.setRoles(roles);
-        User savedUser = userRepository.save(user);
-
-        // Publish user created event to RabbitMQ
-        List<String> roleNames = savedUser.getRoles().stream()
-                .map(role -> role.getRoleName().name())
-                .collect(Collectors.toList());
-
-        UserEventDTO userEvent = new UserEventDTO(
-                savedUser.getId(),
-                savedUser.getUserName(),
-                savedUser.getEmail(),
-                roleNames,
-                "CREATED"
-        );
-        userEventPublisher.publishUserCreated(userEvent);
+        // The user created event is written to the outbox in the same transaction as the user
+        transactionTemplate.executeWithoutResult(status -> {
+            User savedUser = userRepository.save(user);
+
+            List<String> roleNames = savedUser.getRoles().stream()
+                    .map(role -> role.getRoleName().name())
+                    .collect(Collectors.toList());
+
+            UserEventDTO userEvent = new UserEventDTO(
+                    savedUser.getId(),
+                    savedUser.getUserName(),
+                    savedUser.getEmail(),
+                    roleNames,
+                    "CREATED"
+            );
+            userEventPublisher.publishUserCreated(userEvent);
+        });
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully"));
     }
@@ -1,6 +1,10 @@
 package com.tribytegenius.CareerCompass.UserService.service.impl;
 
+import com.tribytegenius.CareerCompass.Events.service.EventOutbox;
+import com.tribytegenius.CareerCompass.Events.service.EventPublishBuffer;
 import com.tribytegenius.CareerCompass.UserService.dto.UserEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,6 +12,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes user events. Inside a read-write transaction they are written to EventOutbox and
+ * OutboxRelay publishes them once it commits. Otherwise, with events.publish.mode=async (default)
+ * they are handed to EventPublishBuffer and published off the caller's thread with confirms, and
+ * only events.publish.messages{event,result} is recorded, once each event is confirmed or given up.
+ * Synchronously, every publish is timed as events.publish{event,result} and counted in
+ * events.publish.messages{event,result}, result being success or failure.
+ */
 @Service
 public class UserEventPublisher {
 
@@ -16,6 +31,15 @@ public class UserEventPublisher {
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventPublishBuffer eventPublishBuffer;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
     @Value("${rabbitmq.exchanges.user-events}")
     private String userEventsExchange;
 
@@ -29,32 +53,73 @@ public class UserEventPublisher {
     private String userDeletedRoutingKey;
 
     public void publishUserCreated(UserEventDTO userEvent) {
+        if (eventOutbox.add(userEventsExchange, userCreatedRoutingKey, List.of(userEvent))) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(userEventsExchange, userCreatedRoutingKey, userEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing user created event for user ID: {}", userEvent.getUserId());
             rabbitTemplate.convertAndSend(userEventsExchange, userCreatedRoutingKey, userEvent);
+            recordPublish(userCreatedRoutingKey, started, true);
             logger.info("Successfully published user created event");
         } catch (Exception e) {
+            recordPublish(userCreatedRoutingKey, started, false);
             logger.error("Failed to publish user created event: {}", e.getMessage(), e);
         }
     }
 
     public void publishUserUpdated(UserEventDTO userEvent) {
+        if (eventOutbox.add(userEventsExchange, userUpdatedRoutingKey, List.of(userEvent))) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(userEventsExchange, userUpdatedRoutingKey, userEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing user updated event for user ID: {}", userEvent.getUserId());
             rabbitTemplate.convertAndSend(userEventsExchange, userUpdatedRoutingKey, userEvent);
+            recordPublish(userUpdatedRoutingKey, started, true);
             logger.info("Successfully published user updated event");
         } catch (Exception e) {
+            recordPublish(userUpdatedRoutingKey, started, false);
             logger.error("Failed to publish user updated event: {}", e.getMessage(), e);
         }
     }
 
     public void publishUserDeleted(UserEventDTO userEvent) {
+        if (eventOutbox.add(userEventsExchange, userDeletedRoutingKey, List.of(userEvent))) {
+            return;
+        }
+        if (eventPublishBuffer.isEnabled()) {
+            eventPublishBuffer.send(userEventsExchange, userDeletedRoutingKey, userEvent);
+            return;
+        }
+        long started = System.nanoTime();
         try {
             logger.info("Publishing user deleted event for user ID: {}", userEvent.getUserId());
             rabbitTemplate.convertAndSend(userEventsExchange, userDeletedRoutingKey, userEvent);
+            recordPublish(userDeletedRoutingKey, started, true);
             logger.info("Successfully published user deleted event");
         } catch (Exception e) {
+            recordPublish(userDeletedRoutingKey, started, false);
             logger.error("Failed to publish user deleted event: {}", e.getMessage(), e);
         }
     }
+
+    private void recordPublish(String routingKey, long startNanos, boolean success) {
+        String result = success ? "success" : "failure";
+        Timer.builder("events.publish")
+                .description("Time to hand an event to the broker")
+                .tags("event", routingKey, "result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("events.publish.messages", "event", routingKey, "result", result).increment();
+    }
 }
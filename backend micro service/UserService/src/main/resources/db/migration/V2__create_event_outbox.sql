@@ -0,0 +1,26 @@
+-- Transactional outbox: events are inserted in the transaction of the write they describe
+-- (EventOutbox) and published by OutboxRelay, which sets sent_at once the broker confirmed them.
+-- Sent rows are removed by the configured OutboxCleanup
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    exchange TEXT NOT NULL,
+    routing_key TEXT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    sent_at TIMESTAMP
+);
+
+-- Unsent rows (sent_at IS NULL) in id order for the relay, sent rows by age for cleanup
+CREATE INDEX IF NOT EXISTS idx_event_outbox_sent_at_id ON event_outbox (sent_at, id);
+
+-- Wakes relays listening on the event_outbox channel when a transaction that wrote events commits
+CREATE OR REPLACE FUNCTION notify_event_outbox() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('event_outbox', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS event_outbox_notify ON event_outbox;
+CREATE TRIGGER event_outbox_notify AFTER INSERT ON event_outbox
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_event_outbox();
@@ -11,4 +11,27 @@ CREATE TABLE jobs (
     status TEXT NOT NULL,
     url TEXT NOT NULL,
     website TEXT NOT NULL
-);
\ No newline at end of file
+);
+
+-- Weighted full-text search document (name > company > type > location)
+ALTER TABLE jobs ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(type, '')), 'C') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(location, '')), 'D')
+    ) STORED;
+
+CREATE INDEX idx_jobs_search_vector ON jobs USING GIN (search_vector);
+
+-- Indexes from JobService migration V3__add_jobs_indexes (JobService's Flyway migrations own the schema)
+CREATE UNIQUE INDEX ux_jobs_url ON jobs (url);
+CREATE INDEX idx_jobs_status_website_time ON jobs (status, website, time DESC);
+CREATE INDEX idx_jobs_time_id ON jobs (time DESC, id DESC);
+
+-- Near-duplicate link from JobService migration V5__add_jobs_duplicate_of
+ALTER TABLE jobs ADD COLUMN duplicate_of BIGINT;
+CREATE INDEX idx_jobs_duplicate_of ON jobs (duplicate_of) WHERE duplicate_of IS NOT NULL;
+
+-- JobService migration V6__partition_jobs_by_month rebuilds jobs as a monthly range-partitioned
+-- table on time and moves url uniqueness to job_urls; Flyway applies it on first startup
@@ -1,7 +1,7 @@
 # schemas.py
 # pylint: disable=R0903
 
-from typing import List
+from typing import List, Optional
 from pydantic import BaseModel
 
 class JobUpdateRequestSchema(BaseModel):
@@ -10,6 +10,8 @@ class JobUpdateRequestSchema(BaseModel):
     type: List[str]
     location: str
     time: int
+    # Ticket id from JobService's search dispatcher, echoed on each event as x-search-id
+    searchId: Optional[str] = None
 
     class Config:
         orm_mode = True
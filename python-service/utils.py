@@ -105,8 +105,9 @@ def get_jobs(schema: JobUpdateRequestSchema):
     
     return jobs
 
-def publish_job_event(job_data):
-    """Publish a single job event to RabbitMQ"""
+def publish_job_event(job_data, search_id=None):
+    """Publish a single job event to RabbitMQ; True once the broker confirmed it"""
+    connection = None
     try:
         # RabbitMQ connection
         connection = pika.BlockingConnection(
@@ -120,6 +121,8 @@ def publish_job_event(job_data):
             )
         )
         channel = connection.channel()
+        # basic_publish raises unless the broker acks the message
+        channel.confirm_delivery()
         
         # Declare exchange
         channel.exchange_declare(exchange='job.events', exchange_type='topic', durable=True)
@@ -138,6 +141,13 @@ def publish_job_event(job_data):
             "timestamp": datetime.now().isoformat()
         }
         
+        # JobService's partitioned ingestion hashes job-url onto its queues;
+        # x-schema-version is the event contract version (EventContract.SCHEMA_VERSION);
+        # x-search-id lets JobService count the jobs of the search that found them
+        headers = {'job-url': job_data['url'], 'x-schema-version': 1}
+        if search_id:
+            headers['x-search-id'] = search_id
+
         # Publish event
         channel.basic_publish(
             exchange='job.events',
@@ -145,15 +155,21 @@ def publish_job_event(job_data):
             body=json.dumps(event),
             properties=pika.BasicProperties(
                 delivery_mode=2,  # make message persistent
-                content_type='application/json'
+                content_type='application/json',
+                headers=headers
             )
         )
         
         print(f"Published job event: {job_data['name']} at {job_data['company']}")
-        connection.close()
+        return True
         
     except Exception as e:
         print(f"Failed to publish job event: {e}")
+        return False
+
+    finally:
+        if connection is not None and connection.is_open:
+            connection.close()
 
 def search_and_publish_jobs(schema: JobUpdateRequestSchema):
     """Search for jobs and publish events directly"""
@@ -161,10 +177,8 @@ def search_and_publish_jobs(schema: JobUpdateRequestSchema):
     
     published_count = 0
     for job in jobs:
-        try:
-            publish_job_event(job)
+        # Only confirmed events count, JobService waits for this many before a search is complete
+        if publish_job_event(job, schema.searchId):
             published_count += 1
-        except Exception as e:
-            print(f"Failed to publish job {job['name']}: {e}")
     
-    return {"message": f"Published {published_count} job events", "total_found": len(jobs)}
+    return {"message": f"Published {published_count} job events", "total_found": len(jobs), "published": published_count}